@@ -32,6 +32,8 @@ import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
 
 import me.moros.bending.api.ability.element.Element;
+import me.moros.bending.api.registry.Registries;
+import me.moros.bending.api.registry.Registry;
 import me.moros.bending.api.util.ColorPalette;
 import me.moros.bending.api.util.KeyUtil;
 import me.moros.bending.api.util.collect.ElementSet;
@@ -59,6 +61,7 @@ public sealed class AbilityDescription implements Keyed, Translatable permits Ab
   private final boolean hidden;
   private final boolean bypassCooldown;
   private final int hashcode;
+  private int id = -1;
 
   private AbilityDescription(Builder builder) {
     key = builder.key;
@@ -110,6 +113,21 @@ public sealed class AbilityDescription implements Keyed, Translatable permits Ab
     return key;
   }
 
+  /**
+   * Get the dense id of this ability in {@link Registries#ABILITIES}.
+   * @return the ability's id or -1 if it isn't registered
+   * @see Registry#id(Object)
+   */
+  public int id() {
+    int result = id;
+    if (result < 0) {
+      // Ids are never reassigned so they can be cached once available
+      result = Registries.ABILITIES.id(this);
+      id = result;
+    }
+    return result;
+  }
+
   @Override
   public String translationKey() {
     return key().namespace() + ".ability." + key().value();
@@ -19,6 +19,7 @@
 
 package me.moros.bending.api.ability.common;
 
+import me.moros.bending.api.GameProvider;
 import me.moros.bending.api.ability.Updatable;
 import me.moros.bending.api.platform.Direction;
 import me.moros.bending.api.platform.block.Block;
@@ -44,7 +45,7 @@ public class EarthSpike implements Updatable {
   public EarthSpike(Block origin, int length, boolean delay) {
     this.origin = origin;
     this.length = length;
-    nextUpdateTime = delay ? System.currentTimeMillis() + DELAY : 0;
+    nextUpdateTime = delay ? GameProvider.get().clock().millis() + DELAY : 0;
   }
 
   @Override
@@ -52,7 +53,7 @@ public class EarthSpike implements Updatable {
     if (currentLength >= length) {
       return UpdateResult.REMOVE;
     }
-    long time = System.currentTimeMillis();
+    long time = GameProvider.get().clock().millis();
     if (time < nextUpdateTime) {
       return UpdateResult.CONTINUE;
     }
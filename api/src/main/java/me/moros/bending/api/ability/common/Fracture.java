@@ -30,6 +30,7 @@ import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import me.moros.bending.api.GameProvider;
 import me.moros.bending.api.ability.Updatable;
 import me.moros.bending.api.collision.geometry.Ray;
 import me.moros.bending.api.platform.Platform;
@@ -61,7 +62,7 @@ public class Fracture implements Updatable {
   @Override
   public UpdateResult update() {
     if (interval > 50) {
-      long currentTime = System.currentTimeMillis();
+      long currentTime = GameProvider.get().clock().millis();
       if (currentTime < nextUpdateTime) {
         return UpdateResult.CONTINUE;
       }
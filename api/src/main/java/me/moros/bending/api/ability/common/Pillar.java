@@ -83,7 +83,7 @@ public class Pillar implements Updatable, Iterable<Block> {
     AABB collider = createPillarBox(pos, length + 0.35);
     CollisionUtil.handle(user, collider, this::onEntityHit, false, true); // Push entities
 
-    long time = System.currentTimeMillis();
+    long time = user.game().clock().millis();
     if (time < nextUpdateTime) {
       return UpdateResult.CONTINUE;
     }
@@ -240,23 +240,23 @@ public class Pillar implements Updatable, Iterable<Block> {
      * Check region protections and return maximum valid length in blocks
      */
     private int validateLength(int max) {
+      List<Block> path = new ArrayList<>(max);
       for (int i = 0; i < max; i++) {
         Block backwardBlock = origin.offset(direction.opposite(), i);
-        if (!TempBlock.isBendable(backwardBlock) || !user.canBuild(backwardBlock) || !predicate.test(backwardBlock)) {
-          return i;
+        if (!TempBlock.isBendable(backwardBlock) || !predicate.test(backwardBlock)) {
+          break;
         }
+        path.add(backwardBlock);
       }
-      return max;
+      return user.buildableLength(path);
     }
 
     private int validateDistance(int max) {
+      List<Block> path = new ArrayList<>(max);
       for (int i = 0; i < max; i++) {
-        Block forwardBlock = origin.offset(direction, i + 1);
-        if (!user.canBuild(forwardBlock)) {
-          return i;
-        }
+        path.add(origin.offset(direction, i + 1));
       }
-      return max;
+      return user.buildableLength(path);
     }
   }
 }
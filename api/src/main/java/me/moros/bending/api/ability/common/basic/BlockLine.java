@@ -64,7 +64,7 @@ public abstract class BlockLine extends MovementResolver implements Updatable {
   @Override
   public UpdateResult update() {
     if (interval >= 50) {
-      long time = System.currentTimeMillis();
+      long time = user.game().clock().millis();
       if (time < nextUpdate) {
         return UpdateResult.CONTINUE;
       }
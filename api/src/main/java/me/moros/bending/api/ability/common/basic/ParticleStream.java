@@ -19,7 +19,9 @@
 
 package me.moros.bending.api.ability.common.basic;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.function.Predicate;
 
@@ -70,6 +72,7 @@ public abstract class ParticleStream implements Updatable, SimpleAbility {
   @Override
   public UpdateResult update() {
     Vector3d vector = controlDirection();
+    int reach = buildableSteps(vector);
     int d = FastMath.ceil(speed * steps);
     for (int i = 0; i < steps; i++) {
       render();
@@ -84,7 +87,7 @@ public abstract class ParticleStream implements Updatable, SimpleAbility {
       Vector3d originalVector = location;
       location = location.add(vector);
       distanceTravelled += speed;
-      if (location.distanceSq(ray.position()) > maxRange * maxRange || !user.canBuild(location)) {
+      if (location.distanceSq(ray.position()) > maxRange * maxRange || i >= reach) {
         return UpdateResult.REMOVE;
       }
       if (!validDiagonals(originalVector, vector)) {
@@ -95,6 +98,17 @@ public abstract class ParticleStream implements Updatable, SimpleAbility {
     return UpdateResult.CONTINUE;
   }
 
+  // Protections for every step of this update are checked in a single batch
+  private int buildableSteps(Vector3d vector) {
+    List<Block> path = new ArrayList<>(steps);
+    Vector3d next = location;
+    for (int i = 0; i < steps; i++) {
+      next = next.add(vector);
+      path.add(user.world().blockAt(next));
+    }
+    return user.buildableLength(path);
+  }
+
   private boolean validDiagonals(Vector3d originalVector, Vector3d directionVector) {
     Block originBlock = user.world().blockAt(originalVector);
     Set<Block> toCheck = new HashSet<>();
@@ -53,6 +53,7 @@ public final class ContextBuilder {
 
   private Set<Position> ignore = Set.of();
   private Predicate<Entity> entityPredicate = x -> true;
+  private @Nullable RayTraceCache cache;
 
   ContextBuilder(Vector3d origin, Vector3d direction) {
     this.origin = origin;
@@ -67,6 +68,7 @@ public final class ContextBuilder {
    */
   public ContextBuilder origin(Vector3d origin) {
     this.origin = Objects.requireNonNull(origin);
+    this.cache = null;
     return this;
   }
 
@@ -77,6 +79,7 @@ public final class ContextBuilder {
    */
   public ContextBuilder direction(Vector3d direction) {
     this.direction = direction.normalize();
+    this.cache = null;
     return this;
   }
 
@@ -133,6 +136,7 @@ public final class ContextBuilder {
    */
   public ContextBuilder ignore(@Nullable Position ignore) {
     this.ignore = ignore == null ? Set.of() : Set.of(ignore);
+    this.cache = null;
     return this;
   }
 
@@ -144,6 +148,7 @@ public final class ContextBuilder {
    */
   public ContextBuilder ignore(Set<Position> ignore) {
     this.ignore = Set.copyOf(ignore);
+    this.cache = null;
     return this;
   }
 
@@ -155,6 +160,7 @@ public final class ContextBuilder {
    */
   public ContextBuilder filter(Predicate<Entity> entityPredicate) {
     this.entityPredicate = Objects.requireNonNull(entityPredicate);
+    this.cache = null;
     return this;
   }
 
@@ -170,13 +176,25 @@ public final class ContextBuilder {
     return filter(e -> userPredicate(e, source));
   }
 
+  /**
+   * Answer the raytrace from the specified cache when possible.
+   * <p>Note: The cache only applies to the owner's line of sight, so it is discarded if the origin, direction,
+   * ignored blocks or entity filter are overridden afterwards.
+   * @param cache the cache to use or null to always cast a new raytrace
+   * @return the modified builder
+   */
+  public ContextBuilder cache(@Nullable RayTraceCache cache) {
+    this.cache = cache;
+    return this;
+  }
+
   /**
    * Build and cast the raytrace checking only blocks.
    * @param world the world to cast the raytrace in
    * @return the result
    */
   public BlockRayTrace blocks(World world) {
-    return world.rayTraceBlocks(build());
+    return cache == null ? world.rayTraceBlocks(build()) : cache.blocks(world, origin, direction, build());
   }
 
   /**
@@ -185,7 +203,7 @@ public final class ContextBuilder {
    * @return the result
    */
   public CompositeRayTrace cast(World world) {
-    return world.rayTrace(build());
+    return cache == null ? world.rayTrace(build()) : cache.cast(world, origin, direction, build());
   }
 
   /**
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2020-2024 Moros
+ *
+ * This file is part of Bending.
+ *
+ * Bending is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Bending is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bending. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.api.collision.raytrace;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import me.moros.bending.api.game.GameClock;
+import me.moros.bending.api.platform.world.World;
+import me.moros.math.Vector3d;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Tick scoped cache for the ray traces of a single user's line of sight.
+ * <p>Several active abilities of the same user commonly trace the same eye ray every tick. Results are grouped by
+ * trace type, liquid and passable block handling and ray size. Only the longest trace of each group is kept and shorter
+ * queries are answered from it when its hit lies within their range. All results are dropped when the tick of the
+ * {@link GameClock} advances or the ray origin, direction or world change.
+ */
+public final class RayTraceCache {
+  private static final LongAdder HITS = new LongAdder();
+  private static final LongAdder MISSES = new LongAdder();
+
+  private final GameClock clock;
+  private final List<Entry> entries = new ArrayList<>(4);
+  private @Nullable World world;
+  private @Nullable Vector3d origin;
+  private @Nullable Vector3d direction;
+  private int tick;
+
+  /**
+   * Create a new ray trace cache.
+   * @param clock the game clock that scopes cached results to a single tick
+   */
+  public RayTraceCache(GameClock clock) {
+    this.clock = clock;
+  }
+
+  synchronized BlockRayTrace blocks(World world, Vector3d origin, Vector3d direction, Context context) {
+    return (BlockRayTrace) lookup(world, origin, direction, context, false, world::rayTraceBlocks);
+  }
+
+  synchronized CompositeRayTrace cast(World world, Vector3d origin, Vector3d direction, Context context) {
+    return (CompositeRayTrace) lookup(world, origin, direction, context, true, world::rayTrace);
+  }
+
+  private RayTrace lookup(World world, Vector3d origin, Vector3d direction, Context context, boolean entities,
+                          Function<Context, ? extends RayTrace> tracer) {
+    validate(world, origin, direction);
+    for (Entry entry : entries) {
+      if (entry.matches(context, entities)) {
+        if (context.range() <= entry.range) {
+          HITS.increment();
+          return entry.answer(context);
+        }
+        MISSES.increment();
+        entry.range = context.range();
+        entry.result = tracer.apply(context);
+        return entry.result;
+      }
+    }
+    MISSES.increment();
+    RayTrace result = tracer.apply(context);
+    entries.add(new Entry(context, entities, result));
+    return result;
+  }
+
+  private void validate(World world, Vector3d origin, Vector3d direction) {
+    int now = clock.tick();
+    if (tick != now || !world.equals(this.world) || !origin.equals(this.origin) || !direction.equals(this.direction)) {
+      entries.clear();
+      this.tick = now;
+      this.world = world;
+      this.origin = origin;
+      this.direction = direction;
+    }
+  }
+
+  /**
+   * Get a snapshot of cache usage statistics across all users.
+   * @return the cache stats
+   */
+  public static CacheStats stats() {
+    return CacheStats.of(HITS.sum(), MISSES.sum(), 0, 0, 0, 0, 0);
+  }
+
+  private static final class Entry {
+    private final boolean entities;
+    private final boolean ignoreLiquids;
+    private final boolean ignorePassable;
+    private final double raySize;
+    private double range;
+    private RayTrace result;
+
+    private Entry(Context context, boolean entities, RayTrace result) {
+      this.entities = entities;
+      this.ignoreLiquids = context.ignoreLiquids();
+      this.ignorePassable = context.ignorePassable();
+      this.raySize = context.raySize();
+      this.range = context.range();
+      this.result = result;
+    }
+
+    private boolean matches(Context context, boolean entities) {
+      return this.entities == entities && ignoreLiquids == context.ignoreLiquids() && ignorePassable == context.ignorePassable() && raySize == context.raySize();
+    }
+
+    private RayTrace answer(Context context) {
+      double queryRange = context.range();
+      if (queryRange == range) {
+        return result;
+      }
+      // A shorter ray reaches the same hit only if it lies within its range, otherwise it misses at its endpoint
+      if (result.hit() && result.position().distanceSq(context.origin()) <= queryRange * queryRange) {
+        return result;
+      }
+      return RayTrace.miss(context.endPoint());
+    }
+  }
+}
@@ -21,6 +21,7 @@ package me.moros.bending.api.event;
 
 import java.util.Collection;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import me.moros.bending.api.ability.AbilityDescription;
 import me.moros.bending.api.ability.Activation;
@@ -65,6 +66,17 @@ public interface EventBus {
    */
   <T extends BendingEvent> void subscribe(Class<T> event, Consumer<? super T> subscriber, int priority);
 
+  /**
+   * Registers the given subscriber to receive events asynchronously.
+   * <p>Async subscribers are notified on a dedicated worker thread after all other subscribers have handled
+   * the event and only if it wasn't cancelled. Events are delivered in the order they were posted, so
+   * notifications for the same user are never reordered. Async subscribers must not modify the event.
+   * @param event the event type
+   * @param subscriber the subscriber
+   * @param <T> the event type
+   */
+  <T extends BendingEvent> void subscribeAsync(Class<T> event, Consumer<? super T> subscriber);
+
   /**
    * Post an event.
    * @param event the event to post
@@ -73,6 +85,22 @@ public interface EventBus {
    */
   <T extends BendingEvent> boolean post(T event);
 
+  /**
+   * Check if any subscriber would receive an event of the given type.
+   * @param event the event type
+   * @return true if there is a subscriber for the given type or any of its supertypes, false otherwise
+   */
+  boolean hasSubscribers(Class<? extends BendingEvent> event);
+
+  /**
+   * Post an event that is only created if there are subscribers for its type.
+   * @param event the most specific type of the event that the supplier creates
+   * @param supplier the supplier that creates the event
+   * @param <T> the type of event
+   * @return true if the event was successfully posted or there were no subscribers, false otherwise
+   */
+  <T extends BendingEvent> boolean post(Class<T> event, Supplier<? extends T> supplier);
+
   /**
    * Posts a new {@link RegistryLockEvent}.
    * @param keys the RegistryKeys of all Registries that are going to be locked
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2020-2024 Moros
+ *
+ * This file is part of Bending.
+ *
+ * Bending is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Bending is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bending. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.api.game;
+
+/**
+ * Monotonic game clock that is sampled once at the start of every game tick.
+ * <p>All readings remain constant for the duration of a tick, so every ability observes the same time and reading the
+ * clock is free. Ability timers, render throttles and removal policies should prefer it over the system clock.
+ */
+public interface GameClock {
+  /**
+   * The nominal duration of a game tick in milliseconds.
+   */
+  long MILLIS_PER_TICK = 50;
+
+  /**
+   * Get the amount of ticks that have started since the game was loaded.
+   * @return the current tick
+   */
+  int tick();
+
+  /**
+   * Get the value of the monotonic nanosecond timer captured at the start of the current tick.
+   * @return the tick start time in nanoseconds
+   */
+  long tickStartNanos();
+
+  /**
+   * Get the game time in milliseconds at the start of the current tick.
+   * <p>Note: The value is aligned to the system clock when the game loads but is monotonic afterward, so it should
+   * only be compared to other readings of this clock.
+   * @return the current game time in milliseconds
+   */
+  long millis();
+
+  /**
+   * Check if this clock is deterministic. A deterministic clock advances by exactly {@value #MILLIS_PER_TICK}ms every
+   * tick regardless of how long ticks actually take, so lagging servers slow down consistently and runs can be replayed.
+   * @return whether this clock is deterministic
+   */
+  boolean deterministic();
+}
@@ -37,6 +37,13 @@ public sealed interface BlockType extends BlockProperties, BlockTypes permits Bl
     return key().value();
   }
 
+  /**
+   * Get the dense id of this block type in its registry.
+   * @return the block type's id
+   * @see Registry#id(Object)
+   */
+  int id();
+
   SoundGroup soundGroup();
 
   BlockState defaultState();
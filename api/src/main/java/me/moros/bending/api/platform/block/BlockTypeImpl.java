@@ -27,19 +27,49 @@ import me.moros.bending.api.registry.DefaultedRegistry;
 import me.moros.bending.api.registry.Registry;
 import me.moros.bending.api.util.KeyUtil;
 import net.kyori.adventure.key.Key;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
-record BlockTypeImpl(Key key) implements BlockType {
+final class BlockTypeImpl implements BlockType {
   static final DefaultedRegistry<Key, BlockType> REGISTRY = Registry.vanillaDefaulted("blocks", BlockType.class, BlockTypeImpl::new);
   static final Registry<Key, BlockProperties> PROPERTY_REGISTRY = Registry.vanilla("block.properties", BlockProperties.class);
   static final Registry<Key, BlockState> STATE_REGISTRY = Registry.vanilla("block.state", BlockState.class);
   static final Registry<Key, Item> ITEM_REGISTRY = Registry.vanilla("block.item", Item.class);
 
+  private final Key key;
+  private int id = -1;
+  private @Nullable BlockProperties properties;
+
+  private BlockTypeImpl(Key key) {
+    this.key = key;
+  }
+
   static BlockType get(String key) {
     return REGISTRY.get(KeyUtil.vanilla(key));
   }
 
+  @Override
+  public Key key() {
+    return key;
+  }
+
+  @Override
+  public int id() {
+    int result = id;
+    if (result < 0) {
+      result = REGISTRY.id(this);
+      id = result;
+    }
+    return result;
+  }
+
   BlockProperties fromVanilla() {
-    return PROPERTY_REGISTRY.getOrThrow(key());
+    // Properties are registered once by the platform and never replaced
+    BlockProperties result = properties;
+    if (result == null) {
+      result = PROPERTY_REGISTRY.getOrThrow(key());
+      properties = result;
+    }
+    return result;
   }
 
   @Override
@@ -96,4 +126,22 @@ record BlockTypeImpl(Key key) implements BlockType {
   public Optional<Item> asItem() {
     return Optional.ofNullable(ITEM_REGISTRY.get(key()));
   }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    return obj instanceof BlockTypeImpl other && key.equals(other.key);
+  }
+
+  @Override
+  public int hashCode() {
+    return key.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return "BlockTypeImpl[key=" + key + "]";
+  }
 }
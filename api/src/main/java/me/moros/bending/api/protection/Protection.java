@@ -21,8 +21,10 @@ package me.moros.bending.api.protection;
 
 import me.moros.bending.api.platform.block.Block;
 import me.moros.bending.api.platform.entity.LivingEntity;
+import me.moros.bending.api.platform.world.World;
 import me.moros.bending.api.registry.Registries;
 import net.kyori.adventure.key.Keyed;
+import net.kyori.adventure.util.TriState;
 
 /**
  * Interface that models a region/block protection plugin.
@@ -36,4 +38,28 @@ public interface Protection extends Keyed {
    * @return the result
    */
   boolean canBuild(LivingEntity entity, Block block);
+
+  /**
+   * Test if a user can build anywhere in the specified chunk.
+   * <p>Region or claim based protections can override this to answer for a whole chunk at once.
+   * Chunks with mixed results fall back to {@link #canBuild(LivingEntity, Block)}.
+   * @param entity the entity to check
+   * @param world the world the chunk belongs to
+   * @param chunkX the chunk x coordinate
+   * @param chunkZ the chunk z coordinate
+   * @return the result if it is uniform for every block in the chunk, {@link TriState#NOT_SET} otherwise
+   */
+  default TriState canBuildInChunk(LivingEntity entity, World world, int chunkX, int chunkZ) {
+    return TriState.NOT_SET;
+  }
+
+  /**
+   * Check if this protection answers chunk level checks.
+   * <p>Protections that override {@link #canBuildInChunk(LivingEntity, World, int, int)} should also override this.
+   * Chunk level checks are skipped entirely when no registered protection supports them.
+   * @return true if this protection can answer for whole chunks, false otherwise
+   */
+  default boolean supportsChunkChecks() {
+    return false;
+  }
 }
@@ -19,29 +19,43 @@
 
 package me.moros.bending.api.protection;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import me.moros.bending.api.platform.block.Block;
+import me.moros.bending.api.platform.world.World;
 import me.moros.bending.api.registry.Registries;
 import me.moros.bending.api.user.User;
+import net.kyori.adventure.util.TriState;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * A multi-layered cache used to check if a User can build in a specific block location.
+ * Results are cached per chunk when all protections agree for the whole chunk, falling back to
+ * per block results for chunks with mixed results. Chunk results are only used if at least one registered
+ * protection {@link Protection#supportsChunkChecks() supports} them.
  * While this implementation is thread-safe it might be dangerous to use this async as the protection plugins
  * might not be thread-safe themselves and data is fetched from those when results aren't cached.
  */
 public enum ProtectionCache {
   INSTANCE;
 
-  private final Map<UUID, LoadingCache<Block, Boolean>> cache;
+  private final Map<UUID, UserCache> cache;
+  private final AtomicReference<CacheStats> retiredStats;
 
   ProtectionCache() {
     cache = new ConcurrentHashMap<>();
+    retiredStats = new AtomicReference<>(CacheStats.empty());
   }
 
   /**
@@ -49,7 +63,22 @@ public enum ProtectionCache {
    * @param uuid the user's id
    */
   public void invalidate(UUID uuid) {
-    cache.remove(uuid);
+    UserCache removed = cache.remove(uuid);
+    if (removed != null) {
+      retiredStats.accumulateAndGet(removed.stats(), CacheStats::plus);
+    }
+  }
+
+  /**
+   * Get the combined hit and miss statistics of all chunk and block lookups, including those of invalidated users.
+   * @return the cache statistics
+   */
+  public CacheStats stats() {
+    CacheStats result = retiredStats.get();
+    for (UserCache userCache : cache.values()) {
+      result = result.plus(userCache.stats());
+    }
+    return result;
   }
 
   /**
@@ -61,7 +90,69 @@ public enum ProtectionCache {
    * @see #canBuildPostCache(User, Block)
    */
   public boolean canBuild(User user, Block block) {
-    return cache.computeIfAbsent(user.uuid(), u -> buildCache(user)).get(block);
+    return userCache(user).canBuild(block);
+  }
+
+  /**
+   * Filters the given blocks in a single pass, keeping only the ones the user can build in.
+   * Each chunk is resolved at most once and per block checks only happen in chunks with mixed results.
+   * @param user the user to check
+   * @param blocks the blocks to check
+   * @return a new list containing only the blocks that the user can build in
+   */
+  public List<Block> canBuild(User user, Collection<Block> blocks) {
+    UserCache userCache = userCache(user);
+    Map<ChunkKey, TriState> resolved = new HashMap<>();
+    List<Block> result = new ArrayList<>(blocks.size());
+    for (Block block : blocks) {
+      if (userCache.canBuild(block, resolved)) {
+        result.add(block);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Checks the given blocks in order and stops at the first one the user cannot build in.
+   * Each chunk is resolved at most once and per block checks only happen in chunks with mixed results.
+   * @param user the user to check
+   * @param path the blocks to check in order
+   * @return the amount of leading blocks that the user can build in
+   */
+  public int buildableLength(User user, List<Block> path) {
+    UserCache userCache = userCache(user);
+    Map<ChunkKey, TriState> resolved = new HashMap<>();
+    for (int i = 0; i < path.size(); i++) {
+      if (!userCache.canBuild(path.get(i), resolved)) {
+        return i;
+      }
+    }
+    return path.size();
+  }
+
+  private UserCache userCache(User user) {
+    return cache.computeIfAbsent(user.uuid(), u -> new UserCache(user));
+  }
+
+  /**
+   * Checks if a user can build in a whole chunk.
+   * @param user the user to check
+   * @param key the chunk to check
+   * @return false if any protection denies the whole chunk, true if all enabled protections allow the
+   * whole chunk, or not set if results are mixed
+   */
+  private TriState canBuildInChunk(User user, ChunkKey key) {
+    TriState result = TriState.TRUE;
+    for (Protection protection : Registries.PROTECTIONS) {
+      TriState partial = protection.canBuildInChunk(user, key.world(), key.x(), key.z());
+      if (partial == TriState.FALSE) {
+        result = TriState.FALSE;
+        break;
+      } else if (partial == TriState.NOT_SET) {
+        result = TriState.NOT_SET;
+      }
+    }
+    return result;
   }
 
   /**
@@ -75,11 +166,44 @@ public enum ProtectionCache {
   }
 
   /**
-   * Creates a block cache in which entries expire 5000ms after their last access time.
-   * @return the created cache
+   * Holds chunk and block caches in which entries expire 5000ms after their last access time.
+   * The chunk cache only exists if a registered protection can answer for whole chunks, as lookups would always
+   * miss otherwise.
    * @see Caffeine
    */
-  private LoadingCache<Block, Boolean> buildCache(User user) {
-    return Caffeine.newBuilder().expireAfterAccess(5, TimeUnit.SECONDS).build(b -> canBuildPostCache(user, b));
+  private final class UserCache {
+    private final @Nullable LoadingCache<ChunkKey, TriState> chunks;
+    private final LoadingCache<Block, Boolean> blocks;
+
+    private UserCache(User user) {
+      if (Registries.PROTECTIONS.stream().anyMatch(Protection::supportsChunkChecks)) {
+        this.chunks = Caffeine.newBuilder().expireAfterAccess(5, TimeUnit.SECONDS).recordStats()
+          .build(k -> canBuildInChunk(user, k));
+      } else {
+        this.chunks = null;
+      }
+      this.blocks = Caffeine.newBuilder().expireAfterAccess(5, TimeUnit.SECONDS).recordStats()
+        .build(b -> canBuildPostCache(user, b));
+    }
+
+    private CacheStats stats() {
+      return chunks == null ? blocks.stats() : chunks.stats().plus(blocks.stats());
+    }
+
+    private boolean canBuild(Block block) {
+      TriState state = chunks == null ? TriState.NOT_SET : chunks.get(ChunkKey.from(block));
+      return state == TriState.NOT_SET ? blocks.get(block) : state == TriState.TRUE;
+    }
+
+    private boolean canBuild(Block block, Map<ChunkKey, TriState> resolved) {
+      TriState state = chunks == null ? TriState.NOT_SET : resolved.computeIfAbsent(ChunkKey.from(block), chunks::get);
+      return state == TriState.NOT_SET ? blocks.get(block) : state == TriState.TRUE;
+    }
+  }
+
+  private record ChunkKey(World world, int x, int z) {
+    private static ChunkKey from(Block block) {
+      return new ChunkKey(block.world(), block.blockX() >> 4, block.blockZ() >> 4);
+    }
   }
 }
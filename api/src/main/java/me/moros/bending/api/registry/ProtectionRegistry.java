@@ -0,0 +1,43 @@
+/*
+ * Copyright 2020-2024 Moros
+ *
+ * This file is part of Bending.
+ *
+ * Bending is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Bending is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bending. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.api.registry;
+
+import java.util.function.UnaryOperator;
+
+import me.moros.bending.api.protection.Protection;
+import me.moros.bending.api.util.KeyUtil;
+import net.kyori.adventure.key.Key;
+
+/**
+ * Registry for all active protections.
+ * <p>Registered protections may be wrapped by the plugin, for example to record how long their checks take.
+ */
+public final class ProtectionRegistry extends SimpleRegistry<Key, Protection> {
+  private static UnaryOperator<Protection> DECORATOR = UnaryOperator.identity();
+
+  ProtectionRegistry() {
+    super(KeyUtil.data("registry.protection", Protection.class), Protection::key, KeyUtil.BENDING_KEY_MAPPER);
+  }
+
+  @Override
+  public boolean register(Protection protection) {
+    return super.register(DECORATOR.apply(protection));
+  }
+}
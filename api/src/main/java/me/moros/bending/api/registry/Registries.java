@@ -45,7 +45,7 @@ public final class Registries {
   public static final Registry<Key, AbilityDescription> ABILITIES = create("ability", AbilityDescription.class);
   public static final Registry<Key, Sequence> SEQUENCES = create("sequence", Sequence.class);
   public static final Registry<Key, CollisionPair> COLLISIONS = create("collision", CollisionPair.class);
-  public static final Registry<Key, Protection> PROTECTIONS = create("protection", Protection.class);
+  public static final Registry<Key, Protection> PROTECTIONS = register(new ProtectionRegistry());
   public static final Registry<Key, Translation> TRANSLATIONS = create("translation", Translation.class);
   public static final UserRegistry BENDERS = new UserRegistry();
 
@@ -65,7 +65,10 @@ public final class Registries {
   }
 
   private static <T extends Keyed> Registry<Key, T> create(String name, Class<T> clazz) {
-    Registry<Key, T> registry = Registry.simpleBuilder(KeyUtil.data("registry." + name, clazz)).build();
+    return register(Registry.simpleBuilder(KeyUtil.data("registry." + name, clazz)).build());
+  }
+
+  private static <T extends Keyed> Registry<Key, T> register(Registry<Key, T> registry) {
     REGISTRIES_BY_KEY.put(registry.key(), registry);
     return registry;
   }
@@ -80,6 +80,35 @@ public interface Registry<K, V> extends Container<V>, TagHolder<V> {
    */
   @Nullable V fromString(String input);
 
+  /**
+   * Get the dense numeric id of a registered value.
+   * <p>Ids are assigned in registration order starting from 0 and are never reused, so they remain stable
+   * for the lifetime of the registry and can be used to index arrays and bitsets. Mutable registries don't assign ids.
+   * @param value the value to check
+   * @return the value's id or -1 if the value isn't registered or the registry doesn't assign ids
+   * @see #idCount()
+   */
+  default int id(V value) {
+    return -1;
+  }
+
+  /**
+   * Get the registered value for the specified id.
+   * @param id the id to check
+   * @return the value associated with the given id or null if not found
+   */
+  default @Nullable V byId(int id) {
+    return null;
+  }
+
+  /**
+   * Get the amount of ids that have been assigned so far.
+   * @return an upper bound (exclusive) for all ids in this registry
+   */
+  default int idCount() {
+    return 0;
+  }
+
   /**
    * Registers a value if it doesn't exist.
    * @param value the value to register
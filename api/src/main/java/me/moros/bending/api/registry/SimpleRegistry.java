@@ -19,6 +19,7 @@
 
 package me.moros.bending.api.registry;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
@@ -45,6 +46,9 @@ public class SimpleRegistry<K, V> implements Registry<K, V> {
   protected final Map<Key, Tag<V>> tags;
   protected final Function<V, K> inverseMapper;
   protected final Function<String, K> keyMapper;
+  private final Map<V, Integer> ids;
+  private volatile @Nullable Object[] byId;
+  private int nextId = 0;
 
   protected boolean locked = false;
 
@@ -54,6 +58,8 @@ public class SimpleRegistry<K, V> implements Registry<K, V> {
     this.keyMapper = keyMapper;
     this.registryMap = new ConcurrentHashMap<>();
     this.tags = new ConcurrentHashMap<>();
+    this.ids = new ConcurrentHashMap<>();
+    this.byId = new Object[16];
   }
 
   private Collection<V> values() {
@@ -69,7 +75,51 @@ public class SimpleRegistry<K, V> implements Registry<K, V> {
   public boolean register(V value) {
     checkLock();
     K key = inverseMapper.apply(value);
-    return registryMap.putIfAbsent(key, value) == null;
+    synchronized (ids) {
+      if (registryMap.putIfAbsent(key, value) != null) {
+        return false;
+      }
+      if (!assignsIds()) {
+        return true;
+      }
+      int id = nextId++;
+      var array = byId;
+      if (id >= array.length) {
+        array = Arrays.copyOf(array, array.length << 1);
+      }
+      array[id] = value;
+      ids.put(value, id);
+      byId = array;
+    }
+    return true;
+  }
+
+  /**
+   * Controls whether registered values are assigned dense ids.
+   * @return true if this registry assigns ids, false otherwise
+   */
+  protected boolean assignsIds() {
+    return true;
+  }
+
+  @Override
+  public int id(V value) {
+    Integer id = ids.get(value);
+    return id == null ? -1 : id;
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public @Nullable V byId(int id) {
+    var array = byId;
+    return id >= 0 && id < array.length ? (V) array[id] : null;
+  }
+
+  @Override
+  public int idCount() {
+    synchronized (ids) {
+      return nextId;
+    }
   }
 
   @Override
@@ -172,6 +222,12 @@ public class SimpleRegistry<K, V> implements Registry<K, V> {
       super(key, inverseMapper, keyMapper);
     }
 
+    // Values come and go so ids would never be reused
+    @Override
+    protected boolean assignsIds() {
+      return false;
+    }
+
     @Override
     public boolean invalidateKey(K key) {
       checkLock();
@@ -33,6 +33,9 @@ public final class TempLight extends Temporary {
   public static final TemporalManager<Block, TempLight> MANAGER = new TemporalManager<>(600) {
     @Override
     public void tick() {
+      if (size() == 0) {
+        return;
+      }
       List<TempLight> toRemove = MANAGER.stream().filter(TempLight::tick).toList();
       toRemove.forEach(TempLight::revertFully);
       super.tick();
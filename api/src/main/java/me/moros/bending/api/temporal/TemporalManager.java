@@ -63,6 +63,9 @@ public class TemporalManager<K, V extends Temporary> {
   }
 
   public void tick() {
+    if (instances.isEmpty()) {
+      return; // Nothing can expire, scheduling is relative so the wheel can stay where it is
+    }
     wheel.advance();
   }
 
@@ -95,6 +98,10 @@ public class TemporalManager<K, V extends Temporary> {
     return false;
   }
 
+  public int size() {
+    return instances.size();
+  }
+
   public boolean clearing() {
     return clearing.get();
   }
@@ -32,6 +32,8 @@ import me.moros.bending.api.ability.Activation;
 import me.moros.bending.api.ability.element.Element;
 import me.moros.bending.api.ability.preset.Preset;
 import me.moros.bending.api.ability.preset.PresetRegisterResult;
+import me.moros.bending.api.collision.raytrace.ContextBuilder;
+import me.moros.bending.api.collision.raytrace.RayTraceCache;
 import me.moros.bending.api.config.attribute.AttributeHolder;
 import me.moros.bending.api.event.ElementChangeEvent.ElementAction;
 import me.moros.bending.api.game.Game;
@@ -57,6 +59,7 @@ sealed class BendingUser implements User, DelegateLivingEntity permits BendingPl
   private final Map<String, TriState> virtualPermissions;
   private final AttributeHolder attributeMap;
   private final BiPredicate<User, AbilityDescription> condition;
+  private final RayTraceCache rayTraceCache;
 
   private final ElementSet elements;
   private final SlotContainer slots;
@@ -72,6 +75,7 @@ sealed class BendingUser implements User, DelegateLivingEntity permits BendingPl
     this.virtualPermissions = new ConcurrentHashMap<>();
     this.attributeMap = AttributeHolder.createEmpty();
     this.condition = BendingConditions.all();
+    this.rayTraceCache = new RayTraceCache(game.clock());
     this.elements = ElementSet.mutable();
     this.slots = new SlotContainer();
     this.presets = ConcurrentHashMap.newKeySet(6);
@@ -92,6 +96,11 @@ sealed class BendingUser implements User, DelegateLivingEntity permits BendingPl
     return container;
   }
 
+  @Override
+  public ContextBuilder rayTrace(double range) {
+    return User.super.rayTrace(range).cache(rayTraceCache);
+  }
+
   @Override
   public Set<Element> elements() {
     return ElementSet.copyOf(elements);
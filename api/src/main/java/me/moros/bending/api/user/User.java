@@ -19,6 +19,8 @@
 
 package me.moros.bending.api.user;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
 import java.util.Optional;
@@ -232,6 +234,26 @@ public sealed interface User extends LivingEntity, ElementUser, AttributeUser, P
     return ProtectionCache.INSTANCE.canBuild(this, block);
   }
 
+  /**
+   * Filters the given blocks, keeping only the ones the user can build in.
+   * @param blocks the blocks to check
+   * @return a new list containing only the blocks the user can build in
+   * @see ProtectionCache#canBuild(User, Collection)
+   */
+  default List<Block> canBuild(Collection<Block> blocks) {
+    return ProtectionCache.INSTANCE.canBuild(this, blocks);
+  }
+
+  /**
+   * Checks the given blocks in order and stops at the first one the user cannot build in.
+   * @param path the blocks to check in order
+   * @return the amount of leading blocks the user can build in
+   * @see ProtectionCache#buildableLength(User, List)
+   */
+  default int buildableLength(List<Block> path) {
+    return ProtectionCache.INSTANCE.buildableLength(this, path);
+  }
+
   /**
    * Attempt to find a possible block source that matches the given predicate.
    * @param range the max range to check
@@ -120,7 +120,7 @@ public final class BendingExplosion {
     }
 
     if (breakBlocks && !world.blockAt(center).type().isLiquid()) {
-      Collection<Block> filteredBlocks = blocks.stream().filter(predicate).filter(user::canBuild).toList();
+      Collection<Block> filteredBlocks = user.canBuild(blocks.stream().filter(predicate).toList());
       ThreadLocalRandom rand = ThreadLocalRandom.current();
       for (Block block : filteredBlocks) {
         TempBlock.air().fixWater(false).duration(BendingProperties.instance().explosionRevertTime(1000)).build(block);
@@ -19,21 +19,37 @@
 
 package me.moros.bending.api.util;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
+import me.moros.bending.api.GameProvider;
+import me.moros.bending.api.game.GameClock;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
- * Represents a set with expiring elements based on a {@link Caffeine} cache.
+ * Represents a set with expiring elements.
+ * <p>Expiration is measured with the {@link GameClock}, which is sampled once at the start of every game tick. Elements
+ * added during a tick share the same deadline and an element expires at the first tick that starts after its duration
+ * has passed, so elements never expire in the middle of a tick or while the game isn't ticking.
+ * <p>Elements are stored in flat open-addressing arrays alongside their deadline and expired slots are only
+ * reclaimed when the table needs to grow, so no per-element nodes are allocated. Adding an element that has expired
+ * reuses its previous slot.
  * @param <E> the type of elements
  */
 public class ExpiringSet<E> {
-  private final Cache<E, Boolean> cache;
+  private static final int MIN_CAPACITY = 8;
+
+  private final @Nullable GameClock clock;
+  private final long duration;
+  private Object[] elements;
+  private long[] deadlines;
+  private int occupied;
 
   /**
-   * Create a new expiring set.
+   * Create a new expiring set using the clock of the loaded game.
    * @param duration the duration of the set elements in milliseconds
    */
   public ExpiringSet(long duration) {
@@ -41,20 +57,42 @@ public class ExpiringSet<E> {
   }
 
   /**
-   * Create a new expiring set.
+   * Create a new expiring set using the clock of the loaded game.
    * @param duration the duration of the set elements
    * @param unit the time unit
    */
   public ExpiringSet(long duration, TimeUnit unit) {
-    cache = Caffeine.newBuilder().expireAfterWrite(duration, unit).build();
+    this(duration, unit, null);
+  }
+
+  /**
+   * Create a new expiring set.
+   * @param duration the duration of the set elements
+   * @param unit the time unit
+   * @param clock the clock to measure expiration with or null to use the clock of the loaded game
+   */
+  public ExpiringSet(long duration, TimeUnit unit, @Nullable GameClock clock) {
+    this.clock = clock;
+    this.duration = Math.max(0, unit.toMillis(duration));
+    this.elements = new Object[MIN_CAPACITY];
+    this.deadlines = new long[MIN_CAPACITY];
+  }
+
+  private long now() {
+    return (clock == null ? GameProvider.get().clock() : clock).millis();
   }
 
   /**
    * Temporarily add the given element to the expiring set.
    * @param item the element to add
    */
-  public void forceAdd(E item) {
-    cache.put(item, false);
+  public synchronized void forceAdd(E item) {
+    long now = now();
+    int idx = slot(item);
+    if (elements[idx] == null) {
+      idx = insert(item, now);
+    }
+    deadlines[idx] = now + duration;
   }
 
   /**
@@ -62,11 +100,15 @@ public class ExpiringSet<E> {
    * @param item the element to add
    * @return true if the element was added as a result of this call, false otherwise
    */
-  public boolean add(E item) {
-    if (contains(item)) {
+  public synchronized boolean add(E item) {
+    long now = now();
+    int idx = slot(item);
+    if (elements[idx] == null) {
+      idx = insert(item, now);
+    } else if (deadlines[idx] - now > 0) {
       return false;
     }
-    forceAdd(item);
+    deadlines[idx] = now + duration;
     return true;
   }
 
@@ -75,15 +117,73 @@ public class ExpiringSet<E> {
    * @param item the element to check
    * @return true if this set currently contains the given element, false otherwise
    */
-  public boolean contains(E item) {
-    return cache.getIfPresent(item) != null;
+  public synchronized boolean contains(E item) {
+    int idx = slot(item);
+    return elements[idx] != null && deadlines[idx] - now() > 0;
   }
 
   /**
    * Create an immutable snapshot of this expiring set.
    * @return the snapshot set
    */
-  public Set<E> snapshot() {
-    return Set.copyOf(cache.asMap().keySet());
+  @SuppressWarnings("unchecked")
+  public synchronized Set<E> snapshot() {
+    long now = now();
+    List<E> result = new ArrayList<>();
+    for (int i = 0; i < elements.length; i++) {
+      if (elements[i] != null && deadlines[i] - now > 0) {
+        result.add((E) elements[i]);
+      }
+    }
+    return Set.copyOf(result);
+  }
+
+  // Returns the slot holding the item or the empty slot where it would be inserted
+  private int slot(Object item) {
+    Objects.requireNonNull(item);
+    int mask = elements.length - 1;
+    int idx = spread(item.hashCode()) & mask;
+    Object current;
+    while ((current = elements[idx]) != null && !current.equals(item)) {
+      idx = (idx + 1) & mask;
+    }
+    return idx;
+  }
+
+  private int insert(Object item, long now) {
+    if ((occupied + 1) * 4 > elements.length * 3) {
+      rehash(now);
+    }
+    int idx = slot(item);
+    elements[idx] = item;
+    occupied++;
+    return idx;
+  }
+
+  // Drops expired elements and resizes the table to fit the live ones
+  private void rehash(long now) {
+    Object[] oldElements = elements;
+    long[] oldDeadlines = deadlines;
+    int live = 0;
+    for (int i = 0; i < oldElements.length; i++) {
+      if (oldElements[i] != null && oldDeadlines[i] - now > 0) {
+        live++;
+      }
+    }
+    int capacity = Math.max(MIN_CAPACITY, Integer.highestOneBit(Math.max(1, (live + 1) * 2 - 1)) << 1);
+    elements = new Object[capacity];
+    deadlines = new long[capacity];
+    occupied = live;
+    for (int i = 0; i < oldElements.length; i++) {
+      if (oldElements[i] != null && oldDeadlines[i] - now > 0) {
+        int idx = slot(oldElements[i]);
+        elements[idx] = oldElements[i];
+        deadlines[idx] = oldDeadlines[i];
+      }
+    }
+  }
+
+  private static int spread(int hash) {
+    return hash ^ (hash >>> 16);
   }
 }
@@ -19,6 +19,7 @@
 
 package me.moros.bending.api.util.functional;
 
+import me.moros.bending.api.GameProvider;
 import me.moros.bending.api.ability.AbilityDescription;
 import me.moros.bending.api.user.User;
 
@@ -29,12 +30,12 @@ public final class ExpireRemovalPolicy implements RemovalPolicy {
   private final long expireTime;
 
   private ExpireRemovalPolicy(long duration) {
-    expireTime = System.currentTimeMillis() + duration;
+    expireTime = GameProvider.get().clock().millis() + duration;
   }
 
   @Override
   public boolean test(User user, AbilityDescription desc) {
-    return System.currentTimeMillis() > expireTime;
+    return user.game().clock().millis() > expireTime;
   }
 
   /**
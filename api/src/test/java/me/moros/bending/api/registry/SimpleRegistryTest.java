@@ -0,0 +1,101 @@
+/*
+ * Copyright 2020-2024 Moros
+ *
+ * This file is part of Bending.
+ *
+ * Bending is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Bending is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bending. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.api.registry;
+
+import java.util.function.Function;
+
+import me.moros.bending.api.util.KeyUtil;
+import me.moros.bending.api.util.data.DataKey;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class SimpleRegistryTest {
+  @Test
+  void testIdsFollowRegistrationOrder() {
+    Registry<String, String> registry = create().build();
+    registry.register("first");
+    registry.register("second");
+    registry.register("third");
+
+    assertEquals(3, registry.idCount());
+    assertEquals(0, registry.id("first"));
+    assertEquals(1, registry.id("second"));
+    assertEquals(2, registry.id("third"));
+    assertEquals("second", registry.byId(1));
+    assertEquals(-1, registry.id("missing"));
+    assertNull(registry.byId(3));
+    assertNull(registry.byId(-1));
+  }
+
+  @Test
+  void testDuplicateRegistrationKeepsId() {
+    Registry<String, String> registry = create().build();
+    registry.register("first");
+    assertFalse(registry.register("first"));
+    registry.register("second");
+
+    assertEquals(2, registry.idCount());
+    assertEquals(0, registry.id("first"));
+    assertEquals(1, registry.id("second"));
+  }
+
+  @Test
+  void testIdsSurviveGrowth() {
+    Registry<String, String> registry = create().build();
+    for (int i = 0; i < 100; i++) {
+      registry.register("value" + i);
+    }
+    assertEquals(100, registry.idCount());
+    for (int i = 0; i < 100; i++) {
+      assertEquals(i, registry.id("value" + i));
+      assertEquals("value" + i, registry.byId(i));
+    }
+  }
+
+  @Test
+  void testDefaultedRegistryAssignsIdsOnDemand() {
+    Registry<String, String> registry = create().buildDefaulted(Function.identity());
+    registry.register("first");
+    assertEquals("second", registry.get("second"));
+    assertEquals(1, registry.id("second"));
+    // Existing ids are unaffected by later lookups
+    registry.get("third");
+    assertEquals(0, registry.id("first"));
+    assertEquals(1, registry.id("second"));
+    assertEquals(3, registry.idCount());
+  }
+
+  @Test
+  void testMutableRegistryDoesNotAssignIds() {
+    MutableRegistry<String, String> registry = create().buildMutable();
+    registry.register("first");
+    assertEquals(-1, registry.id("first"));
+    assertNull(registry.byId(0));
+    assertEquals(0, registry.idCount());
+  }
+
+  private static RegistryBuilder<String, String> create() {
+    return Registry.builder(DataKey.wrap(KeyUtil.simple("test"), String.class))
+      .inverseMapper(Function.<String>identity()).keyMapper(Function.identity());
+  }
+}
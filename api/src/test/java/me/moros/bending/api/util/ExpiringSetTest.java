@@ -0,0 +1,166 @@
+/*
+ * Copyright 2020-2024 Moros
+ *
+ * This file is part of Bending.
+ *
+ * Bending is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Bending is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bending. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.api.util;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import me.moros.bending.api.game.GameClock;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExpiringSetTest {
+  private final TestClock clock = new TestClock();
+
+  @Test
+  void testExpiryFollowsGameClock() {
+    // 120ms expires at the first tick that starts after it has passed
+    ExpiringSet<String> set = create(120);
+    assertTrue(set.add("a"));
+    assertFalse(set.add("a"));
+    tick(2);
+    assertTrue(set.contains("a"));
+    tick(1);
+    assertFalse(set.contains("a"));
+  }
+
+  @Test
+  void testZeroDurationExpiresImmediately() {
+    ExpiringSet<String> set = new ExpiringSet<>(0, TimeUnit.SECONDS, clock);
+    assertTrue(set.add("a"));
+    assertFalse(set.contains("a"));
+    assertTrue(set.add("a"));
+  }
+
+  @Test
+  void testForceAddRefreshesExpiry() {
+    ExpiringSet<String> set = create(2 * 50);
+    set.add("a");
+    tick(1);
+    set.forceAdd("a");
+    tick(1);
+    assertTrue(set.contains("a"));
+    tick(1);
+    assertFalse(set.contains("a"));
+  }
+
+  @Test
+  void testReinsertionAfterExpiry() {
+    ExpiringSet<String> set = create(50);
+    set.add("a");
+    set.add("b");
+    tick(1);
+    assertFalse(set.contains("a"));
+    // Expired slots are reused and don't block lookups for other elements
+    assertTrue(set.add("a"));
+    assertTrue(set.contains("a"));
+    assertFalse(set.contains("b"));
+    assertEquals(Set.of("a"), set.snapshot());
+  }
+
+  @Test
+  void testCollisions() {
+    ExpiringSet<Colliding> set = create(50);
+    Set<Colliding> expected = new HashSet<>();
+    for (int i = 0; i < 5; i++) {
+      Colliding item = new Colliding(i);
+      expected.add(item);
+      assertTrue(set.add(item));
+    }
+    for (Colliding item : expected) {
+      assertTrue(set.contains(item));
+      assertFalse(set.add(item));
+    }
+    assertFalse(set.contains(new Colliding(5)));
+    assertEquals(expected, set.snapshot());
+  }
+
+  @Test
+  void testResizeKeepsLiveElements() {
+    ExpiringSet<Integer> set = create(2 * 50);
+    for (int i = 0; i < 100; i++) {
+      set.add(i);
+    }
+    tick(1);
+    for (int i = 100; i < 1000; i++) {
+      set.add(i);
+    }
+    for (int i = 0; i < 1000; i++) {
+      assertTrue(set.contains(i));
+    }
+    tick(1);
+    // Growing drops the expired elements
+    for (int i = 1000; i < 2000; i++) {
+      set.add(i);
+    }
+    for (int i = 0; i < 100; i++) {
+      assertFalse(set.contains(i));
+    }
+    for (int i = 100; i < 2000; i++) {
+      assertTrue(set.contains(i));
+    }
+    assertEquals(1900, set.snapshot().size());
+  }
+
+  private <E> ExpiringSet<E> create(long duration) {
+    return new ExpiringSet<>(duration, TimeUnit.MILLISECONDS, clock);
+  }
+
+  private void tick(int amount) {
+    clock.millis += amount * GameClock.MILLIS_PER_TICK;
+    clock.tick += amount;
+  }
+
+  private static final class TestClock implements GameClock {
+    private int tick;
+    private long millis;
+
+    @Override
+    public int tick() {
+      return tick;
+    }
+
+    @Override
+    public long tickStartNanos() {
+      return millis * 1_000_000;
+    }
+
+    @Override
+    public long millis() {
+      return millis;
+    }
+
+    @Override
+    public boolean deterministic() {
+      return true;
+    }
+  }
+
+  private record Colliding(int value) {
+    @Override
+    public int hashCode() {
+      return 1;
+    }
+  }
+}
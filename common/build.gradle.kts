@@ -6,6 +6,7 @@ dependencies {
     api(projects.bendingApi)
     api(libs.storage)
     api(libs.eventbus)
+    annotationProcessor(projects.bendingProcessor)
     compileOnlyApi(libs.caffeine)
     compileOnlyApi(libs.luckperms.api)
     compileOnly(libs.adventure.minimessage)
@@ -15,4 +16,17 @@ dependencies {
     compileOnly(libs.flyway.core)
     compileOnly(libs.bundles.configurate)
     compileOnly(libs.bundles.cloud)
+    testImplementation(libs.bundles.junit)
+    testImplementation(libs.adventure.api)
+    testImplementation(libs.caffeine)
+    testImplementation(libs.hikari)
+    testImplementation(libs.jdbi)
+    testImplementation(libs.bundles.flyway)
+    testImplementation(libs.bundles.drivers.local)
+}
+
+tasks {
+    test {
+        useJUnitPlatform()
+    }
 }
@@ -20,15 +20,20 @@
 package me.moros.bending.common;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.UncheckedIOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 
 import me.moros.bending.api.addon.Addon;
 import me.moros.bending.api.config.BendingProperties;
 import me.moros.bending.api.game.Game;
+import me.moros.bending.api.protection.Protection;
+import me.moros.bending.api.registry.ProtectionRegistry;
 import me.moros.bending.api.util.Tasker;
 import me.moros.bending.common.ability.AbilityInitializer;
 import me.moros.bending.common.config.BendingPropertiesImpl;
@@ -38,9 +43,12 @@ import me.moros.bending.common.hook.PresetLimits;
 import me.moros.bending.common.loader.AddonLoader;
 import me.moros.bending.common.locale.TranslationManager;
 import me.moros.bending.common.logging.Logger;
+import me.moros.bending.common.metrics.MetricsServer;
 import me.moros.bending.common.util.GameProviderUtil;
 import me.moros.bending.common.util.ReflectionUtil;
+import me.moros.bending.common.util.jfr.RecordedProtection;
 import me.moros.tasker.executor.SyncExecutor;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.spongepowered.configurate.reference.WatchServiceListener;
 
 public abstract class AbstractBending<T> implements Bending {
@@ -56,6 +64,7 @@ public abstract class AbstractBending<T> implements Bending {
   private final AddonLoader addonLoader;
 
   protected Game game;
+  private @Nullable MetricsServer metrics;
 
   protected AbstractBending(T parent, Path dir, Logger logger) {
     this.parent = parent;
@@ -72,6 +81,23 @@ public abstract class AbstractBending<T> implements Bending {
     this.addonLoader = AddonLoader.create(logger(), path, getClass().getClassLoader());
     this.configManager.subscribe(new BendingPropertiesImpl(), this::injectProperties);
     new AbilityInitializer().init();
+    ReflectionUtil.injectStatic(ProtectionRegistry.class, (UnaryOperator<Protection>) RecordedProtection::wrap);
+    exportResource("bending.jfc");
+  }
+
+  // Copies a bundled resource to the plugin directory so it can be passed to external tools
+  private void exportResource(String name) {
+    Path target = path.resolve(name);
+    if (Files.exists(target)) {
+      return;
+    }
+    try (InputStream in = getClass().getClassLoader().getResourceAsStream("bending/" + name)) {
+      if (in != null) {
+        Files.copy(in, target);
+      }
+    } catch (IOException e) {
+      logger.warn("Unable to export " + name, e);
+    }
   }
 
   protected void injectTasker(SyncExecutor syncExecutor) {
@@ -93,6 +119,7 @@ public abstract class AbstractBending<T> implements Bending {
     game = new GameImpl(this);
     GameProviderUtil.registerProvider(game);
     addonLoader.enableAll(game);
+    metrics = MetricsServer.createIfEnabled(logger, game);
   }
 
   @Override
@@ -104,6 +131,7 @@ public abstract class AbstractBending<T> implements Bending {
 
   protected void softDisable() {
     if (game != null) {
+      closeMetrics();
       addonLoader.unloadAll();
       game.cleanup();
       game.storage().close();
@@ -115,6 +143,7 @@ public abstract class AbstractBending<T> implements Bending {
 
   protected void disable() {
     if (game != null) {
+      closeMetrics();
       addonLoader.unloadAll();
       game.cleanup();
       game.eventBus().shutdown();
@@ -132,6 +161,13 @@ public abstract class AbstractBending<T> implements Bending {
     }
   }
 
+  private void closeMetrics() {
+    if (metrics != null) {
+      metrics.close();
+      metrics = null;
+    }
+  }
+
   @Override
   public Path path() {
     return path;
@@ -39,4 +39,12 @@ public interface Bending {
   ConfigManager configManager();
 
   TranslationManager translationManager();
+
+  /**
+   * Headless environments can opt into a deterministic game clock that advances by a fixed amount every tick.
+   * @return whether the game clock should ignore actual tick durations
+   */
+  default boolean deterministicClock() {
+    return false;
+  }
 }
@@ -89,7 +89,7 @@ public class AirBlade extends AbilityInstance {
       .add(Policies.UNDER_LAVA)
       .build();
 
-    startTime = System.currentTimeMillis();
+    startTime = user.game().clock().millis();
 
     AirWheel wheel = user.game().abilityManager(user.worldKey()).firstInstance(user, AirWheel.class).orElse(null);
     if (wheel != null) {
@@ -120,7 +120,7 @@ public class AirBlade extends AbilityInstance {
       if (user.world().blockAt(origin).type().isLiquid()) {
         return UpdateResult.REMOVE;
       }
-      long time = System.currentTimeMillis();
+      long time = user.game().clock().millis();
       if (user.sneaking() && time > startTime + 100) {
         double timeFactor = Math.min(0.9, (time - startTime) / (double) userConfig.maxChargeTime);
         double r = userConfig.radius * userConfig.chargeFactor * timeFactor * 0.5;
@@ -151,7 +151,7 @@ public class AirBlade extends AbilityInstance {
   }
 
   private void launch() {
-    long deltaTime = System.currentTimeMillis() - startTime;
+    long deltaTime = user.game().clock().millis() - startTime;
     factor = 1;
     if (deltaTime >= userConfig.maxChargeTime) {
       factor = userConfig.chargeFactor;
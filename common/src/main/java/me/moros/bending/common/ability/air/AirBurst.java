@@ -82,7 +82,7 @@ public class AirBurst extends AbilityInstance {
       }
       release(Mode.FALL);
     }
-    startTime = System.currentTimeMillis();
+    startTime = user.game().clock().millis();
     return true;
   }
 
@@ -130,7 +130,7 @@ public class AirBurst extends AbilityInstance {
   }
 
   private boolean isCharged() {
-    return System.currentTimeMillis() >= startTime + userConfig.chargeTime;
+    return user.game().clock().millis() >= startTime + userConfig.chargeTime;
   }
 
   private void release(Mode mode) {
@@ -159,7 +159,7 @@ public class AirBurst extends AbilityInstance {
 
     @Override
     public void render() {
-      long time = System.currentTimeMillis();
+      long time = user.game().clock().millis();
       if (time >= nextRenderTime) {
         ParticleBuilder.air(location).offset(0.2).spawn(user.world());
         nextRenderTime = time + 75;
@@ -75,7 +75,7 @@ public class AirShield extends AbilityInstance {
       .add(Policies.NOT_SNEAKING)
       .add(ExpireRemovalPolicy.of(userConfig.duration))
       .build();
-    startTime = System.currentTimeMillis();
+    startTime = user.game().clock().millis();
     center = user.center();
     return true;
   }
@@ -127,7 +127,7 @@ public class AirShield extends AbilityInstance {
 
   @Override
   public void onDestroy() {
-    double factor = userConfig.duration == 0 ? 1 : System.currentTimeMillis() - startTime / (double) userConfig.duration;
+    double factor = userConfig.duration == 0 ? 1 : user.game().clock().millis() - startTime / (double) userConfig.duration;
     long cooldown = Math.min(1000, (long) (factor * userConfig.cooldown));
     user.addCooldown(description(), cooldown);
   }
@@ -112,7 +112,7 @@ public class AirSpout extends AbilityInstance implements SpoutAbility {
 
     @Override
     public void render() {
-      long time = System.currentTimeMillis();
+      long time = user.game().clock().millis();
       if (time < nextRenderTime) {
         return;
       }
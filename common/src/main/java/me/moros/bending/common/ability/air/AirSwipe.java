@@ -73,7 +73,7 @@ public class AirSwipe extends AbilityInstance {
   public boolean activate(User user, Activation method) {
     this.user = user;
     loadConfig();
-    startTime = System.currentTimeMillis();
+    startTime = user.game().clock().millis();
     charging = true;
 
     if (user.world().blockAt(user.mainHandSide()).type().isLiquid()) {
@@ -109,7 +109,7 @@ public class AirSwipe extends AbilityInstance {
       return UpdateResult.REMOVE;
     }
     if (charging) {
-      if (user.sneaking() && System.currentTimeMillis() >= startTime + userConfig.maxChargeTime) {
+      if (user.sneaking() && user.game().clock().millis() >= startTime + userConfig.maxChargeTime) {
         ParticleBuilder.air(user.mainHandSide()).spawn(user.world());
       } else if (!user.sneaking()) {
         launch();
@@ -120,7 +120,7 @@ public class AirSwipe extends AbilityInstance {
   }
 
   private void launch() {
-    long deltaTime = System.currentTimeMillis() - startTime;
+    long deltaTime = user.game().clock().millis() - startTime;
     factor = 1;
     if (deltaTime >= userConfig.maxChargeTime) {
       factor = userConfig.chargeFactor;
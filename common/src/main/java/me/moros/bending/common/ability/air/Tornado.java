@@ -76,7 +76,7 @@ public class Tornado extends AbilityInstance {
       .add(Policies.UNDER_LAVA)
       .build();
     mode = user.store().get(KEY).orElse(Mode.PUSH);
-    startTime = System.currentTimeMillis();
+    startTime = user.game().clock().millis();
     return true;
   }
 
@@ -99,7 +99,7 @@ public class Tornado extends AbilityInstance {
       return UpdateResult.REMOVE;
     }
 
-    long time = System.currentTimeMillis();
+    long time = user.game().clock().millis();
     double factor = Math.min(1, (time - startTime) / (double) userConfig.growthTime);
     double height = 2 + factor * (userConfig.height - 2);
     double radius = 2 + factor * (userConfig.radius - 2);
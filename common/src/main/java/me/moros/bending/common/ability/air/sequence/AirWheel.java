@@ -93,7 +93,7 @@ public class AirWheel extends AbilityInstance {
 
   @Override
   public UpdateResult update() {
-    long time = System.currentTimeMillis();
+    long time = user.game().clock().millis();
     center = user.location().add(0, 0.8, 0).add(user.direction().withY(0).multiply(1.2));
     collider = Disk.of(Sphere.of(2), OBB.of(BOUNDS, Vector3d.PLUS_J, Math.toRadians(user.yaw()))).at(center);
 
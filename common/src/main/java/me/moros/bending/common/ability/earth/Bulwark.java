@@ -71,7 +71,7 @@ public class Bulwark extends AbilityInstance {
       user.addCooldown(description(), userConfig.wallCooldown);
       raiseWall.pillars().map(Pillar::origin).map(b -> b.offset(Direction.UP, 2)).forEach(bases::add);
       wall = raiseWall;
-      startTime = System.currentTimeMillis();
+      startTime = user.game().clock().millis();
       return true;
     }
     return false;
@@ -88,7 +88,7 @@ public class Bulwark extends AbilityInstance {
       return UpdateResult.REMOVE;
     }
 
-    if (System.currentTimeMillis() > startTime + userConfig.wallDuration) {
+    if (user.game().clock().millis() > startTime + userConfig.wallDuration) {
       collapse();
     }
 
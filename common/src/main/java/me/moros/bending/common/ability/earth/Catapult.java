@@ -82,7 +82,7 @@ public class Catapult extends AbilityInstance {
   @Override
   public UpdateResult update() {
     launch();
-    if (System.currentTimeMillis() > startTime + 100) {
+    if (user.game().clock().millis() > startTime + 100) {
       return pillar == null ? UpdateResult.REMOVE : pillar.update();
     }
     return UpdateResult.CONTINUE;
@@ -136,7 +136,7 @@ public class Catapult extends AbilityInstance {
       return;
     }
     launched = true;
-    startTime = System.currentTimeMillis();
+    startTime = user.game().clock().millis();
     Vector3d origin = user.location().add(0, 0.5, 0);
     SoundEffect.EARTH.play(user.world(), origin);
     data.asParticle(origin).count(16).offset(0.4).spawn(user.world());
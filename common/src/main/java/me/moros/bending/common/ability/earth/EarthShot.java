@@ -237,7 +237,7 @@ public class EarthShot extends AbilityInstance implements Explosive {
     Block check = user.rayTrace(userConfig.selectRange * 2).ignoreLiquids(false).blocks(user.world()).block();
     if (user.sneaking() && readySource.equals(check)) {
       if (magmaStartTime == 0) {
-        magmaStartTime = System.currentTimeMillis();
+        magmaStartTime = user.game().clock().millis();
         if (userConfig.chargeTime > 0) {
           SoundEffect.LAVA.play(readySource);
         }
@@ -247,7 +247,7 @@ public class EarthShot extends AbilityInstance implements Explosive {
       Particle.SMOKE.builder(spawnLoc).count(2).offset(0.5).spawn(user.world());
       ParticleBuilder.rgb(spawnLoc, "#FFA400").count(2).offset(0.5).spawn(user.world());
       ParticleBuilder.rgb(spawnLoc, "#FF8C00").count(4).offset(0.5).spawn(user.world());
-      if (userConfig.chargeTime <= 0 || System.currentTimeMillis() > magmaStartTime + userConfig.chargeTime) {
+      if (userConfig.chargeTime <= 0 || user.game().clock().millis() > magmaStartTime + userConfig.chargeTime) {
         mode = Mode.MAGMA;
         TempBlock.builder(BlockType.MAGMA_BLOCK).build(readySource);
         canConvert = false;
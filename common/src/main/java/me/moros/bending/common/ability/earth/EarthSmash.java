@@ -19,6 +19,7 @@
 
 package me.moros.bending.common.ability.earth;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -143,11 +144,16 @@ public class EarthSmash extends AbilityInstance {
       radius++;
     }
     // Check blocks above center
+    List<Block> column = new ArrayList<>(radius + 1);
     for (int i = 0; i <= radius; i++) {
       Block b = center.offset(Direction.UP, i + 1);
-      if (!MaterialUtil.isTransparent(b) || !TempBlock.isBendable(b) || !user.canBuild(b)) {
+      if (!MaterialUtil.isTransparent(b) || !TempBlock.isBendable(b)) {
         return false;
       }
+      column.add(b);
+    }
+    if (user.buildableLength(column) < column.size()) {
+      return false;
     }
 
     boulder = new Boulder(user, center, radius, userConfig.maxDuration);
@@ -305,12 +311,12 @@ public class EarthSmash extends AbilityInstance {
     private final long startTime;
 
     private ChargeState() {
-      startTime = System.currentTimeMillis();
+      startTime = user.game().clock().millis();
     }
 
     @Override
     public UpdateResult update() {
-      if (System.currentTimeMillis() >= startTime + userConfig.chargeTime) {
+      if (user.game().clock().millis() >= startTime + userConfig.chargeTime) {
         if (user.sneaking()) {
           Particle.SMOKE.builder(user.mainHandSide()).spawn(user.world());
           return UpdateResult.CONTINUE;
@@ -351,7 +357,7 @@ public class EarthSmash extends AbilityInstance {
         return entity.applyVelocity(EarthSmash.this, push);
       }, true, true);
 
-      long time = System.currentTimeMillis();
+      long time = user.game().clock().millis();
       if (time < nextLiftTime) {
         return UpdateResult.CONTINUE;
       }
@@ -487,7 +493,7 @@ public class EarthSmash extends AbilityInstance {
   private class IdleState implements EarthSmashState {
     @Override
     public UpdateResult update() {
-      return System.currentTimeMillis() > boulder.expireTime() ? UpdateResult.REMOVE : UpdateResult.CONTINUE;
+      return user.game().clock().millis() > boulder.expireTime() ? UpdateResult.REMOVE : UpdateResult.CONTINUE;
     }
 
     @Override
@@ -73,7 +73,7 @@ public class EarthSurf extends AbilityInstance {
       }
       return launch();
     }
-    startTime = System.currentTimeMillis();
+    startTime = user.game().clock().millis();
     removalPolicy = Policies.builder()
       .add(Policies.UNDER_WATER)
       .add(Policies.UNDER_LAVA)
@@ -114,7 +114,7 @@ public class EarthSurf extends AbilityInstance {
       return UpdateResult.REMOVE;
     }
     if (charging) {
-      if (System.currentTimeMillis() >= startTime + userConfig.chargeTime) {
+      if (user.game().clock().millis() >= startTime + userConfig.chargeTime) {
         if (user.sneaking()) {
           Particle.SMOKE.builder(user.mainHandSide()).spawn(user.world());
           return UpdateResult.CONTINUE;
@@ -107,7 +107,7 @@ public class Shockwave extends AbilityInstance {
       }
     }
 
-    startTime = System.currentTimeMillis();
+    startTime = user.game().clock().millis();
     return true;
   }
 
@@ -164,7 +164,7 @@ public class Shockwave extends AbilityInstance {
   }
 
   private boolean isCharged() {
-    return System.currentTimeMillis() >= startTime + userConfig.chargeTime;
+    return user.game().clock().millis() >= startTime + userConfig.chargeTime;
   }
 
   private boolean release(boolean cone) {
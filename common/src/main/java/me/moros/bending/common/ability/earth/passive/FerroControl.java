@@ -95,7 +95,7 @@ public class FerroControl extends AbilityInstance {
     if (!user.canBend(description())) {
       return;
     }
-    long time = System.currentTimeMillis();
+    long time = user.game().clock().millis();
     if (time < nextInteractTime) {
       return;
     }
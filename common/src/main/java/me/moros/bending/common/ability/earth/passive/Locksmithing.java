@@ -73,7 +73,7 @@ public class Locksmithing extends AbilityInstance {
     if (!user.canBend(description())) {
       return;
     }
-    long time = System.currentTimeMillis();
+    long time = user.game().clock().millis();
     if (time < nextInteractTime) {
       return;
     }
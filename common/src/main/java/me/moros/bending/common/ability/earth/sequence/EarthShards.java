@@ -78,7 +78,7 @@ public class EarthShards extends AbilityInstance {
       return UpdateResult.REMOVE;
     }
     if (firedShots < userConfig.maxShots) {
-      long time = System.currentTimeMillis();
+      long time = user.game().clock().millis();
       if (time >= nextFireTime) {
         nextFireTime = time + userConfig.interval;
         launch(user.handSide(false), user.handSide(true));
@@ -22,10 +22,12 @@ package me.moros.bending.common.ability.earth.util;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.BiFunction;
 import java.util.stream.Collectors;
@@ -62,7 +64,7 @@ public final class Boulder {
     this.user = user;
     this.world = user.world();
     this.size = size;
-    expireTime = System.currentTimeMillis() + duration;
+    expireTime = user.game().clock().millis() + duration;
     data = new HashMap<>();
     center = centerBlock.center();
     double hr = size / 2.0;
@@ -74,12 +76,21 @@ public final class Boulder {
   private void initData(Block centerBlock) {
     int half = (size - 1) / 2;
     Block temp = centerBlock.offset(Direction.DOWN, half);
+    List<Block> volume = new ArrayList<>(size * size * size);
+    for (int dy = -half; dy <= half; dy++) {
+      for (int dz = -half; dz <= half; dz++) {
+        for (int dx = -half; dx <= half; dx++) {
+          volume.add(temp.offset(dx, dy, dz));
+        }
+      }
+    }
+    Set<Block> buildable = new HashSet<>(user.canBuild(volume));
     List<BlockType> earthData = new ArrayList<>();
     for (int dy = -half; dy <= half; dy++) {
       for (int dz = -half; dz <= half; dz++) {
         for (int dx = -half; dx <= half; dx++) {
           Block block = temp.offset(dx, dy, dz);
-          if (!user.canBuild(block)) {
+          if (!buildable.contains(block)) {
             continue;
           }
           BlockState bd = null;
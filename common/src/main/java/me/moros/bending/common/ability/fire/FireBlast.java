@@ -77,7 +77,7 @@ public class FireBlast extends AbilityInstance implements Explosive {
   public boolean activate(User user, Activation method) {
     this.user = user;
     loadConfig();
-    startTime = System.currentTimeMillis();
+    startTime = user.game().clock().millis();
     charging = true;
 
     if (user.world().blockAt(user.mainHandSide()).type().isLiquid()) {
@@ -112,7 +112,7 @@ public class FireBlast extends AbilityInstance implements Explosive {
       if (!description().equals(user.selectedAbility())) {
         return UpdateResult.REMOVE;
       }
-      if (user.sneaking() && System.currentTimeMillis() >= startTime + userConfig.maxChargeTime) {
+      if (user.sneaking() && user.game().clock().millis() >= startTime + userConfig.maxChargeTime) {
         ParticleBuilder.fire(user, user.mainHandSide()).spawn(user.world());
       } else if (!user.sneaking()) {
         launch();
@@ -123,7 +123,7 @@ public class FireBlast extends AbilityInstance implements Explosive {
   }
 
   private void launch() {
-    long deltaTime = System.currentTimeMillis() - startTime;
+    long deltaTime = user.game().clock().millis() - startTime;
     factor = 1;
     long cooldown = userConfig.cooldown;
     if (deltaTime >= userConfig.maxChargeTime) {
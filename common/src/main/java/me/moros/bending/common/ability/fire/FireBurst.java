@@ -83,7 +83,7 @@ public class FireBurst extends AbilityInstance {
 
     removalPolicy = Policies.builder().add(SwappedSlotsRemovalPolicy.of(description())).build();
     released = false;
-    startTime = System.currentTimeMillis();
+    startTime = user.game().clock().millis();
     return true;
   }
 
@@ -129,7 +129,7 @@ public class FireBurst extends AbilityInstance {
   }
 
   private boolean isCharged() {
-    return System.currentTimeMillis() >= startTime + userConfig.chargeTime;
+    return user.game().clock().millis() >= startTime + userConfig.chargeTime;
   }
 
   private void release(boolean cone) {
@@ -159,7 +159,7 @@ public class FireBurst extends AbilityInstance {
 
     @Override
     public void render() {
-      long time = System.currentTimeMillis();
+      long time = user.game().clock().millis();
       if (time >= nextRenderTime) {
         ParticleBuilder.fire(user, location).offset(0.2).extra(0.01).spawn(user.world());
         nextRenderTime = time + 75;
@@ -97,7 +97,7 @@ public class FireJet extends AbilityInstance {
       .add(ExpireRemovalPolicy.of(duration))
       .build();
 
-    startTime = System.currentTimeMillis();
+    startTime = user.game().clock().millis();
     return true;
   }
 
@@ -124,7 +124,7 @@ public class FireJet extends AbilityInstance {
       return UpdateResult.REMOVE;
     }
     double halfSpeed = 0.5 * (jetBlast ? userConfig.jetBlastSpeed : userConfig.speed);
-    double timeFactor = (System.currentTimeMillis() - startTime) / (double) duration;
+    double timeFactor = (user.game().clock().millis() - startTime) / (double) duration;
     double speed = halfSpeed + halfSpeed * Math.sin(Math.PI * timeFactor);
 
     user.applyVelocity(this, user.direction().multiply(speed));
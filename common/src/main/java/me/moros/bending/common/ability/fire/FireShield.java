@@ -195,7 +195,7 @@ public class FireShield extends AbilityInstance {
 
     @Override
     public void render() {
-      long time = System.currentTimeMillis();
+      long time = user.game().clock().millis();
       if (time < nextRenderTime) {
         return;
       }
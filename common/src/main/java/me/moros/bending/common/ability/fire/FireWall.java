@@ -126,7 +126,7 @@ public class FireWall extends AbilityInstance {
       currentHeight += height / 60;
     }
 
-    long time = System.currentTimeMillis();
+    long time = user.game().clock().millis();
     if (user.sneaking() && user.hasAbilitySelected("firewall")) {
       if (lastSneakTime == 0) {
         lastSneakTime = time;
@@ -82,7 +82,7 @@ public class FlameRush extends AbilityInstance {
     }
     this.user = user;
     loadConfig();
-    startTime = System.currentTimeMillis();
+    startTime = user.game().clock().millis();
     charging = true;
 
     removalPolicy = Policies.builder()
@@ -108,7 +108,7 @@ public class FlameRush extends AbilityInstance {
       if (user.sneaking()) {
         Vector3d spawnLoc = user.mainHandSide();
         ParticleBuilder.fire(user, spawnLoc).spawn(user.world());
-        if (System.currentTimeMillis() >= startTime + userConfig.maxChargeTime) {
+        if (user.game().clock().millis() >= startTime + userConfig.maxChargeTime) {
           Particle.SMOKE.builder(spawnLoc).spawn(user.world());
         }
       } else {
@@ -124,7 +124,7 @@ public class FlameRush extends AbilityInstance {
   }
 
   private void launch() {
-    long time = System.currentTimeMillis();
+    long time = user.game().clock().millis();
     double deltaTime = time - startTime;
     double factor = 1;
     if (deltaTime >= userConfig.maxChargeTime) {
@@ -148,7 +148,7 @@ public class HeatControl extends AbilityInstance {
 
   private Collection<Block> getShuffledBlocks(double range, double radius, Predicate<Block> predicate) {
     Vector3d center = user.rayTrace(range).blocks(user.world()).position();
-    List<Block> blocks = user.world().nearbyBlocks(center, radius, predicate.and(user::canBuild));
+    List<Block> blocks = user.canBuild(user.world().nearbyBlocks(center, radius, predicate));
     Collections.shuffle(blocks);
     return blocks;
   }
@@ -211,7 +211,7 @@ public class HeatControl extends AbilityInstance {
     private Heating(User user, long cookInterval, long chargeTime) {
       this.user = user;
       this.cookInterval = cookInterval;
-      this.lastCookTime = System.currentTimeMillis();
+      this.lastCookTime = user.game().clock().millis();
       this.fullyChargedTime = this.lastCookTime + chargeTime;
       this.requireSneak = true;
       this.charged = false;
@@ -219,7 +219,7 @@ public class HeatControl extends AbilityInstance {
 
     @Override
     public UpdateResult update() {
-      long time = System.currentTimeMillis();
+      long time = user.game().clock().millis();
       boolean sneaking = user.sneaking();
       if (!charged && time >= fullyChargedTime) {
         charged = true;
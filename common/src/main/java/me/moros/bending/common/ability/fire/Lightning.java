@@ -106,7 +106,7 @@ public class Lightning extends AbilityInstance {
       .add(SwappedSlotsRemovalPolicy.of(description()))
       .build();
 
-    startTime = System.currentTimeMillis();
+    startTime = user.game().clock().millis();
     return true;
   }
 
@@ -127,7 +127,7 @@ public class Lightning extends AbilityInstance {
       if (ThreadLocalRandom.current().nextInt(3) == 0) {
         SoundEffect.LIGHTNING_CHARGING.play(user.world(), user.eyeLocation());
       }
-      long deltaTime = System.currentTimeMillis() - startTime;
+      long deltaTime = user.game().clock().millis() - startTime;
       if (deltaTime > userConfig.minChargeTime) {
         Vector3d spawnLoc = user.mainHandSide();
         double offset = deltaTime / (3.0 * userConfig.overchargeTime);
@@ -164,7 +164,7 @@ public class Lightning extends AbilityInstance {
     if (launched) {
       return;
     }
-    long deltaTime = System.currentTimeMillis() - startTime;
+    long deltaTime = user.game().clock().millis() - startTime;
     factor = 1;
     if (deltaTime >= userConfig.maxChargeTime) {
       factor = userConfig.chargeFactor;
@@ -313,7 +313,7 @@ public class Lightning extends AbilityInstance {
 
   @Override
   public void onDestroy() {
-    if (!launched && userConfig.overchargeTime > 0 && System.currentTimeMillis() > startTime + userConfig.overchargeTime) {
+    if (!launched && userConfig.overchargeTime > 0 && user.game().clock().millis() > startTime + userConfig.overchargeTime) {
       SoundEffect.LIGHTNING.play(user.world(), user.location());
       user.addCooldown(description(), userConfig.cooldown);
       user.damage(userConfig.overchargeDamage, user, description());
@@ -70,7 +70,7 @@ public class HealingWaters extends AbilityInstance {
       .add(Policies.NOT_SNEAKING)
       .add(SwappedSlotsRemovalPolicy.of(description()))
       .build();
-    nextTime = System.currentTimeMillis();
+    nextTime = user.game().clock().millis();
     return true;
   }
 
@@ -84,7 +84,7 @@ public class HealingWaters extends AbilityInstance {
     if (removalPolicy.test(user, description())) {
       return UpdateResult.REMOVE;
     }
-    long time = System.currentTimeMillis();
+    long time = user.game().clock().millis();
     if (time >= nextTime) {
       nextTime = time + 250;
       if (!tryHeal()) {
@@ -192,7 +192,7 @@ public class IceSpike extends AbilityInstance {
         reverting = true;
       }
 
-      long time = System.currentTimeMillis();
+      long time = user.game().clock().millis();
       if (time < nextUpdateTime) {
         return UpdateResult.CONTINUE;
       }
@@ -165,7 +165,7 @@ public class IceWall extends AbilityInstance {
       if (currentLength >= length) {
         return UpdateResult.REMOVE;
       }
-      long time = System.currentTimeMillis();
+      long time = user.game().clock().millis();
       if (time < nextUpdateTime) {
         return UpdateResult.CONTINUE;
       }
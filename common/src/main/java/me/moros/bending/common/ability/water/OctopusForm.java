@@ -117,7 +117,7 @@ public class OctopusForm extends AbilityInstance {
       }
       renderBase();
       int size = tentacles.size();
-      if (size < 8 && System.currentTimeMillis() >= nextTentacleFormTime) {
+      if (size < 8 && user.game().clock().millis() >= nextTentacleFormTime) {
         tentacles.add(new Tentacle(size));
       }
       renderTentacles(forceUpdate);
@@ -138,7 +138,7 @@ public class OctopusForm extends AbilityInstance {
     }
     ring.complete().forEach(this::clean);
     formed = true;
-    nextTentacleFormTime = System.currentTimeMillis() + 150;
+    nextTentacleFormTime = user.game().clock().millis() + 150;
     removalPolicy = Policies.builder()
       .add(Policies.NOT_SNEAKING)
       .add(SwappedSlotsRemovalPolicy.of(description()))
@@ -157,7 +157,7 @@ public class OctopusForm extends AbilityInstance {
 
   private void renderTentacles(boolean forceUpdate) {
     Vector3d center = user.location().center();
-    long time = System.currentTimeMillis();
+    long time = user.game().clock().millis();
     for (Tentacle tentacle : tentacles) {
       if (forceUpdate || time > tentacle.nextUpdateTime) {
         tentacle.updateBlocks(center);
@@ -231,13 +231,13 @@ public class OctopusForm extends AbilityInstance {
       double phi = index * Math.PI / 4;
       cos = Math.cos(phi);
       sin = Math.sin(phi);
-      topFormTime = System.currentTimeMillis() + 150;
+      topFormTime = user.game().clock().millis() + 150;
       updateBlocks(user.location().center());
     }
 
     private void updateBlocks(Vector3d center) {
       blocks.clear();
-      long time = System.currentTimeMillis();
+      long time = user.game().clock().millis();
       nextUpdateTime = time + ThreadLocalRandom.current().nextLong(250, 550);
       double bottomOffset = ThreadLocalRandom.current().nextDouble(1);
       double xBottom = cos * (RADIUS + bottomOffset);
@@ -111,8 +111,7 @@ public class PhaseChange extends AbilityInstance {
   }
 
   private Collection<Block> getShuffledBlocks(Vector3d center, double radius, Predicate<Block> predicate) {
-    List<Block> newBlocks = user.world().nearbyBlocks(center, radius, predicate);
-    newBlocks.removeIf(b -> !user.canBuild(b));
+    List<Block> newBlocks = user.canBuild(user.world().nearbyBlocks(center, radius, predicate));
     Collections.shuffle(newBlocks);
     return newBlocks;
   }
@@ -82,7 +82,7 @@ public class WaterBubble extends AbilityInstance {
       return UpdateResult.REMOVE;
     }
 
-    long time = System.currentTimeMillis();
+    long time = user.game().clock().millis();
     if (time < nextUpdateTime) {
       return UpdateResult.CONTINUE;
     }
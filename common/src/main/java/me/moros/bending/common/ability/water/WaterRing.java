@@ -206,7 +206,7 @@ public class WaterRing extends AbilityInstance {
     }
 
     if (user.sneaking() && !user.hasAbilitySelected("octopusform")) {
-      long time = System.currentTimeMillis();
+      long time = user.game().clock().millis();
       if (sneakStartTime == 0) {
         sneakStartTime = time;
         ringNextShrinkTime = time + 250;
@@ -318,7 +318,7 @@ public class WaterRing extends AbilityInstance {
     if (ring.isEmpty()) {
       return;
     }
-    long time = System.currentTimeMillis();
+    long time = user.game().clock().millis();
     if (time >= nextShardTime) {
       nextShardTime = time + userConfig.shardCooldown;
       Vector3d origin = getClosestRingBlock().toVector3d();
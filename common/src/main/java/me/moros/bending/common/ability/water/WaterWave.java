@@ -75,7 +75,7 @@ public class WaterWave extends AbilityInstance {
     loadConfig();
 
     removalPolicy = Policies.builder().add(ExpireRemovalPolicy.of(userConfig.duration)).build();
-    startTime = System.currentTimeMillis();
+    startTime = user.game().clock().millis();
     return true;
   }
 
@@ -95,7 +95,7 @@ public class WaterWave extends AbilityInstance {
     }
 
     // scale down to 0 speed near the end
-    double factor = 1 - ((System.currentTimeMillis() - startTime) / (double) userConfig.duration);
+    double factor = 1 - ((user.game().clock().millis() - startTime) / (double) userConfig.duration);
     user.applyVelocity(this, user.direction().multiply(userConfig.speed * factor));
     user.setProperty(EntityProperties.FALL_DISTANCE, 0F);
 
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2020-2024 Moros
+ *
+ * This file is part of Bending.
+ *
+ * Bending is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Bending is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bending. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.common.backup;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import me.moros.bending.api.user.profile.BenderProfile;
+import me.moros.bending.common.storage.file.loader.JsonLoader;
+
+/**
+ * Streaming backup format made of independently compressed chunks of profiles.
+ * <p>Each chunk is a gzip compressed json document in the legacy backup layout, so chunks can be
+ * compressed and decompressed in parallel. Every chunk is followed by its checksum, and an index of all
+ * chunks is appended at the end of the file so imports can be resumed.
+ * <pre>
+ * header: magic (8 bytes)
+ * chunk:  profile count (int), length (int), crc32 (long), data
+ * index:  chunk count (int), then offset (long) and profile count (int) per chunk
+ * footer: index offset (long), magic (8 bytes)
+ * </pre>
+ */
+final class ChunkedBackup {
+  static final String SUFFIX = ".bending";
+  static final int CHUNK_SIZE = 1000;
+
+  private static final byte[] MAGIC = "BNDBAK01".getBytes(StandardCharsets.US_ASCII);
+  private static final int FOOTER_SIZE = Long.BYTES + MAGIC.length;
+
+  private ChunkedBackup() {
+  }
+
+  static boolean isChunked(Path path) throws IOException {
+    try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      if (channel.size() < MAGIC.length + FOOTER_SIZE) {
+        return false;
+      }
+      return Arrays.equals(MAGIC, read(channel, 0, MAGIC.length).array());
+    }
+  }
+
+  static Chunk encode(BenderProfile[] profiles) {
+    var bytes = new ByteArrayOutputStream();
+    try (var gos = new GZIPOutputStream(bytes);
+         var osw = new OutputStreamWriter(gos, StandardCharsets.UTF_8);
+         var writer = new BufferedWriter(osw)
+    ) {
+      var loader = new JsonLoader().withSerializers().lenient(false).indent(0).sink(() -> writer).build();
+      loader.save(loader.createNode(n -> n.set(AbstractOperation.PROFILES_TOKEN, Map.of("users", profiles))));
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+    byte[] data = bytes.toByteArray();
+    return new Chunk(profiles.length, checksum(data), data);
+  }
+
+  static BenderProfile[] decode(Chunk chunk) throws IOException {
+    if (checksum(chunk.data()) != chunk.checksum()) {
+      throw new IOException("Checksum mismatch, backup file is corrupted.");
+    }
+    try (var gis = new GZIPInputStream(new ByteArrayInputStream(chunk.data()));
+         var isr = new InputStreamReader(gis, StandardCharsets.UTF_8);
+         var reader = new BufferedReader(isr)
+    ) {
+      var loader = new JsonLoader().withSerializers().lenient(false).indent(0).source(() -> reader).build();
+      return loader.load().get(AbstractOperation.PROFILES_TOKEN, Map.of()).getOrDefault("users", new BenderProfile[0]);
+    }
+  }
+
+  private static long checksum(byte[] data) {
+    CRC32 crc = new CRC32();
+    crc.update(data);
+    return crc.getValue();
+  }
+
+  private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(length);
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer, position + buffer.position()) < 0) {
+        throw new IOException("Unexpected end of backup file.");
+      }
+    }
+    return buffer.flip();
+  }
+
+  record Chunk(int count, long checksum, byte[] data) {
+  }
+
+  record IndexEntry(long offset, int count) {
+  }
+
+  static final class Writer implements Closeable {
+    private final DataOutputStream out;
+    private final List<IndexEntry> index;
+    private long offset;
+
+    Writer(Path path) throws IOException {
+      this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path, StandardOpenOption.CREATE_NEW)));
+      this.index = new ArrayList<>();
+      out.write(MAGIC);
+      offset = MAGIC.length;
+    }
+
+    void write(Chunk chunk) throws IOException {
+      index.add(new IndexEntry(offset, chunk.count()));
+      out.writeInt(chunk.count());
+      out.writeInt(chunk.data().length);
+      out.writeLong(chunk.checksum());
+      out.write(chunk.data());
+      offset += Integer.BYTES + Integer.BYTES + Long.BYTES + chunk.data().length;
+    }
+
+    @Override
+    public void close() throws IOException {
+      try (out) {
+        out.writeInt(index.size());
+        for (IndexEntry entry : index) {
+          out.writeLong(entry.offset());
+          out.writeInt(entry.count());
+        }
+        out.writeLong(offset);
+        out.write(MAGIC);
+      }
+    }
+  }
+
+  static final class Reader implements Closeable {
+    private final FileChannel channel;
+    private final List<IndexEntry> index;
+
+    Reader(Path path) throws IOException {
+      this.channel = FileChannel.open(path, StandardOpenOption.READ);
+      try {
+        long size = channel.size();
+        ByteBuffer footer = read(channel, size - FOOTER_SIZE, FOOTER_SIZE);
+        long indexOffset = footer.getLong();
+        byte[] magic = new byte[MAGIC.length];
+        footer.get(magic);
+        if (!Arrays.equals(MAGIC, magic) || indexOffset < MAGIC.length || indexOffset > size - FOOTER_SIZE) {
+          throw new IOException("Invalid backup index, file may be incomplete.");
+        }
+        ByteBuffer indexBuffer = read(channel, indexOffset, (int) (size - FOOTER_SIZE - indexOffset));
+        int chunks = indexBuffer.getInt();
+        List<IndexEntry> entries = new ArrayList<>(chunks);
+        for (int i = 0; i < chunks; i++) {
+          entries.add(new IndexEntry(indexBuffer.getLong(), indexBuffer.getInt()));
+        }
+        this.index = List.copyOf(entries);
+      } catch (IOException | RuntimeException e) {
+        channel.close();
+        throw e;
+      }
+    }
+
+    List<IndexEntry> index() {
+      return index;
+    }
+
+    Chunk read(IndexEntry entry) throws IOException {
+      ByteBuffer header = ChunkedBackup.read(channel, entry.offset(), Integer.BYTES + Integer.BYTES + Long.BYTES);
+      int count = header.getInt();
+      int length = header.getInt();
+      long checksum = header.getLong();
+      if (count != entry.count() || length < 0) {
+        throw new IOException("Chunk header does not match index, backup file is corrupted.");
+      }
+      byte[] data = ChunkedBackup.read(channel, entry.offset() + header.capacity(), length).array();
+      return new Chunk(count, checksum, data);
+    }
+
+    @Override
+    public void close() throws IOException {
+      channel.close();
+    }
+  }
+}
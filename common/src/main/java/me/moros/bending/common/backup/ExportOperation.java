@@ -19,30 +19,31 @@
 
 package me.moros.bending.common.backup;
 
-import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.OutputStreamWriter;
 import java.io.UncheckedIOException;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.LongAdder;
-import java.util.zip.GZIPOutputStream;
 
 import me.moros.bending.api.storage.BendingStorage;
 import me.moros.bending.api.user.profile.BenderProfile;
 import me.moros.bending.api.util.ColorPalette;
+import me.moros.bending.api.util.Tasker;
 import me.moros.bending.common.Bending;
+import me.moros.bending.common.backup.ChunkedBackup.Chunk;
 import me.moros.bending.common.locale.Message;
-import me.moros.bending.common.storage.file.loader.JsonLoader;
 import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.text.Component;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -50,6 +51,8 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 final class ExportOperation extends AbstractOperation {
   private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd-HH-mm")
     .withZone(ZoneId.systemDefault());
+  // Max number of chunks being loaded and compressed at the same time
+  private static final int WINDOW = Math.max(2, Runtime.getRuntime().availableProcessors());
 
   private final Audience audience;
   private final Path path;
@@ -61,7 +64,7 @@ final class ExportOperation extends AbstractOperation {
   }
 
   private String fileName(String name) {
-    return (name.isEmpty() ? "bending-" + DATE_FORMAT.format(Instant.now()) : name) + SUFFIX;
+    return (name.isEmpty() ? "bending-" + DATE_FORMAT.format(Instant.now()) : name) + ChunkedBackup.SUFFIX;
   }
 
   @Override
@@ -71,13 +74,20 @@ final class ExportOperation extends AbstractOperation {
       return false;
     }
     logToAudience(Component.text("Discovering users to export...", ColorPalette.NEUTRAL));
-    BenderProfile[] profiles = loadUsers();
-    if (profiles.length == 0) {
+    // Sort to ensure reproducible order and checksum
+    final List<UUID> uuids = storage.loadUuids().stream().sorted().toList();
+    final int size = uuids.size();
+    if (size == 0) {
       return false;
     }
-    // Sort to ensure reproducible order and checksum
-    Arrays.parallelSort(profiles, Comparator.comparing(BenderProfile::uuid));
-    saveToFile(profiles);
+    logToAudience(Component.text("Found %d users to export.".formatted(size), ColorPalette.NEUTRAL));
+    LongAdder progress = new LongAdder();
+    var checker = createProgressCheckingTask(progress, size);
+    try {
+      saveToFile(uuids, progress);
+    } finally {
+      checker.cancel();
+    }
     return true;
   }
 
@@ -98,31 +108,30 @@ final class ExportOperation extends AbstractOperation {
     }
   }
 
-  private void saveToFile(BenderProfile[] data) {
-    try (var fos = Files.newOutputStream(path);
-         var gos = new GZIPOutputStream(fos);
-         var osw = new OutputStreamWriter(gos, StandardCharsets.UTF_8);
-         var writer = new BufferedWriter(osw)
-    ) {
-      var loader = new JsonLoader().withSerializers().lenient(false).indent(0).sink(() -> writer).build();
-      loader.save(loader.createNode(n -> n.set(PROFILES_TOKEN, Map.of("users", data))));
+  private void saveToFile(List<UUID> uuids, LongAdder progress) {
+    Deque<CompletableFuture<Chunk>> pending = new ArrayDeque<>(WINDOW);
+    try (var writer = new ChunkedBackup.Writer(path)) {
+      for (int i = 0; i < uuids.size(); i += ChunkedBackup.CHUNK_SIZE) {
+        var chunk = Set.copyOf(uuids.subList(i, Math.min(i + ChunkedBackup.CHUNK_SIZE, uuids.size())));
+        pending.add(storage.loadProfilesAsync(chunk, progress).thenApplyAsync(this::encode, Tasker.async()));
+        if (pending.size() >= WINDOW) {
+          writer.write(pending.remove().join());
+        }
+      }
+      while (!pending.isEmpty()) {
+        writer.write(pending.remove().join());
+      }
     } catch (IOException e) {
       throw new UncheckedIOException(e);
+    } finally {
+      pending.forEach(f -> f.cancel(false));
     }
   }
 
-  private BenderProfile[] loadUsers() {
-    final Set<UUID> uuids = storage.loadUuids();
-    final int size = uuids.size();
-    logToAudience(Component.text("Found %d users to export.".formatted(size), ColorPalette.NEUTRAL));
-
-    LongAdder progress = new LongAdder();
-    var checker = createProgressCheckingTask(progress, size);
-    return storage.loadProfilesAsync(uuids, progress)
-      .handle((result, t) -> {
-        checker.cancel();
-        return result == null ? new BenderProfile[0] : result.values().toArray(BenderProfile[]::new);
-      }).join();
+  private Chunk encode(Map<UUID, BenderProfile> profiles) {
+    BenderProfile[] data = profiles.values().toArray(BenderProfile[]::new);
+    Arrays.sort(data, Comparator.comparing(BenderProfile::uuid));
+    return ChunkedBackup.encode(data);
   }
 
   @Override
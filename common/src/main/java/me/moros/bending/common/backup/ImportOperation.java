@@ -26,8 +26,12 @@ import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayDeque;
 import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -37,7 +41,10 @@ import me.moros.bending.api.registry.Registries;
 import me.moros.bending.api.storage.BendingStorage;
 import me.moros.bending.api.user.profile.BenderProfile;
 import me.moros.bending.api.util.ColorPalette;
+import me.moros.bending.api.util.Tasker;
 import me.moros.bending.common.Bending;
+import me.moros.bending.common.backup.ChunkedBackup.Chunk;
+import me.moros.bending.common.backup.ChunkedBackup.IndexEntry;
 import me.moros.bending.common.locale.Message;
 import me.moros.bending.common.storage.file.loader.JsonLoader;
 import net.kyori.adventure.audience.Audience;
@@ -45,13 +52,26 @@ import net.kyori.adventure.text.Component;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 final class ImportOperation extends AbstractOperation {
+  // Max number of chunks being decompressed ahead of the chunk currently being saved
+  private static final int WINDOW = Math.max(2, Runtime.getRuntime().availableProcessors());
+
   private final Audience audience;
   private final Path path;
+  private final Path progressPath;
 
   ImportOperation(Bending plugin, BendingStorage storage, Audience audience, String name) {
     super(plugin, storage);
     this.audience = audience;
-    this.path = plugin.path().resolve(name.endsWith(SUFFIX) ? name : (name + SUFFIX));
+    this.path = resolve(plugin.path(), name);
+    this.progressPath = path.resolveSibling(path.getFileName() + ".progress");
+  }
+
+  private static Path resolve(Path parent, String name) {
+    if (name.endsWith(SUFFIX) || name.endsWith(ChunkedBackup.SUFFIX)) {
+      return parent.resolve(name);
+    }
+    Path chunked = parent.resolve(name + ChunkedBackup.SUFFIX);
+    return Files.exists(chunked) ? chunked : parent.resolve(name + SUFFIX);
   }
 
   @Override
@@ -61,6 +81,9 @@ final class ImportOperation extends AbstractOperation {
       return false;
     }
     logToAudience(Component.text("Reading data to import...", ColorPalette.NEUTRAL));
+    if (isChunked()) {
+      return importChunks();
+    }
     BenderProfile[] profiles = loadFromFile(path);
     if (profiles.length == 0) {
       return false;
@@ -82,6 +105,87 @@ final class ImportOperation extends AbstractOperation {
     }
   }
 
+  private boolean isChunked() {
+    try {
+      return ChunkedBackup.isChunked(path);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private boolean importChunks() {
+    try (var reader = new ChunkedBackup.Reader(path)) {
+      List<IndexEntry> index = reader.index();
+      int completed = readCompletedChunks(index.size());
+      int total = index.stream().mapToInt(IndexEntry::count).sum();
+      if (total == 0) {
+        return false;
+      }
+      LongAdder progress = new LongAdder();
+      index.subList(0, completed).forEach(e -> progress.add(e.count()));
+      if (completed > 0) {
+        logToAudience(Component.text("Resuming import from chunk %d of %d.".formatted(completed + 1, index.size()), ColorPalette.NEUTRAL));
+      }
+      logToAudience(Component.text("Found %d users to import.".formatted(total), ColorPalette.NEUTRAL));
+      var checker = createProgressCheckingTask(progress, total);
+      Deque<CompletableFuture<BenderProfile[]>> pending = new ArrayDeque<>(WINDOW);
+      try {
+        int next = completed;
+        while (completed < index.size()) {
+          // Read sequentially but decompress and parse ahead in parallel, saving chunks in order
+          while (next < index.size() && pending.size() < WINDOW) {
+            Chunk chunk = reader.read(index.get(next++));
+            pending.add(CompletableFuture.supplyAsync(() -> decode(chunk), Tasker.async()));
+          }
+          BenderProfile[] profiles = pending.remove().join();
+          if (!saveChunk(profiles, progress)) {
+            return false;
+          }
+          writeCompletedChunks(++completed);
+        }
+      } finally {
+        checker.cancel();
+        pending.forEach(f -> f.cancel(false));
+      }
+      Files.deleteIfExists(progressPath);
+      return true;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private BenderProfile[] decode(Chunk chunk) {
+    try {
+      return ChunkedBackup.decode(chunk);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private boolean saveChunk(BenderProfile[] profiles, LongAdder progress) {
+    boolean result = storage.saveProfilesAsync(Arrays.asList(profiles), progress).join();
+    if (result) {
+      updateOnline(profiles);
+    }
+    return result;
+  }
+
+  private int readCompletedChunks(int max) throws IOException {
+    if (!Files.isRegularFile(progressPath)) {
+      return 0;
+    }
+    try {
+      int value = Integer.parseInt(Files.readString(progressPath, StandardCharsets.UTF_8).strip());
+      return Math.clamp(value, 0, max);
+    } catch (NumberFormatException e) {
+      return 0;
+    }
+  }
+
+  private void writeCompletedChunks(int completed) throws IOException {
+    Files.writeString(progressPath, String.valueOf(completed), StandardCharsets.UTF_8);
+  }
+
   private BenderProfile[] loadFromFile(Path path) {
     try (var fis = Files.newInputStream(path);
          var gis = new GZIPInputStream(fis);
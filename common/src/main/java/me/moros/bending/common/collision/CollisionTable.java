@@ -0,0 +1,71 @@
+/*
+ * Copyright 2020-2024 Moros
+ *
+ * This file is part of Bending.
+ *
+ * Bending is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Bending is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bending. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.common.collision;
+
+import me.moros.bending.api.ability.AbilityDescription;
+import me.moros.bending.api.collision.CollisionPair;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Dense lookup table for registered collisions indexed by ability ids.
+ */
+public final class CollisionTable {
+  private final int size;
+  private final @Nullable CollisionPair[] pairs;
+
+  private CollisionTable(int size) {
+    this.size = size;
+    this.pairs = new CollisionPair[size * size];
+  }
+
+  /**
+   * Find the collision between two abilities.
+   * @param first the first ability
+   * @param second the second ability
+   * @return the matching collision pair or null if the abilities don't collide
+   */
+  public @Nullable CollisionPair get(AbilityDescription first, AbilityDescription second) {
+    int i = first.id();
+    int j = second.id();
+    if (i < 0 || j < 0 || i >= size || j >= size) {
+      return null;
+    }
+    return pairs[i * size + j];
+  }
+
+  /**
+   * Create a table for the given collisions.
+   * @param collisions the collisions to index
+   * @param size the upper bound (exclusive) for ability ids
+   * @return the new table
+   */
+  public static CollisionTable create(Iterable<CollisionPair> collisions, int size) {
+    CollisionTable table = new CollisionTable(size);
+    for (CollisionPair pair : collisions) {
+      int i = pair.first().id();
+      int j = pair.second().id();
+      if (i >= 0 && j >= 0 && i < size && j < size) {
+        table.pairs[i * size + j] = pair;
+        table.pairs[j * size + i] = pair;
+      }
+    }
+    return table;
+  }
+}
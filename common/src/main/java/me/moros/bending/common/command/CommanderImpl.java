@@ -37,6 +37,7 @@ import me.moros.bending.common.command.commands.ModifierCommand;
 import me.moros.bending.common.command.commands.PresetCommand;
 import me.moros.bending.common.command.commands.ReloadCommand;
 import me.moros.bending.common.command.commands.ToggleCommand;
+import me.moros.bending.common.command.commands.TraceCommand;
 import me.moros.bending.common.command.commands.VersionCommand;
 import me.moros.bending.common.command.parser.ComponentException;
 import me.moros.bending.common.locale.Message;
@@ -59,7 +60,7 @@ record CommanderImpl<C extends Audience>(CommandManager<C> manager, Class<? exte
       HelpCommand::new, VersionCommand::new, ReloadCommand::new, BackupCommand::new,
       BoardCommand::new, ToggleCommand::new,
       BindCommand::new, ElementCommand::new,
-      ModifierCommand::new, AttributeCommand::new, PresetCommand::new
+      ModifierCommand::new, AttributeCommand::new, PresetCommand::new, TraceCommand::new
     );
     cmds.forEach(cmd -> cmd.apply(this).init());
   }
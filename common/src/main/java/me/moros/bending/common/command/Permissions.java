@@ -37,6 +37,7 @@ public final class Permissions {
   public static final String IMPORT = create("import");
   public static final String EXPORT = create("export");
   public static final String ATTRIBUTE = create("attribute");
+  public static final String TRACE = create("trace");
 
   private static String create(String node) {
     return "bending.command." + node;
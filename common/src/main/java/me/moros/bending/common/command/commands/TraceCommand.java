@@ -0,0 +1,91 @@
+/*
+ * Copyright 2020-2024 Moros
+ *
+ * This file is part of Bending.
+ *
+ * Bending is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Bending is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bending. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.common.command.commands;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.CompletableFuture;
+
+import me.moros.bending.api.user.User;
+import me.moros.bending.common.command.Commander;
+import me.moros.bending.common.command.ContextKeys;
+import me.moros.bending.common.command.Permissions;
+import me.moros.bending.common.locale.Message;
+import me.moros.bending.common.trace.TraceRecorder;
+import me.moros.bending.common.util.Initializer;
+import net.kyori.adventure.audience.Audience;
+import org.incendo.cloud.component.DefaultValue;
+import org.incendo.cloud.minecraft.extras.RichDescription;
+import org.incendo.cloud.parser.standard.IntegerParser;
+
+public record TraceCommand<C extends Audience>(Commander<C> commander) implements Initializer {
+  private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd-HH-mm-ss")
+    .withZone(ZoneId.systemDefault());
+
+  @Override
+  public void init() {
+    var builder = commander().rootBuilder().literal("trace");
+    commander().register(builder
+      .literal("start")
+      .optional("radius", IntegerParser.integerParser(1, TraceRecorder.MAX_RADIUS), DefaultValue.constant(16))
+      .optional("seconds", IntegerParser.integerParser(1, 600), DefaultValue.constant(60))
+      .commandDescription(RichDescription.of(Message.TRACE_START_DESC.build()))
+      .permission(Permissions.TRACE)
+      .senderType(commander().playerType())
+      .handler(c -> onStart(c.get(ContextKeys.BENDING_PLAYER), c.get("radius"), c.get("seconds")))
+    );
+    commander().register(builder
+      .literal("stop")
+      .commandDescription(RichDescription.of(Message.TRACE_STOP_DESC.build()))
+      .permission(Permissions.TRACE)
+      .handler(c -> onStop(c.sender()))
+    );
+  }
+
+  private void onStart(User user, int radius, int seconds) {
+    Path file = commander().plugin().path().resolve("traces").resolve("trace-" + DATE_FORMAT.format(Instant.now()) + ".bin.gz");
+    TraceRecorder recorder = TraceRecorder.start(file, user.world(), user.location(), radius, seconds * 20);
+    if (recorder == null) {
+      Message.TRACE_RUNNING.send(user);
+      return;
+    }
+    Message.TRACE_STARTED.send(user, radius, seconds);
+    notifyOnCompletion(user, recorder.completion());
+  }
+
+  private void onStop(C sender) {
+    if (TraceRecorder.stop() == null) {
+      Message.TRACE_NOT_RUNNING.send(sender);
+    }
+  }
+
+  private void notifyOnCompletion(Audience audience, CompletableFuture<Path> future) {
+    future.whenComplete((path, t) -> {
+      if (t != null) {
+        commander().plugin().logger().warn(t.getMessage(), t);
+        Message.TRACE_FAIL.send(audience);
+      } else {
+        Message.TRACE_SAVED.send(audience, path.toString());
+      }
+    });
+  }
+}
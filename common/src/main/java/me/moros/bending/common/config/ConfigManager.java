@@ -30,6 +30,7 @@ import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
 
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import me.moros.bending.api.config.ConfigProcessor;
 import me.moros.bending.api.config.Configurable;
 import me.moros.bending.common.logging.Logger;
@@ -52,6 +53,7 @@ public final class ConfigManager {
   private final ConfigProcessorImpl processor;
   private final Debounced<?> buffer;
   private final Disposable rootSubscriber;
+  private final Disposable processorSubscriber;
 
   public ConfigManager(Logger logger, Path directory, WatchServiceListener listener) throws IOException {
     this.logger = logger;
@@ -64,6 +66,7 @@ public final class ConfigManager {
 
     buffer = Debounced.create(this::updateSubscribers, 1, TimeUnit.SECONDS);
     rootSubscriber = reference.updates().subscribe(e -> buffer.request());
+    processorSubscriber = reference.updates().subscribe(e -> processor.invalidate());
 
     if (INSTANCE == null) {
       INSTANCE = this;
@@ -96,6 +99,7 @@ public final class ConfigManager {
 
   public void close() {
     rootSubscriber.dispose();
+    processorSubscriber.dispose();
     subscribers.clear();
     reference.close();
   }
@@ -123,4 +127,8 @@ public final class ConfigManager {
   public static void cache(Class<? extends Configurable> configType) {
     INSTANCE.processor.cache(configType);
   }
+
+  public static CacheStats calculationStats() {
+    return INSTANCE.processor.stats();
+  }
 }
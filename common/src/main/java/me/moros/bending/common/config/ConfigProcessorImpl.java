@@ -25,6 +25,7 @@ import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import me.moros.bending.api.ability.AbilityDescription;
 import me.moros.bending.api.config.ConfigProcessor;
 import me.moros.bending.api.config.Configurable;
@@ -33,9 +34,11 @@ import me.moros.bending.api.config.attribute.AttributeModifier;
 import me.moros.bending.api.config.attribute.AttributeValue;
 import me.moros.bending.api.config.attribute.Modifier;
 import me.moros.bending.api.user.AttributeUser;
-import me.moros.bending.common.config.processor.CachedConfig;
+import me.moros.bending.api.user.User;
 import me.moros.bending.common.config.processor.CachedConfig.ConfigException;
+import me.moros.bending.common.config.processor.CachedConfig;
 import me.moros.bending.common.logging.Logger;
+import me.moros.bending.common.util.jfr.ConfigCalculationEvent;
 import org.spongepowered.configurate.ConfigurationNode;
 import org.spongepowered.configurate.reference.ConfigurationReference;
 import org.spongepowered.configurate.serialize.SerializationException;
@@ -43,6 +46,8 @@ import org.spongepowered.configurate.serialize.SerializationException;
 @SuppressWarnings("unchecked")
 record ConfigProcessorImpl(Logger logger, ConfigurationReference<? extends ConfigurationNode> root,
                            Map<Class<? extends Configurable>, CachedConfig<?>> cache) implements ConfigProcessor {
+  private static final ConfigCalculationEvent CALCULATION_EVENT = new ConfigCalculationEvent();
+
   ConfigProcessorImpl(Logger logger, ConfigurationReference<? extends ConfigurationNode> root) {
     this(logger, root, new ConcurrentHashMap<>());
   }
@@ -51,6 +56,14 @@ record ConfigProcessorImpl(Logger logger, ConfigurationReference<? extends Confi
     getCachedConfig(configType);
   }
 
+  void invalidate() {
+    cache.values().forEach(CachedConfig::invalidate);
+  }
+
+  CacheStats stats() {
+    return cache.values().stream().map(CachedConfig::stats).reduce(CacheStats.empty(), CacheStats::plus);
+  }
+
   <T extends Configurable> T get(T def) {
     ConfigurationNode node = root.node().node(def.path());
     try {
@@ -62,8 +75,22 @@ record ConfigProcessorImpl(Logger logger, ConfigurationReference<? extends Confi
 
   @Override
   public <T extends Configurable> T calculate(AttributeUser user, AbilityDescription desc, Class<T> configType) {
-    return getCachedConfig(configType)
-      .withAttributes(collectActiveModifiers(user, desc), t -> logger.warn(t.getMessage(), t));
+    if (!CALCULATION_EVENT.isEnabled()) {
+      return getCachedConfig(configType).withAttributes(collectActiveModifiers(user, desc), t -> logger.warn(t.getMessage(), t));
+    }
+    ConfigCalculationEvent event = new ConfigCalculationEvent();
+    event.begin();
+    Map<Attribute, Modifier> modifiers = collectActiveModifiers(user, desc);
+    T result = getCachedConfig(configType).withAttributes(modifiers, t -> logger.warn(t.getMessage(), t));
+    event.end();
+    if (event.shouldCommit()) {
+      event.ability = desc.key().asString();
+      event.user = user instanceof User u ? u.uuid().toString() : "";
+      event.config = configType.getName();
+      event.modifiers = modifiers.size();
+      event.commit();
+    }
+    return result;
   }
 
   @Override
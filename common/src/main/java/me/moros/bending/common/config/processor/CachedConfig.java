@@ -19,7 +19,6 @@
 
 package me.moros.bending.common.config.processor;
 
-import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.EnumMap;
@@ -28,10 +27,13 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.function.Consumer;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.github.benmanes.caffeine.cache.stats.ConcurrentStatsCounter;
 import me.moros.bending.api.config.Configurable;
 import me.moros.bending.api.config.attribute.Attribute;
 import me.moros.bending.api.config.attribute.AttributeValue;
-import me.moros.bending.api.config.attribute.Modifiable;
 import me.moros.bending.api.config.attribute.Modifier;
 import me.moros.bending.common.util.ReflectionUtil;
 import org.spongepowered.configurate.ConfigurationNode;
@@ -47,6 +49,8 @@ public final class CachedConfig<T extends Configurable> {
 
   private final Collection<Entry<Attribute, ConfigEntry>> entries;
   private final Map<Attribute, Collection<ConfigEntry>> map;
+  private final ConcurrentStatsCounter stats;
+  private volatile Cache<Map<Attribute, Modifier>, T> computed;
 
   private CachedConfig(Class<T> configType, T fallback, ValueReference<T, ? extends ConfigurationNode> configRef,
                        Collection<Entry<Attribute, ConfigEntry>> entries) {
@@ -59,12 +63,37 @@ public final class CachedConfig<T extends Configurable> {
     for (var entry : this.entries) {
       this.map.computeIfAbsent(entry.getKey(), a -> new ArrayList<>()).add(entry.getValue());
     }
+    this.stats = new ConcurrentStatsCounter();
+    this.computed = createCache();
+  }
+
+  private Cache<Map<Attribute, Modifier>, T> createCache() {
+    return Caffeine.newBuilder().maximumSize(32).recordStats(() -> stats).build();
   }
 
   public T withAttributes(Map<Attribute, Modifier> activeModifiers, Consumer<Throwable> consumer) {
-    if (activeModifiers.isEmpty()) {
+    Map<Attribute, Modifier> fingerprint = fingerprint(activeModifiers);
+    if (fingerprint.isEmpty()) {
       return configRef.get();
     }
+    return computed.get(fingerprint, k -> compute(k, consumer));
+  }
+
+  // Only modifiers for attributes this config can use affect the result, so they alone make up the key
+  private Map<Attribute, Modifier> fingerprint(Map<Attribute, Modifier> activeModifiers) {
+    if (activeModifiers.isEmpty()) {
+      return Map.of();
+    }
+    Map<Attribute, Modifier> result = new EnumMap<>(Attribute.class);
+    for (var entry : activeModifiers.entrySet()) {
+      if (map.containsKey(entry.getKey())) {
+        result.put(entry.getKey(), entry.getValue());
+      }
+    }
+    return result.isEmpty() ? Map.of() : result;
+  }
+
+  private T compute(Map<Attribute, Modifier> activeModifiers, Consumer<Throwable> consumer) {
     ConfigurationNode parentCopy = configRef.node().copy();
     for (var entry : activeModifiers.entrySet()) {
       Attribute attribute = entry.getKey();
@@ -80,6 +109,15 @@ public final class CachedConfig<T extends Configurable> {
     }
   }
 
+  // Swap in an empty cache so values still being computed from the previous config can't end up in the new one
+  public void invalidate() {
+    computed = createCache();
+  }
+
+  public CacheStats stats() {
+    return stats.snapshot();
+  }
+
   public Collection<AttributeValue> readAttributes(Map<Attribute, Modifier> activeModifiers) {
     Collection<AttributeValue> attributes = new ArrayList<>();
     ConfigurationNode parent = configRef.node();
@@ -98,15 +136,7 @@ public final class CachedConfig<T extends Configurable> {
     }
     try {
       var valueRef = ref.referenceTo(configType, NodePath.path(instance.path().toArray()), instance);
-      List<Entry<Attribute, ConfigEntry>> handles = new ArrayList<>();
-      for (Field field : configType.getDeclaredFields()) {
-        Modifiable annotation = field.getAnnotation(Modifiable.class);
-        if (annotation != null) {
-          Attribute attribute = annotation.value();
-          handles.add(Map.entry(attribute, ConfigEntry.fromNode(field.getName(), field.getType())));
-        }
-      }
-      return new CachedConfig<>(configType, instance, valueRef, handles);
+      return new CachedConfig<>(configType, instance, valueRef, ModifiableIndex.entries(configType));
     } catch (Exception e) {
       throw new ConfigException(e);
     }
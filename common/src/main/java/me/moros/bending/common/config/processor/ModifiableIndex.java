@@ -0,0 +1,114 @@
+/*
+ * Copyright 2020-2024 Moros
+ *
+ * This file is part of Bending.
+ *
+ * Bending is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Bending is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bending. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.common.config.processor;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.WeakHashMap;
+
+import me.moros.bending.api.config.attribute.Attribute;
+import me.moros.bending.api.config.attribute.Modifiable;
+
+/**
+ * Provides the {@link Modifiable} attribute tables that are generated at compile time.
+ * Config types must be compiled with the bending annotation processor, types missing from the index are rejected.
+ */
+final class ModifiableIndex {
+  private static final String INDEX = "META-INF/bending/modifiable.idx";
+  private static final Map<String, Class<?>> TYPES = Map.ofEntries(
+    Map.entry("int", int.class),
+    Map.entry("long", long.class),
+    Map.entry("double", double.class),
+    Map.entry("float", float.class),
+    Map.entry("short", short.class),
+    Map.entry("byte", byte.class),
+    Map.entry("java.lang.Integer", Integer.class),
+    Map.entry("java.lang.Long", Long.class),
+    Map.entry("java.lang.Double", Double.class),
+    Map.entry("java.lang.Float", Float.class),
+    Map.entry("java.lang.Short", Short.class),
+    Map.entry("java.lang.Byte", Byte.class),
+    Map.entry("java.lang.Number", Number.class)
+  );
+  private static final Map<ClassLoader, Map<String, List<String[]>>> LOADED = Collections.synchronizedMap(new WeakHashMap<>());
+
+  private ModifiableIndex() {
+  }
+
+  static List<Entry<Attribute, ConfigEntry>> entries(Class<?> configType) {
+    ClassLoader loader = configType.getClassLoader();
+    var indexed = loader == null ? null : LOADED.computeIfAbsent(loader, ModifiableIndex::load).get(configType.getName());
+    if (indexed == null) {
+      throw new IllegalStateException("Missing generated attribute index for %s, it must be compiled with the bending annotation processor."
+        .formatted(configType.getName()));
+    }
+    List<Entry<Attribute, ConfigEntry>> handles = new ArrayList<>(indexed.size());
+    for (String[] line : indexed) {
+      Attribute attribute = Attribute.valueOf(line[3]);
+      handles.add(Map.entry(attribute, ConfigEntry.fromNode(line[1], resolveType(configType, line[2]))));
+    }
+    return handles;
+  }
+
+  private static Class<?> resolveType(Class<?> configType, String name) {
+    Class<?> type = TYPES.get(name);
+    if (type == null) {
+      throw new IllegalStateException("Unsupported modifiable type %s in %s.".formatted(name, configType.getName()));
+    }
+    return type;
+  }
+
+  private static Map<String, List<String[]>> load(ClassLoader loader) {
+    Map<String, List<String[]>> result = new HashMap<>();
+    try {
+      var resources = loader.getResources(INDEX);
+      while (resources.hasMoreElements()) {
+        read(resources.nextElement(), result);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return result;
+  }
+
+  private static void read(URL url, Map<String, List<String[]>> result) throws IOException {
+    try (var reader = new BufferedReader(new InputStreamReader(url.openStream(), StandardCharsets.UTF_8))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        String[] parts = line.trim().split(" ");
+        if (parts.length == 1 && !parts[0].isEmpty()) {
+          result.computeIfAbsent(parts[0], k -> new ArrayList<>());
+        } else if (parts.length == 4) {
+          result.computeIfAbsent(parts[0], k -> new ArrayList<>()).add(parts);
+        }
+      }
+    }
+  }
+}
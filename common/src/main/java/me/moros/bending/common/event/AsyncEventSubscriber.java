@@ -0,0 +1,163 @@
+/*
+ * Copyright 2020-2024 Moros
+ *
+ * This file is part of Bending.
+ *
+ * Bending is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Bending is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bending. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.common.event;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import me.moros.bending.api.event.BendingEvent;
+import me.moros.bending.common.logging.Logger;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Delivers events to a single subscriber on its own worker thread, preserving the order they were posted in.
+ * Queued events are drained and delivered in batches to limit wake-ups for high frequency notifications.
+ * @param <T> the event type
+ */
+final class AsyncEventSubscriber<T extends BendingEvent> {
+  private static final int CAPACITY = 8192;
+  private static final int MAX_BATCH = 256;
+  private static final long SLOW_THRESHOLD = TimeUnit.MILLISECONDS.toNanos(50);
+
+  private final Class<T> type;
+  private final Consumer<? super T> subscriber;
+  private final @Nullable Logger logger;
+  private final BlockingQueue<Queued<T>> queue;
+  private final Thread worker;
+  private final LongAdder delivered;
+  private final LongAdder dropped;
+  private final LongAdder totalLatency;
+  private final AtomicLong maxLatency;
+  private volatile boolean running;
+
+  AsyncEventSubscriber(Class<T> type, Consumer<? super T> subscriber, @Nullable Logger logger) {
+    this.type = type;
+    this.subscriber = subscriber;
+    this.logger = logger;
+    this.queue = new ArrayBlockingQueue<>(CAPACITY);
+    this.delivered = new LongAdder();
+    this.dropped = new LongAdder();
+    this.totalLatency = new LongAdder();
+    this.maxLatency = new AtomicLong();
+    this.running = true;
+    this.worker = Thread.ofVirtual().name("bending-event-" + type.getSimpleName()).start(this::run);
+  }
+
+  Class<T> type() {
+    return type;
+  }
+
+  void enqueue(BendingEvent event) {
+    if (running && !queue.offer(new Queued<>(type.cast(event), System.nanoTime()))) {
+      dropped.increment();
+      if (logger != null && dropped.sum() == 1) {
+        logger.warn("Async subscriber %s for %s can't keep up, dropping events.".formatted(subscriber, type.getSimpleName()));
+      }
+    }
+  }
+
+  private void run() {
+    List<Queued<T>> batch = new ArrayList<>(MAX_BATCH);
+    while (running || !queue.isEmpty()) {
+      try {
+        Queued<T> first = queue.poll(100, TimeUnit.MILLISECONDS);
+        if (first == null) {
+          continue;
+        }
+        batch.add(first);
+        queue.drainTo(batch, MAX_BATCH - 1);
+      } catch (InterruptedException e) {
+        queue.drainTo(batch);
+      }
+      for (Queued<T> queued : batch) {
+        deliver(queued);
+      }
+      batch.clear();
+    }
+  }
+
+  private void deliver(Queued<T> queued) {
+    long start = System.nanoTime();
+    try {
+      subscriber.accept(queued.event());
+    } catch (Throwable t) {
+      if (logger != null) {
+        logger.warn("Exception posting event %s to async subscriber %s".formatted(queued.event(), subscriber), t);
+      }
+    }
+    long end = System.nanoTime();
+    long latency = end - queued.time();
+    delivered.increment();
+    totalLatency.add(latency);
+    maxLatency.accumulateAndGet(latency, Math::max);
+    if (logger != null && end - start > SLOW_THRESHOLD) {
+      logger.debug("Async subscriber %s took %d ms to handle %s.".formatted(subscriber,
+        TimeUnit.NANOSECONDS.toMillis(end - start), type.getSimpleName()));
+    }
+  }
+
+  /**
+   * Stop accepting new events and wait for queued events to be delivered.
+   * @param timeout the maximum time to wait
+   * @param unit the time unit of the timeout argument
+   */
+  void shutdown(long timeout, TimeUnit unit) {
+    running = false;
+    try {
+      if (!worker.join(Duration.ofNanos(unit.toNanos(timeout))) && logger != null) {
+        logger.warn("Timed out while delivering events to async subscriber " + subscriber);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    if (logger != null) {
+      var stats = stats();
+      logger.debug("Async subscriber %s received %d events (average latency %.2fms, max latency %.2fms, dropped %d)."
+        .formatted(subscriber, stats.delivered(), stats.averageLatencyMillis(), stats.maxLatencyMillis(), stats.dropped()));
+    }
+  }
+
+  Stats stats() {
+    long count = delivered.sum();
+    double average = count == 0 ? 0 : totalLatency.sum() / (count * 1e6);
+    return new Stats(count, dropped.sum(), queue.size(), average, maxLatency.get() / 1e6);
+  }
+
+  /**
+   * Delivery statistics for an async subscriber.
+   * @param delivered the amount of events delivered so far
+   * @param dropped the amount of events dropped because the queue was full
+   * @param queued the amount of events waiting to be delivered
+   * @param averageLatencyMillis the average time from posting to handling an event
+   * @param maxLatencyMillis the max time from posting to handling an event
+   */
+  record Stats(long delivered, long dropped, int queued, double averageLatencyMillis, double maxLatencyMillis) {
+  }
+
+  private record Queued<T>(T event, long time) {
+  }
+}
@@ -20,7 +20,16 @@
 package me.moros.bending.common.event;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import com.seiama.event.EventConfig;
 import com.seiama.event.bus.EventBus.EventExceptionHandler;
@@ -47,31 +56,54 @@ import me.moros.bending.api.user.User;
 import me.moros.bending.api.util.BendingEffect;
 import me.moros.bending.api.util.data.DataKey;
 import me.moros.bending.common.logging.Logger;
+import me.moros.bending.common.metrics.GameMetrics;
 import me.moros.math.Vector3d;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 public class EventBusImpl implements EventBus {
   private final EventRegistry<BendingEvent> eventRegistry;
   private final com.seiama.event.bus.EventBus<BendingEvent> eventBus;
+  private final @Nullable Logger logger;
+  private final Set<Class<?>> subscribedTypes;
+  private final Collection<AsyncEventSubscriber<?>> asyncSubscribers;
+  private final Map<Class<?>, LongAdder> postCounts;
+  // Replaced on every subscription change so stale lookups can't be cached
+  private volatile Map<Class<?>, Boolean> listenedTypes;
+  private volatile Map<Class<?>, List<AsyncEventSubscriber<?>>> asyncTargets;
   private boolean closed = false;
 
   public EventBusImpl(Logger logger) {
-    this(new EventExceptionHandlerImpl(logger));
+    this(logger, new EventExceptionHandlerImpl(logger));
   }
 
   protected EventBusImpl() {
-    this(EventExceptionHandlerImpl.DUMMY);
+    this(null, EventExceptionHandlerImpl.DUMMY);
   }
 
-  private EventBusImpl(EventExceptionHandler eventExceptionHandler) {
+  private EventBusImpl(@Nullable Logger logger, EventExceptionHandler eventExceptionHandler) {
+    this.logger = logger;
     this.eventRegistry = new SimpleEventRegistry<>(BendingEvent.class);
     this.eventBus = new SimpleEventBus<>(eventRegistry, eventExceptionHandler);
+    this.subscribedTypes = ConcurrentHashMap.newKeySet();
+    this.asyncSubscribers = new CopyOnWriteArrayList<>();
+    this.listenedTypes = new ConcurrentHashMap<>();
+    this.asyncTargets = new ConcurrentHashMap<>();
+    this.postCounts = new ConcurrentHashMap<>();
   }
 
   @Override
   public void shutdown() {
-    eventRegistry.unsubscribeIf(x -> true);
     this.closed = true;
+    eventRegistry.unsubscribeIf(x -> true);
+    asyncSubscribers.forEach(s -> s.shutdown(5, TimeUnit.SECONDS));
+    asyncSubscribers.clear();
+    subscribedTypes.clear();
+    invalidateCaches();
+  }
+
+  private void invalidateCaches() {
+    listenedTypes = new ConcurrentHashMap<>();
+    asyncTargets = new ConcurrentHashMap<>();
   }
 
   @Override
@@ -79,97 +111,154 @@ public class EventBusImpl implements EventBus {
     if (!closed) {
       var eventConfig = EventConfig.of(priority, false, false);
       eventRegistry.subscribe(event, eventConfig, new EventSubscriberImpl<>(subscriber));
+      subscribedTypes.add(event);
+      invalidateCaches();
+    }
+  }
+
+  @Override
+  public <T extends BendingEvent> void subscribeAsync(Class<T> event, Consumer<? super T> subscriber) {
+    if (!closed) {
+      asyncSubscribers.add(new AsyncEventSubscriber<>(event, subscriber, logger));
+      subscribedTypes.add(event);
+      invalidateCaches();
     }
   }
 
+  @Override
+  public boolean hasSubscribers(Class<? extends BendingEvent> event) {
+    return listenedTypes.computeIfAbsent(event, this::computeSubscribed);
+  }
+
+  private boolean computeSubscribed(Class<?> event) {
+    for (Class<?> type : subscribedTypes) {
+      if (type.isAssignableFrom(event)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   @Override
   public <T extends BendingEvent> boolean post(T event) {
+    ensureOpen();
+    if (GameMetrics.INSTANCE.enabled()) {
+      postCounts.computeIfAbsent(event.getClass(), k -> new LongAdder()).increment();
+    }
+    eventBus.post(event);
+    boolean result = !(event instanceof Cancellable c) || !c.cancelled();
+    if (result) {
+      // Async subscribers only observe the outcome, after all synchronous subscribers have handled the event
+      for (var subscriber : asyncTargets.computeIfAbsent(event.getClass(), this::computeAsyncTargets)) {
+        subscriber.enqueue(event);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Get the amount of events that have been dispatched to subscribers while metrics were enabled.
+   * @return the post count for each event type that has been posted at least once
+   */
+  public Map<String, Long> postCounts() {
+    Map<String, Long> result = new TreeMap<>();
+    postCounts.forEach((type, count) -> result.put(type.getName().substring(type.getPackageName().length() + 1), count.sum()));
+    return result;
+  }
+
+  private List<AsyncEventSubscriber<?>> computeAsyncTargets(Class<?> event) {
+    return asyncSubscribers.stream().filter(s -> s.type().isAssignableFrom(event)).toList();
+  }
+
+  @Override
+  public <T extends BendingEvent> boolean post(Class<T> event, Supplier<? extends T> supplier) {
+    ensureOpen();
+    return !hasSubscribers(event) || post(supplier.get());
+  }
+
+  private <T extends BendingEvent> T postIfSubscribed(T event) {
+    ensureOpen();
+    if (hasSubscribers(event.getClass())) {
+      post(event);
+    }
+    return event;
+  }
+
+  private void ensureOpen() {
     if (closed) {
       throw new IllegalStateException("Eventbus has been terminated, cannot post new events!");
     }
-    eventBus.post(event);
-    return !(event instanceof Cancellable c) || !c.cancelled();
   }
 
   @Override
   public void postRegistryLockEvent(Collection<DataKey<?>> keys) {
     if (!keys.isEmpty()) {
-      post(new RegistryLockEventImpl(keys));
+      post(RegistryLockEventImpl.class, () -> new RegistryLockEventImpl(keys));
     }
   }
 
   @Override
   public void postUserRegisterEvent(User user) {
-    post(new UserRegisterEventImpl(user));
+    post(UserRegisterEventImpl.class, () -> new UserRegisterEventImpl(user));
   }
 
   @Override
   public boolean postCooldownAddEvent(User user, AbilityDescription desc, long duration) {
-    return post(new CooldownChangeEventImpl.Add(user, desc, duration));
+    return post(CooldownChangeEventImpl.Add.class, () -> new CooldownChangeEventImpl.Add(user, desc, duration));
   }
 
   @Override
   public void postCooldownRemoveEvent(User user, AbilityDescription desc) {
-    post(new CooldownChangeEventImpl.Remove(user, desc));
+    post(CooldownChangeEventImpl.Remove.class, () -> new CooldownChangeEventImpl.Remove(user, desc));
   }
 
   @Override
   public void postAbilityActivationEvent(User user, AbilityDescription desc, Activation method) {
-    post(new AbilityActivationEventImpl(user, desc, method));
+    post(AbilityActivationEventImpl.class, () -> new AbilityActivationEventImpl(user, desc, method));
   }
 
   @Override
   public boolean postElementChangeEvent(User user, Element element, ElementAction type) {
-    return post(new ElementChangeEventImpl(user, element, type));
+    return post(ElementChangeEventImpl.class, () -> new ElementChangeEventImpl(user, element, type));
   }
 
   @Override
   public boolean postSingleBindChangeEvent(User user, int slot, @Nullable AbilityDescription desc) {
-    return post(new BindChangeEventImpl.Single(user, slot, desc));
+    return post(BindChangeEventImpl.Single.class, () -> new BindChangeEventImpl.Single(user, slot, desc));
   }
 
   @Override
   public boolean postMultiBindChangeEvent(User user, Preset preset) {
-    return post(new BindChangeEventImpl.Multi(user, preset));
+    return post(BindChangeEventImpl.Multi.class, () -> new BindChangeEventImpl.Multi(user, preset));
   }
 
   @Override
   public boolean postPresetRegisterEvent(User user, Preset preset) {
-    return !preset.isEmpty() && post(new PresetRegisterEventImpl(user, preset));
+    return !preset.isEmpty() && post(PresetRegisterEventImpl.class, () -> new PresetRegisterEventImpl(user, preset));
   }
 
   @Override
   public TickEffectEvent postTickEffectEvent(User source, Entity target, int duration, BendingEffect type) {
-    TickEffectEvent event = new TickEffectEventImpl(source, target, duration, type);
-    post(event);
-    return event;
+    return postIfSubscribed(new TickEffectEventImpl(source, target, duration, type));
   }
 
   @Override
   public BendingDamageEvent postAbilityDamageEvent(User source, AbilityDescription desc, LivingEntity target, double damage) {
-    BendingDamageEvent event = new BendingDamageEventImpl(source, desc, target, damage);
-    post(event);
-    return event;
+    return postIfSubscribed(new BendingDamageEventImpl(source, desc, target, damage));
   }
 
   @Override
   public BendingExplosionEvent postExplosionEvent(User source, AbilityDescription desc, Vector3d center, Collection<Block> blocks) {
-    BendingExplosionEvent event = new BendingExplosionEventImpl(source, desc, center, blocks);
-    post(event);
-    return event;
+    return postIfSubscribed(new BendingExplosionEventImpl(source, desc, center, blocks));
   }
 
   @Override
   public ActionLimitEvent postActionLimitEvent(User source, LivingEntity target, long duration) {
-    ActionLimitEvent event = new ActionLimitEventImpl(source, target, duration);
-    post(event);
-    return event;
+    return postIfSubscribed(new ActionLimitEventImpl(source, target, duration));
   }
 
   @Override
   public VelocityEvent postVelocityEvent(User source, LivingEntity target, AbilityDescription desc, Vector3d velocity) {
-    VelocityEventImpl event = new VelocityEventImpl(source, target, desc, velocity);
-    post(event);
-    return event;
+    return postIfSubscribed(new VelocityEventImpl(source, target, desc, velocity));
   }
 }
@@ -39,9 +39,14 @@ import me.moros.bending.api.game.AbilityManager;
 import me.moros.bending.api.registry.Registries;
 import me.moros.bending.api.user.User;
 import me.moros.bending.common.logging.Logger;
+import me.moros.bending.common.trace.TraceRecorder;
+import me.moros.bending.common.util.jfr.AbilityUpdateEvent;
 import net.kyori.adventure.key.Key;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 public class AbilityManagerImpl implements AbilityManager {
+  private static final AbilityUpdateEvent UPDATE_EVENT = new AbilityUpdateEvent();
+
   private final Logger logger;
   private final Key world;
   private final Map<UUID, Queue<Ability>> globalInstances;
@@ -50,6 +55,8 @@ public class AbilityManagerImpl implements AbilityManager {
   private final MultiUpdatable<Updatable> generics;
 
   private int size;
+  private volatile boolean awake;
+  private @Nullable Runnable wakeListener;
 
   AbilityManagerImpl(Logger logger, Key world) {
     this.logger = logger;
@@ -61,6 +68,28 @@ public class AbilityManagerImpl implements AbilityManager {
 
   private void addAbilityInternal(UUID uuid, Ability instance) {
     globalInstances.computeIfAbsent(uuid, k -> new ConcurrentLinkedQueue<>()).add(instance);
+    wake();
+  }
+
+  /**
+   * Set the listener that is notified when something is added to this manager while it is asleep.
+   * @param listener the listener to run on wake up
+   */
+  void onWake(Runnable listener) {
+    this.wakeListener = listener;
+  }
+
+  void wake() {
+    if (!awake) {
+      awake = true;
+      if (wakeListener != null) {
+        wakeListener.run();
+      }
+    }
+  }
+
+  void sleep() {
+    awake = false;
   }
 
   @Override
@@ -68,6 +97,10 @@ public class AbilityManagerImpl implements AbilityManager {
     return size;
   }
 
+  boolean isEmpty() {
+    return globalInstances.isEmpty() && pending.isEmpty() && generics.isEmpty();
+  }
+
   @Override
   public Iterator<Ability> iterator() {
     return instances().iterator();
@@ -79,6 +112,7 @@ public class AbilityManagerImpl implements AbilityManager {
       addAbility(ability);
     } else {
       pending.add(instance);
+      wake();
     }
   }
 
@@ -87,6 +121,10 @@ public class AbilityManagerImpl implements AbilityManager {
     User user = instance.user();
     if (world.equals(user.worldKey())) {
       addAbilityInternal(user.uuid(), instance);
+      TraceRecorder recorder = TraceRecorder.active();
+      if (recorder != null) {
+        recorder.onCast(instance);
+      }
     }
   }
 
@@ -139,7 +177,8 @@ public class AbilityManagerImpl implements AbilityManager {
     pending.clear();
     generics.update();
 
-    Collection<Exception> exceptions = new ArrayList<>();
+    Collection<Exception> exceptions = null;
+    boolean recording = UPDATE_EVENT.isEnabled();
     var iterator = globalInstances.values().iterator();
     size = 0;
     while (iterator.hasNext()) {
@@ -148,11 +187,21 @@ public class AbilityManagerImpl implements AbilityManager {
       while (innerIterator.hasNext()) {
         Ability ability = innerIterator.next();
         UpdateResult result = UpdateResult.REMOVE;
+        AbilityUpdateEvent event = recording ? new AbilityUpdateEvent() : null;
+        if (event != null) {
+          event.begin();
+        }
         try {
           result = ability.update();
         } catch (Exception e) {
+          if (exceptions == null) {
+            exceptions = new ArrayList<>();
+          }
           exceptions.add(e);
         } finally {
+          if (event != null) {
+            commit(event, ability, result);
+          }
           if (result == UpdateResult.REMOVE) {
             innerIterator.remove();
             ability.onDestroy();
@@ -165,12 +214,25 @@ public class AbilityManagerImpl implements AbilityManager {
         iterator.remove();
       }
     }
-    for (Exception e : exceptions) {
-      logger.error(e.getMessage(), e);
+    if (exceptions != null) {
+      for (Exception e : exceptions) {
+        logger.error(e.getMessage(), e);
+      }
     }
     return UpdateResult.CONTINUE;
   }
 
+  private void commit(AbilityUpdateEvent event, Ability ability, UpdateResult result) {
+    event.end();
+    if (event.shouldCommit()) {
+      event.ability = ability.description().key().asString();
+      event.world = world.asString();
+      event.user = ability.user().uuid().toString();
+      event.removed = result == UpdateResult.REMOVE;
+      event.commit();
+    }
+  }
+
   @Override
   public boolean destroyUserInstances(User user, Predicate<Ability> predicate) {
     boolean destroyed = false;
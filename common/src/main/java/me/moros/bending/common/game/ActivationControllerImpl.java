@@ -67,6 +67,7 @@ import me.moros.bending.common.ability.water.WaterWave;
 import me.moros.bending.common.ability.water.passive.HydroSink;
 import me.moros.bending.common.ability.water.sequence.Iceberg;
 import me.moros.bending.common.ability.water.sequence.WaterGimbal;
+import me.moros.bending.common.trace.TraceRecorder;
 import me.moros.math.Vector3d;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
@@ -118,6 +119,7 @@ public final class ActivationControllerImpl implements ActivationController {
     if (!cache.addInteraction(user.uuid())) {
       return;
     }
+    trace(user, Activation.ATTACK, null, null);
     if (user.game().abilityManager(user.worldKey()).destroyUserInstances(user, List.of(AirScooter.class, AirWheel.class, EarthSurf.class))) {
       return;
     }
@@ -138,6 +140,7 @@ public final class ActivationControllerImpl implements ActivationController {
   @Override
   public void onUserSneak(User user, boolean sneaking) {
     Activation action = sneaking ? Activation.SNEAK : Activation.SNEAK_RELEASE;
+    trace(user, action, null, null);
     if (sneaking && user.game().abilityManager(user.worldKey()).destroyUserInstances(user, WaterWave.class)) {
       return;
     }
@@ -233,6 +236,7 @@ public final class ActivationControllerImpl implements ActivationController {
     } else if (entity != null) {
       method = Activation.INTERACT_ENTITY;
     }
+    trace(user, method, entity, block);
     Tornado.switchMode(user);
     AirBlast.switchMode(user);
     EarthLine.switchMode(user);
@@ -243,6 +247,13 @@ public final class ActivationControllerImpl implements ActivationController {
     activateAbility(user, method);
   }
 
+  private void trace(User user, Activation method, @Nullable Entity entity, @Nullable Block block) {
+    TraceRecorder recorder = TraceRecorder.active();
+    if (recorder != null) {
+      recorder.onInput(user, method, entity, block);
+    }
+  }
+
   @Override
   public void ignoreNextSwing(UUID uuid) {
     cache.addInteraction(uuid);
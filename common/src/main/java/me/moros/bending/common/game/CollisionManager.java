@@ -28,6 +28,7 @@ import java.util.Map.Entry;
 import java.util.Set;
 
 import me.moros.bending.api.ability.Ability;
+import me.moros.bending.api.ability.AbilityDescription;
 import me.moros.bending.api.ability.Updatable;
 import me.moros.bending.api.collision.CollisionPair;
 import me.moros.bending.api.collision.geometry.AABB;
@@ -37,18 +38,42 @@ import me.moros.bending.api.registry.Registries;
 import me.moros.bending.common.collision.AABBUtil;
 import me.moros.bending.common.collision.Boundable;
 import me.moros.bending.common.collision.CollisionData;
-import me.moros.bending.common.collision.CollisionQuery;
 import me.moros.bending.common.collision.CollisionQuery.Pair;
+import me.moros.bending.common.collision.CollisionQuery;
+import me.moros.bending.common.collision.CollisionTable;
 import me.moros.bending.common.collision.LBVH;
 import me.moros.bending.common.collision.MortonEncoded;
+import me.moros.bending.common.metrics.GameMetrics;
+import me.moros.bending.common.util.jfr.CollisionBroadphaseEvent;
+import me.moros.bending.common.util.jfr.CollisionNarrowphaseEvent;
 import me.moros.math.FastMath;
+import net.kyori.adventure.key.Key;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 public final class CollisionManager implements Updatable {
+  private static final CollisionBroadphaseEvent BROADPHASE_EVENT = new CollisionBroadphaseEvent();
+  private static final CollisionNarrowphaseEvent NARROWPHASE_EVENT = new CollisionNarrowphaseEvent();
+
   private final AbilityManager manager;
+  private final Key world;
+  private @Nullable CollisionTable table;
 
-  CollisionManager(AbilityManager manager) {
+  CollisionManager(AbilityManager manager, Key world) {
     this.manager = manager;
+    this.world = world;
+  }
+
+  private @Nullable CollisionPair findPair(AbilityDescription first, AbilityDescription second) {
+    CollisionTable current = table;
+    if (current == null) {
+      if (!Registries.COLLISIONS.isLocked()) {
+        return Registries.COLLISIONS.get(CollisionPair.createKey(first, second));
+      }
+      // Collisions are fixed once locked so build the dense table once
+      current = CollisionTable.create(Registries.COLLISIONS, Registries.ABILITIES.idCount());
+      table = current;
+    }
+    return current.get(first, second);
   }
 
   private CachedAbility[] filterAndCollect() {
@@ -64,30 +89,89 @@ public final class CollisionManager implements Updatable {
 
   @Override
   public UpdateResult update() {
+    if (manager.size() < 2) {
+      return UpdateResult.CONTINUE; // Nothing can collide, skip collecting
+    }
+    CollisionBroadphaseEvent broadphase = BROADPHASE_EVENT.isEnabled() ? new CollisionBroadphaseEvent() : null;
+    if (broadphase != null) {
+      broadphase.begin();
+    }
     CachedAbility[] instances = filterAndCollect();
     if (instances.length < 2) {
+      if (broadphase != null) {
+        broadphase.end();
+        if (broadphase.shouldCommit()) {
+          commit(broadphase, instances.length, countColliders(instances), 0);
+        }
+      }
       return UpdateResult.CONTINUE;
     }
     Set<CachedAbility> pruned = Collections.newSetFromMap(new IdentityHashMap<>(instances.length));
     LBVH<CachedAbility> bvh = LBVH.buildTree(instances);
     CollisionQuery<CachedAbility> query = bvh.queryAll();
+    if (broadphase != null) {
+      broadphase.end();
+    }
+    CollisionNarrowphaseEvent narrowphase = NARROWPHASE_EVENT.isEnabled() ? new CollisionNarrowphaseEvent() : null;
+    if (narrowphase != null) {
+      narrowphase.begin();
+    }
+    int candidates = 0;
+    int collisions = 0;
     for (Pair<CachedAbility> pair : query) {
-      processPotentialCollision(pair, pruned);
+      candidates++;
+      if (processPotentialCollision(pair, pruned)) {
+        collisions++;
+      }
+    }
+    if (narrowphase != null) {
+      narrowphase.end();
+    }
+    GameMetrics metrics = GameMetrics.INSTANCE;
+    boolean commitBroadphase = broadphase != null && broadphase.shouldCommit();
+    if (metrics.enabled() || commitBroadphase) {
+      int colliders = countColliders(instances);
+      metrics.recordCollisions(colliders, candidates, collisions);
+      if (commitBroadphase) {
+        commit(broadphase, instances.length, colliders, candidates);
+      }
+    }
+    if (narrowphase != null && narrowphase.shouldCommit()) {
+      narrowphase.world = world.asString();
+      narrowphase.candidatePairs = candidates;
+      narrowphase.collisions = collisions;
+      narrowphase.commit();
     }
     return UpdateResult.CONTINUE;
   }
 
-  private void processPotentialCollision(Pair<CachedAbility> queryPair, Set<CachedAbility> pruned) {
+  private void commit(CollisionBroadphaseEvent event, int abilities, int colliders, int candidates) {
+    event.world = world.asString();
+    event.abilities = abilities;
+    event.colliders = colliders;
+    event.candidatePairs = candidates;
+    event.commit();
+  }
+
+  private static int countColliders(CachedAbility[] instances) {
+    int colliders = 0;
+    for (CachedAbility instance : instances) {
+      colliders += instance.colliders().size();
+    }
+    return colliders;
+  }
+
+  private boolean processPotentialCollision(Pair<CachedAbility> queryPair, Set<CachedAbility> pruned) {
     CachedAbility firstEntry = queryPair.first();
     CachedAbility secondEntry = queryPair.second();
     if (firstEntry.isSameUser(secondEntry) || pruned.contains(firstEntry) || pruned.contains(secondEntry)) {
-      return;
+      return false;
     }
     Ability first = firstEntry.ability();
     Ability second = secondEntry.ability();
-    CollisionPair pair = Registries.COLLISIONS.get(CollisionPair.createKey(first.description(), second.description()));
+    CollisionPair pair = findPair(first.description(), second.description());
     if (pair == null) {
-      return;
+      return false;
     }
     Entry<Collider, Collider> collision = checkCollision(firstEntry.colliders(), secondEntry.colliders());
     if (collision != null) {
@@ -100,7 +184,9 @@ public final class CollisionManager implements Updatable {
         manager.destroyInstance(second);
         pruned.add(secondEntry);
       }
+      return true;
     }
+    return false;
   }
 
   private @Nullable Entry<Collider, Collider> checkCollision(Iterable<Collider> firstColliders, Iterable<Collider> secondColliders) {
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2020-2024 Moros
+ *
+ * This file is part of Bending.
+ *
+ * Bending is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Bending is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bending. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.common.game;
+
+import java.util.concurrent.TimeUnit;
+
+import me.moros.bending.api.game.GameClock;
+
+final class GameClockImpl implements GameClock {
+  private static final long NANOS_PER_TICK = TimeUnit.MILLISECONDS.toNanos(MILLIS_PER_TICK);
+
+  private final boolean deterministic;
+  private final long originMillis;
+  private final long originNanos;
+
+  private volatile int tick;
+  private volatile long tickStartNanos;
+  private volatile long millis;
+
+  GameClockImpl(boolean deterministic) {
+    this.deterministic = deterministic;
+    this.originMillis = System.currentTimeMillis();
+    this.originNanos = System.nanoTime();
+    this.tickStartNanos = originNanos;
+    this.millis = originMillis;
+  }
+
+  /**
+   * Start a new tick, this should only be called once at the start of every game tick.
+   */
+  void advance() {
+    int next = tick + 1;
+    long nanos = deterministic ? originNanos + next * NANOS_PER_TICK : System.nanoTime();
+    tickStartNanos = nanos;
+    millis = originMillis + TimeUnit.NANOSECONDS.toMillis(nanos - originNanos);
+    tick = next;
+  }
+
+  @Override
+  public int tick() {
+    return tick;
+  }
+
+  @Override
+  public long tickStartNanos() {
+    return tickStartNanos;
+  }
+
+  @Override
+  public long millis() {
+    return millis;
+  }
+
+  @Override
+  public boolean deterministic() {
+    return deterministic;
+  }
+}
@@ -23,6 +23,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -32,6 +33,7 @@ import me.moros.bending.api.game.AbilityManager;
 import me.moros.bending.api.game.ActivationController;
 import me.moros.bending.api.game.FlightManager;
 import me.moros.bending.api.game.Game;
+import me.moros.bending.api.game.GameClock;
 import me.moros.bending.api.game.WorldManager;
 import me.moros.bending.api.registry.Registries;
 import me.moros.bending.api.registry.Registry;
@@ -52,11 +54,18 @@ import me.moros.bending.api.util.data.DataKey;
 import me.moros.bending.common.Bending;
 import me.moros.bending.common.ability.AbilityInitializer;
 import me.moros.bending.common.event.EventBusImpl;
+import me.moros.bending.common.metrics.GameMetrics;
+import me.moros.bending.common.metrics.GameMetrics.Phase;
 import me.moros.bending.common.storage.StorageFactory;
+import me.moros.bending.common.trace.TraceRecorder;
+import me.moros.bending.common.util.jfr.TempBlockRevertEvent;
 
 public final class GameImpl implements Game {
+  private static final TempBlockRevertEvent REVERT_EVENT = new TempBlockRevertEvent();
+
   private final Bending plugin;
   private final ConfigProcessor configProcessor;
+  private final GameClockImpl clock;
   private final EventBus eventBus;
   private final FlightManager flightManager;
   private final WorldManager worldManager;
@@ -67,6 +76,7 @@ public final class GameImpl implements Game {
   public GameImpl(Bending plugin) {
     this.plugin = plugin;
     this.configProcessor = plugin.configManager().processor();
+    this.clock = new GameClockImpl(plugin.deterministicClock());
     this.eventBus = new EventBusImpl(plugin.logger());
     this.flightManager = new FlightManagerImpl();
     this.worldManager = new WorldManagerImpl(plugin.logger());
@@ -77,7 +87,10 @@ public final class GameImpl implements Game {
     lockRegistries();
     this.storage = new StorageFactory(plugin).createInstance();
 
+    long startTime = System.nanoTime();
     AbilityInitializer.initConfigs();
+    long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+    plugin.logger().debug("Processed ability configs in %d ms.".formatted(elapsed));
     plugin.configManager().save();
 
     Tasker.sync().repeat(this::update, 1);
@@ -104,14 +117,43 @@ public final class GameImpl implements Game {
   }
 
   private void update() {
+    GameMetrics metrics = GameMetrics.INSTANCE;
+    long tickStart = metrics.start();
+    clock.advance();
     activationController.clearCache();
     try {
-      temporal.forEach(TemporalManager::tick);
+      TraceRecorder recorder = TraceRecorder.active();
+      if (recorder != null) {
+        recorder.onTick();
+      }
+      long start = metrics.start();
+      temporal.forEach(this::tickTemporal);
+      metrics.record(Phase.TEMPORAL, start);
       worldManager.update();
+      start = metrics.start();
       flightManager.update();
+      metrics.record(Phase.FLIGHT, start);
     } catch (Throwable t) { // The show must go on
       plugin.logger().error(t.getMessage(), t);
     }
+    metrics.record(Phase.TICK, tickStart);
+  }
+
+  private void tickTemporal(TemporalManager<?, ?> manager) {
+    if (manager != TempBlock.MANAGER || !REVERT_EVENT.isEnabled()) {
+      manager.tick();
+      return;
+    }
+    TempBlockRevertEvent event = new TempBlockRevertEvent();
+    int before = manager.size();
+    event.begin();
+    manager.tick();
+    event.end();
+    if (event.shouldCommit()) {
+      event.remaining = manager.size();
+      event.reverted = Math.max(0, before - event.remaining);
+      event.commit();
+    }
   }
 
   @Override
@@ -122,6 +164,7 @@ public final class GameImpl implements Game {
 
   @Override
   public void cleanup() {
+    TraceRecorder.stop();
     worldManager.forEach(AbilityManager::destroyAllInstances);
     flightManager.removeAll();
     temporal.forEach(TemporalManager::removeAll);
@@ -158,4 +201,9 @@ public final class GameImpl implements Game {
   public ConfigProcessor configProcessor() {
     return configProcessor;
   }
+
+  @Override
+  public GameClock clock() {
+    return clock;
+  }
 }
@@ -35,17 +35,21 @@ import me.moros.bending.api.user.User;
 import me.moros.bending.api.util.KeyUtil;
 import me.moros.bending.common.config.ConfigManager;
 import me.moros.bending.common.logging.Logger;
+import me.moros.bending.common.metrics.GameMetrics;
+import me.moros.bending.common.metrics.GameMetrics.Phase;
 import net.kyori.adventure.key.Key;
 import org.spongepowered.configurate.objectmapping.meta.Comment;
 
 public final class WorldManagerImpl implements WorldManager {
   private final Logger logger;
   private final Map<Key, ManagerPair> worlds;
+  private final Set<ManagerPair> active;
   private final Set<Key> disabled;
 
   WorldManagerImpl(Logger logger) {
     this.logger = logger;
     worlds = new ConcurrentHashMap<>();
+    active = ConcurrentHashMap.newKeySet();
     disabled = ConcurrentHashMap.newKeySet();
     refreshDisabled();
   }
@@ -70,19 +74,39 @@ public final class WorldManagerImpl implements WorldManager {
   }
 
   private ManagerPair createPair(Key world) {
-    AbilityManager abilities = new AbilityManagerImpl(logger, world);
-    return new ManagerPair(abilities, new CollisionManager(abilities));
+    AbilityManagerImpl abilities = new AbilityManagerImpl(logger, world);
+    ManagerPair pair = new ManagerPair(abilities, new CollisionManager(abilities, world));
+    abilities.onWake(() -> active.add(pair));
+    return pair;
   }
 
+  /**
+   * Only worlds with something to update are visited, idle worlds cost nothing until an ability or updatable is
+   * added to them again.
+   */
   @Override
   public UpdateResult update() {
-    worlds.values().forEach(ManagerPair::update);
+    for (ManagerPair pair : active) {
+      pair.update();
+      sleepIfIdle(pair);
+    }
     return UpdateResult.CONTINUE;
   }
 
+  private void sleepIfIdle(ManagerPair pair) {
+    if (pair.abilities instanceof AbilityManagerImpl manager && manager.isEmpty()) {
+      active.remove(pair);
+      manager.sleep();
+      if (!manager.isEmpty()) {
+        manager.wake(); // Something was added in the meantime, waking adds it back
+      }
+    }
+  }
+
   @Override
   public void clear() {
     worlds.clear();
+    active.clear();
   }
 
   @Override
@@ -101,6 +125,7 @@ public final class WorldManagerImpl implements WorldManager {
   public void onWorldUnload(Key world) {
     ManagerPair pair = worlds.remove(world);
     if (pair != null) {
+      active.remove(pair);
       pair.abilities.destroyAllInstances();
     }
   }
@@ -119,8 +144,13 @@ public final class WorldManagerImpl implements WorldManager {
 
   private record ManagerPair(AbilityManager abilities, CollisionManager collisions) {
     private void update() {
+      GameMetrics metrics = GameMetrics.INSTANCE;
+      long start = metrics.start();
       abilities.update();
+      metrics.record(Phase.ABILITIES, start);
+      start = metrics.start();
       collisions.update();
+      metrics.record(Phase.COLLISIONS, start);
     }
   }
 
@@ -32,15 +32,19 @@ import me.moros.bending.api.config.BendingProperties;
 import me.moros.bending.api.game.Game;
 import me.moros.bending.api.platform.entity.player.Player;
 import me.moros.bending.api.registry.Registries;
+import me.moros.bending.api.storage.BendingStorage;
 import me.moros.bending.api.user.User;
 import me.moros.bending.api.user.profile.BenderProfile;
 import me.moros.bending.api.util.functional.Suppliers;
 import me.moros.bending.common.logging.Logger;
+import me.moros.bending.common.storage.StorageFactory;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 public abstract class AbstractConnectionListener {
   private final Logger logger;
   protected final Supplier<Game> gameSupplier;
   protected final AsyncLoadingCache<UUID, BenderProfile> profileCache;
+  private volatile @Nullable BendingStorage observedStorage;
 
   protected AbstractConnectionListener(Logger logger, Game game) {
     this(logger, Suppliers.cached(game));
@@ -57,12 +61,21 @@ public abstract class AbstractConnectionListener {
     return gameSupplier.get();
   }
 
+  private void observe(BendingStorage storage) {
+    if (observedStorage != storage) {
+      observedStorage = storage;
+      // Drop preloaded profiles that another server saved in the meantime
+      StorageFactory.onExternalChange(storage, profileCache.synchronous()::invalidate);
+    }
+  }
+
   private BenderProfile cacheLoad(UUID uuid) {
     BenderProfile profile = game().storage().loadProfile(uuid);
     return profile == null ? BenderProfile.of(uuid) : profile;
   }
 
   protected CompletableFuture<?> asyncJoin(UUID uuid) {
+    observe(game().storage());
     // Don't preload data if remote and lazy load is enabled to avoid sync issues in networks
     if (BendingProperties.instance().lazyLoad() && game().storage().isRemote()) {
       return CompletableFuture.completedFuture(null);
@@ -196,6 +196,15 @@ public interface Message {
     .arguments(text(percent, ACCENT)));
   Args1<Double> IMPORT_SUCCESS = seconds -> brand(translatable("bending.command.import.success", SUCCESS)
     .arguments(text(seconds)));
+  Args0 TRACE_START_DESC = () -> translatable("bending.command.trace.start.description");
+  Args0 TRACE_STOP_DESC = () -> translatable("bending.command.trace.stop.description");
+  Args2<Integer, Integer> TRACE_STARTED = (radius, seconds) -> brand(translatable("bending.command.trace.started", SUCCESS)
+    .arguments(text(radius, ACCENT), text(seconds, ACCENT)));
+  Args0 TRACE_RUNNING = () -> brand(translatable("bending.command.trace.running", FAIL));
+  Args0 TRACE_NOT_RUNNING = () -> brand(translatable("bending.command.trace.not-running", WARN));
+  Args1<String> TRACE_SAVED = path -> brand(translatable("bending.command.trace.saved", SUCCESS)
+    .arguments(text(path, ACCENT)));
+  Args0 TRACE_FAIL = () -> brand(translatable("bending.command.trace.fail", FAIL));
 
   Args0 BENDING_BOARD_TITLE = () -> translatable("bending.board.title", Style.style(TEXT_COLOR, TextDecoration.BOLD));
 
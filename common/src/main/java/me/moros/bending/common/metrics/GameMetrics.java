@@ -0,0 +1,148 @@
+/*
+ * Copyright 2020-2024 Moros
+ *
+ * This file is part of Bending.
+ *
+ * Bending is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Bending is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bending. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.common.metrics;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Low overhead recorder for game loop metrics. Recording is a no-op unless metrics are enabled, in which case
+ * it only costs a couple of {@link System#nanoTime()} calls and {@link LongAdder} increments per tick.
+ */
+public enum GameMetrics {
+  INSTANCE;
+
+  private static final int WINDOW = 100;
+
+  private final Map<Phase, PhaseTimer> timers;
+  private final LongAdder colliders;
+  private final LongAdder candidatePairs;
+  private final LongAdder collisions;
+  private volatile boolean enabled;
+
+  GameMetrics() {
+    timers = new EnumMap<>(Phase.class);
+    for (Phase phase : Phase.values()) {
+      timers.put(phase, new PhaseTimer());
+    }
+    colliders = new LongAdder();
+    candidatePairs = new LongAdder();
+    collisions = new LongAdder();
+  }
+
+  public boolean enabled() {
+    return enabled;
+  }
+
+  void enabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  /**
+   * Get the start time for a phase.
+   * @return the current nano time or 0 if metrics are disabled
+   */
+  public long start() {
+    return enabled ? System.nanoTime() : 0;
+  }
+
+  /**
+   * Record the duration of a phase.
+   * @param phase the phase that completed
+   * @param start the value returned by {@link #start()} when the phase began
+   */
+  public void record(Phase phase, long start) {
+    if (start != 0) {
+      timers.get(phase).add(System.nanoTime() - start);
+    }
+  }
+
+  public void recordCollisions(int colliderAmount, int candidateAmount, int collisionAmount) {
+    if (enabled) {
+      colliders.add(colliderAmount);
+      candidatePairs.add(candidateAmount);
+      collisions.add(collisionAmount);
+    }
+  }
+
+  PhaseTimer timer(Phase phase) {
+    return timers.get(phase);
+  }
+
+  long colliders() {
+    return colliders.sum();
+  }
+
+  long candidatePairs() {
+    return candidatePairs.sum();
+  }
+
+  long collisions() {
+    return collisions.sum();
+  }
+
+  public enum Phase {
+    TICK,
+    TEMPORAL,
+    ABILITIES,
+    COLLISIONS,
+    FLIGHT;
+
+    String label() {
+      return name().toLowerCase(Locale.ROOT);
+    }
+  }
+
+  static final class PhaseTimer {
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final long[] recent = new long[WINDOW];
+    private final AtomicInteger cursor = new AtomicInteger();
+
+    private void add(long nanos) {
+      count.increment();
+      totalNanos.add(nanos);
+      recent[Math.floorMod(cursor.getAndIncrement(), WINDOW)] = nanos;
+    }
+
+    long count() {
+      return count.sum();
+    }
+
+    long totalNanos() {
+      return totalNanos.sum();
+    }
+
+    /**
+     * Get the slowest recorded duration over the last {@value WINDOW} samples.
+     * Reads are racy, which is fine for monitoring purposes.
+     */
+    long recentMaxNanos() {
+      long max = 0;
+      for (long value : recent) {
+        max = Math.max(max, value);
+      }
+      return max;
+    }
+  }
+}
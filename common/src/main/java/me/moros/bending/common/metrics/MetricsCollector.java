@@ -0,0 +1,219 @@
+/*
+ * Copyright 2020-2024 Moros
+ *
+ * This file is part of Bending.
+ *
+ * Bending is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Bending is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bending. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.common.metrics;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import me.moros.bending.api.ability.Ability;
+import me.moros.bending.api.collision.raytrace.RayTraceCache;
+import me.moros.bending.api.game.Game;
+import me.moros.bending.api.protection.ProtectionCache;
+import me.moros.bending.api.temporal.ActionLimiter;
+import me.moros.bending.api.temporal.Cooldown;
+import me.moros.bending.api.temporal.TempArmor;
+import me.moros.bending.api.temporal.TempBlock;
+import me.moros.bending.api.temporal.TempDisplayEntity;
+import me.moros.bending.api.temporal.TempEntity;
+import me.moros.bending.api.temporal.TempLight;
+import me.moros.bending.api.temporal.TemporalManager;
+import me.moros.bending.common.config.ConfigManager;
+import me.moros.bending.common.event.EventBusImpl;
+import me.moros.bending.common.metrics.GameMetrics.Phase;
+import me.moros.bending.common.metrics.GameMetrics.PhaseTimer;
+import me.moros.bending.common.storage.StorageStats;
+
+/**
+ * Collects game metrics and renders them in the Prometheus text exposition format.
+ * Values that can only be read safely on the game thread are sampled periodically by {@link #sample()},
+ * everything else is read directly when scraped.
+ */
+final class MetricsCollector {
+  private static final double NANOS_PER_SECOND = 1e9;
+
+  private final Game game;
+  private final Map<String, TemporalManager<?, ?>> temporal;
+  private volatile Snapshot snapshot;
+
+  MetricsCollector(Game game) {
+    this.game = game;
+    this.temporal = new LinkedHashMap<>();
+    temporal.put("tempblock", TempBlock.MANAGER);
+    temporal.put("templight", TempLight.MANAGER);
+    temporal.put("tempentity", TempEntity.MANAGER);
+    temporal.put("tempdisplayentity", TempDisplayEntity.MANAGER);
+    temporal.put("temparmor", TempArmor.MANAGER);
+    temporal.put("cooldown", Cooldown.MANAGER);
+    temporal.put("actionlimiter", ActionLimiter.MANAGER);
+    this.snapshot = new Snapshot(Map.of(), Map.of());
+  }
+
+  /**
+   * Sample values owned by the game thread. Must be called on the game thread.
+   */
+  void sample() {
+    Map<AbilityKey, Integer> abilities = new HashMap<>();
+    game.worldManager().forEach(manager -> manager.instances().forEach(ability -> count(abilities, ability)));
+    Map<String, Integer> temporalSizes = new LinkedHashMap<>();
+    temporal.forEach((name, manager) -> temporalSizes.put(name, manager.size()));
+    snapshot = new Snapshot(abilities, temporalSizes);
+  }
+
+  private void count(Map<AbilityKey, Integer> abilities, Ability ability) {
+    String world = ability.user().worldKey().asString();
+    String description = ability.description().key().asString();
+    abilities.merge(new AbilityKey(world, description), 1, Integer::sum);
+  }
+
+  String scrape() {
+    Snapshot current = snapshot;
+    StringBuilder builder = new StringBuilder(4096);
+    GameMetrics metrics = GameMetrics.INSTANCE;
+
+    header(builder, "bending_phase_seconds_total", "counter", "Total time spent in each game loop phase.");
+    for (Phase phase : Phase.values()) {
+      sample(builder, "bending_phase_seconds_total", "phase", phase.label(), metrics.timer(phase).totalNanos() / NANOS_PER_SECOND);
+    }
+    header(builder, "bending_phase_runs_total", "counter", "Amount of times each game loop phase ran.");
+    for (Phase phase : Phase.values()) {
+      sample(builder, "bending_phase_runs_total", "phase", phase.label(), metrics.timer(phase).count());
+    }
+    header(builder, "bending_phase_recent_max_seconds", "gauge", "Slowest recent run of each game loop phase.");
+    for (Phase phase : Phase.values()) {
+      sample(builder, "bending_phase_recent_max_seconds", "phase", phase.label(), metrics.timer(phase).recentMaxNanos() / NANOS_PER_SECOND);
+    }
+
+    header(builder, "bending_ability_instances", "gauge", "Active ability instances per world and description.");
+    current.abilities().forEach((key, amount) -> builder.append("bending_ability_instances{world=\"")
+      .append(escape(key.world())).append("\",ability=\"").append(escape(key.description())).append("\"} ")
+      .append(amount).append('\n'));
+
+    header(builder, "bending_colliders_total", "counter", "Colliders processed by collision detection.");
+    sample(builder, "bending_colliders_total", metrics.colliders());
+    header(builder, "bending_collision_candidates_total", "counter", "Candidate pairs returned by the broad phase.");
+    sample(builder, "bending_collision_candidates_total", metrics.candidatePairs());
+    header(builder, "bending_collisions_total", "counter", "Collisions handled.");
+    sample(builder, "bending_collisions_total", metrics.collisions());
+
+    header(builder, "bending_temporal_active", "gauge", "Active temporary objects per type.");
+    current.temporal().forEach((name, amount) -> sample(builder, "bending_temporal_active", "type", name, amount));
+
+    StorageStats storage = StorageStats.of(game.storage());
+    header(builder, "bending_storage_pending_writes", "gauge", "Profiles waiting to be flushed to storage.");
+    sample(builder, "bending_storage_pending_writes", storage.pendingWrites());
+    header(builder, "bending_storage_queued_tasks", "gauge", "Queued storage tasks per queue.");
+    sample(builder, "bending_storage_queued_tasks", "queue", "interactive", storage.interactiveQueued());
+    sample(builder, "bending_storage_queued_tasks", "queue", "bulk", storage.bulkQueued());
+    header(builder, "bending_storage_completed_tasks_total", "counter", "Completed storage tasks.");
+    sample(builder, "bending_storage_completed_tasks_total", storage.completed());
+    header(builder, "bending_storage_wait_seconds", "gauge", "Time storage tasks spent queued.");
+    sample(builder, "bending_storage_wait_seconds", "stat", "average", storage.averageWaitMillis() / 1000);
+    sample(builder, "bending_storage_wait_seconds", "stat", "max", storage.maxWaitMillis() / 1000);
+
+    CacheStats protection = ProtectionCache.INSTANCE.stats();
+    header(builder, "bending_protection_cache_requests_total", "counter", "Protection cache lookups by result.");
+    sample(builder, "bending_protection_cache_requests_total", "result", "hit", protection.hitCount());
+    sample(builder, "bending_protection_cache_requests_total", "result", "miss", protection.missCount());
+    header(builder, "bending_protection_cache_hit_ratio", "gauge", "Protection cache hit ratio.");
+    sample(builder, "bending_protection_cache_hit_ratio", protection.hitRate());
+
+    CacheStats configs = ConfigManager.calculationStats();
+    header(builder, "bending_config_cache_requests_total", "counter", "Calculated config cache lookups by result.");
+    sample(builder, "bending_config_cache_requests_total", "result", "hit", configs.hitCount());
+    sample(builder, "bending_config_cache_requests_total", "result", "miss", configs.missCount());
+    header(builder, "bending_config_cache_hit_ratio", "gauge", "Calculated config cache hit ratio.");
+    sample(builder, "bending_config_cache_hit_ratio", configs.hitRate());
+
+    CacheStats rayTraces = RayTraceCache.stats();
+    header(builder, "bending_raytrace_cache_requests_total", "counter", "Line of sight raytrace cache lookups by result.");
+    sample(builder, "bending_raytrace_cache_requests_total", "result", "hit", rayTraces.hitCount());
+    sample(builder, "bending_raytrace_cache_requests_total", "result", "miss", rayTraces.missCount());
+    header(builder, "bending_raytrace_cache_hit_ratio", "gauge", "Line of sight raytrace cache hit ratio.");
+    sample(builder, "bending_raytrace_cache_hit_ratio", rayTraces.hitRate());
+
+    if (game.eventBus() instanceof EventBusImpl eventBus) {
+      header(builder, "bending_events_posted_total", "counter", "Events posted per event type.");
+      eventBus.postCounts().forEach((name, amount) -> sample(builder, "bending_events_posted_total", "event", name, amount));
+    }
+    return builder.toString();
+  }
+
+  /**
+   * Flatten the most relevant values for JMX consumers.
+   */
+  Map<String, Double> values() {
+    Snapshot current = snapshot;
+    GameMetrics metrics = GameMetrics.INSTANCE;
+    Map<String, Double> result = new LinkedHashMap<>();
+    for (Phase phase : Phase.values()) {
+      PhaseTimer timer = metrics.timer(phase);
+      long count = timer.count();
+      result.put("phase." + phase.label() + ".avgMillis", count == 0 ? 0 : timer.totalNanos() / 1e6 / count);
+      result.put("phase." + phase.label() + ".recentMaxMillis", timer.recentMaxNanos() / 1e6);
+    }
+    result.put("abilities.total", (double) current.abilities().values().stream().mapToInt(Integer::intValue).sum());
+    result.put("collision.colliders", (double) metrics.colliders());
+    result.put("collision.candidates", (double) metrics.candidatePairs());
+    result.put("collision.collisions", (double) metrics.collisions());
+    current.temporal().forEach((name, amount) -> result.put("temporal." + name, (double) amount));
+    StorageStats storage = StorageStats.of(game.storage());
+    result.put("storage.pendingWrites", (double) storage.pendingWrites());
+    result.put("storage.queued", (double) (storage.interactiveQueued() + storage.bulkQueued()));
+    result.put("storage.maxWaitMillis", storage.maxWaitMillis());
+    result.put("protection.hitRatio", ProtectionCache.INSTANCE.stats().hitRate());
+    result.put("config.hitRatio", ConfigManager.calculationStats().hitRate());
+    result.put("raytrace.hitRatio", RayTraceCache.stats().hitRate());
+    return result;
+  }
+
+  private static void header(StringBuilder builder, String name, String type, String help) {
+    builder.append("# HELP ").append(name).append(' ').append(help).append('\n');
+    builder.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+  }
+
+  private static void sample(StringBuilder builder, String name, Number value) {
+    builder.append(name).append(' ').append(format(value)).append('\n');
+  }
+
+  private static void sample(StringBuilder builder, String name, String label, String labelValue, Number value) {
+    builder.append(name).append('{').append(label).append("=\"").append(escape(labelValue)).append("\"} ")
+      .append(format(value)).append('\n');
+  }
+
+  private static String format(Number value) {
+    if (value instanceof Double || value instanceof Float) {
+      return String.format(Locale.ROOT, "%.6f", value.doubleValue());
+    }
+    return value.toString();
+  }
+
+  private static String escape(String value) {
+    return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+  }
+
+  private record AbilityKey(String world, String description) {
+  }
+
+  private record Snapshot(Map<AbilityKey, Integer> abilities, Map<String, Integer> temporal) {
+  }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2020-2024 Moros
+ *
+ * This file is part of Bending.
+ *
+ * Bending is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Bending is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bending. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.common.metrics;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import me.moros.bending.api.config.Configurable;
+import me.moros.bending.api.game.Game;
+import me.moros.bending.api.util.Tasker;
+import me.moros.bending.common.config.ConfigManager;
+import me.moros.bending.common.logging.Logger;
+import me.moros.tasker.Task;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.configurate.objectmapping.meta.Comment;
+
+/**
+ * Opt-in metrics exporter. Serves Prometheus text format over an embedded HTTP endpoint and optionally
+ * registers a JMX bean. Nothing is recorded unless metrics are enabled in the config.
+ */
+public final class MetricsServer implements AutoCloseable {
+  private static final String OBJECT_NAME = "me.moros.bending:type=Metrics";
+  private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+  private static final int SAMPLE_INTERVAL = 20;
+
+  private final Logger logger;
+  private final MetricsCollector collector;
+  private final @Nullable Task sampleTask;
+  private @Nullable HttpServer server;
+  private @Nullable ExecutorService executor;
+  private @Nullable ObjectName objectName;
+
+  private MetricsServer(Logger logger, Game game, Config config) {
+    this.logger = logger;
+    this.collector = new MetricsCollector(game);
+    GameMetrics.INSTANCE.enabled(true);
+    this.sampleTask = Tasker.sync().repeat(collector::sample, SAMPLE_INTERVAL);
+    if (config.jmx) {
+      registerBean();
+    }
+    startServer(config.host, config.port);
+  }
+
+  /**
+   * Start the metrics exporter if enabled in the config.
+   * @param logger the logger to use
+   * @param game the game to export metrics for
+   * @return the running exporter or null if metrics are disabled
+   */
+  public static @Nullable MetricsServer createIfEnabled(Logger logger, Game game) {
+    Config config = ConfigManager.load(Config::new);
+    return config.enabled ? new MetricsServer(logger, game, config) : null;
+  }
+
+  private void startServer(String host, int port) {
+    try {
+      HttpServer httpServer = HttpServer.create(new InetSocketAddress(host, port), 0);
+      executor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "bending-metrics");
+        thread.setDaemon(true);
+        return thread;
+      });
+      httpServer.setExecutor(executor);
+      httpServer.createContext("/metrics", this::handle);
+      httpServer.start();
+      server = httpServer;
+      logger.info("Serving metrics on http://" + host + ":" + port + "/metrics");
+    } catch (IOException e) {
+      logger.warn("Unable to start metrics endpoint: " + e.getMessage(), e);
+    }
+  }
+
+  private void registerBean() {
+    try {
+      ObjectName name = new ObjectName(OBJECT_NAME);
+      MBeanServer beanServer = ManagementFactory.getPlatformMBeanServer();
+      if (beanServer.isRegistered(name)) {
+        beanServer.unregisterMBean(name);
+      }
+      beanServer.registerMBean(new Bean(collector), name);
+      objectName = name;
+    } catch (JMException e) {
+      logger.warn("Unable to register metrics bean: " + e.getMessage(), e);
+    }
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    try (exchange) {
+      if (!"GET".equals(exchange.getRequestMethod())) {
+        exchange.sendResponseHeaders(405, -1);
+        return;
+      }
+      byte[] body = collector.scrape().getBytes(StandardCharsets.UTF_8);
+      exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+      exchange.sendResponseHeaders(200, body.length);
+      try (OutputStream out = exchange.getResponseBody()) {
+        out.write(body);
+      }
+    }
+  }
+
+  @Override
+  public void close() {
+    GameMetrics.INSTANCE.enabled(false);
+    if (sampleTask != null) {
+      sampleTask.cancel();
+    }
+    if (server != null) {
+      server.stop(0);
+      server = null;
+    }
+    if (executor != null) {
+      executor.shutdownNow();
+      executor = null;
+    }
+    if (objectName != null) {
+      try {
+        ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+      } catch (JMException e) {
+        logger.warn(e.getMessage(), e);
+      }
+      objectName = null;
+    }
+  }
+
+  private record Bean(MetricsCollector collector) implements BendingMetricsMXBean {
+    @Override
+    public double getTickAverageMillis() {
+      return getValues().getOrDefault("phase.tick.avgMillis", 0.0);
+    }
+
+    @Override
+    public double getTickRecentMaxMillis() {
+      return getValues().getOrDefault("phase.tick.recentMaxMillis", 0.0);
+    }
+
+    @Override
+    public long getAbilityInstances() {
+      return getValues().getOrDefault("abilities.total", 0.0).longValue();
+    }
+
+    @Override
+    public double getProtectionCacheHitRatio() {
+      return getValues().getOrDefault("protection.hitRatio", 0.0);
+    }
+
+    @Override
+    public double getConfigCacheHitRatio() {
+      return getValues().getOrDefault("config.hitRatio", 0.0);
+    }
+
+    @Override
+    public double getRayTraceCacheHitRatio() {
+      return getValues().getOrDefault("raytrace.hitRatio", 0.0);
+    }
+
+    @Override
+    public Map<String, Double> getValues() {
+      return collector.values();
+    }
+  }
+
+  private static final class Config implements Configurable {
+    @Comment("Expose metrics in Prometheus text format. Recording has a negligible cost but is disabled by default.")
+    private boolean enabled = false;
+    @Comment("The address to bind to. Keep this on loopback unless the endpoint is firewalled.")
+    private String host = "127.0.0.1";
+    private int port = 9940;
+    @Comment("Also expose metrics as a JMX bean under " + OBJECT_NAME)
+    private boolean jmx = true;
+
+    @Override
+    public List<String> path() {
+      return List.of("metrics");
+    }
+  }
+}
@@ -19,34 +19,81 @@
 
 package me.moros.bending.common.placeholder;
 
+import java.util.HashMap;
 import java.util.Iterator;
-import java.util.LinkedHashSet;
-import java.util.Set;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import me.moros.bending.api.user.User;
 import me.moros.bending.api.util.KeyUtil;
 import net.kyori.adventure.key.KeyedValue;
 import net.kyori.adventure.text.Component;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 public final class PlaceholderProvider implements Iterable<KeyedValue<? extends Placeholder>> {
-  private final Set<KeyedValue<? extends Placeholder>> placeholders;
+  private final List<KeyedValue<? extends Placeholder>> placeholders;
+  private final Map<String, StaticPlaceholder> staticIndex;
+  private final Map<String, DynamicPlaceholder> dynamicIndex;
+  private final @Nullable Cache<User, Memo> memos;
 
   private PlaceholderProvider(Builder builder) {
-    this.placeholders = Set.copyOf(builder.placeholders);
+    this.memos = builder.memoize ? Caffeine.newBuilder().weakKeys().build() : null;
+    Map<String, StaticPlaceholder> staticIndex = new HashMap<>();
+    Map<String, DynamicPlaceholder> dynamicIndex = new HashMap<>();
+    List<KeyedValue<? extends Placeholder>> placeholders = builder.placeholders.values().stream()
+      .map(this::memoize).toList();
+    for (var keyed : placeholders) {
+      String id = keyed.key().value();
+      if (keyed.value() instanceof StaticPlaceholder sp) {
+        staticIndex.put(id, sp);
+      } else if (keyed.value() instanceof DynamicPlaceholder dp) {
+        dynamicIndex.put(id, dp);
+      }
+    }
+    this.placeholders = placeholders;
+    this.staticIndex = Map.copyOf(staticIndex);
+    this.dynamicIndex = Map.copyOf(dynamicIndex);
+  }
+
+  // Wraps placeholders so hooks that register them individually share the same memoized values
+  private KeyedValue<? extends Placeholder> memoize(KeyedValue<? extends Placeholder> keyed) {
+    if (memos == null) {
+      return keyed;
+    }
+    String id = keyed.key().value();
+    Placeholder result;
+    if (keyed.value() instanceof StaticPlaceholder sp) {
+      result = Placeholder.of((User user) -> memo(user, id, () -> sp.handle(user)));
+    } else if (keyed.value() instanceof DynamicPlaceholder dp) {
+      result = Placeholder.of((User user, String arg) -> memo(user, id + '_' + arg, () -> dp.handle(user, arg)));
+    } else {
+      return keyed;
+    }
+    return KeyedValue.keyedValue(keyed.key(), result);
+  }
+
+  private Component memo(User user, String placeholder, Supplier<Component> supplier) {
+    return memos.get(user, u -> new Memo()).get(user.game().clock().tick(), placeholder, supplier);
   }
 
   public Component onPlaceholderRequest(User user, String placeholder) {
-    for (var keyed : placeholders) {
-      String id = keyed.key().value();
-      Placeholder p = keyed.value();
-      int dynamicLength = id.length() + 1;
-      if (p instanceof DynamicPlaceholder dp && placeholder.startsWith(id + "_") && placeholder.length() > dynamicLength) {
-        return dp.handle(user, placeholder.substring(dynamicLength));
-      } else if (p instanceof StaticPlaceholder sp && placeholder.equals(id)) {
-        return sp.handle(user);
+    StaticPlaceholder sp = staticIndex.get(placeholder);
+    if (sp != null) {
+      return sp.handle(user);
+    }
+    int idx = placeholder.indexOf('_');
+    while (idx > 0 && idx < placeholder.length() - 1) {
+      DynamicPlaceholder dp = dynamicIndex.get(placeholder.substring(0, idx));
+      if (dp != null) {
+        return dp.handle(user, placeholder.substring(idx + 1));
       }
+      idx = placeholder.indexOf('_', idx + 1);
     }
     return Component.empty();
   }
@@ -67,28 +114,58 @@ public final class PlaceholderProvider implements Iterable<KeyedValue<? extends
       .add(Placeholder.DISPLAY_NAME)
       .add(Placeholder.SELECTED_ABILITY)
       .add(Placeholder.SLOT)
-      .add(Placeholder.ABILITY_INFO);
+      .add(Placeholder.ABILITY_INFO)
+      .memoize(true);
+  }
+
+  // Values computed for a single user during the current tick
+  private static final class Memo {
+    private final Map<String, Component> values = new HashMap<>();
+    private int tick = -1;
+
+    private synchronized Component get(int currentTick, String placeholder, Supplier<Component> supplier) {
+      if (tick != currentTick) {
+        tick = currentTick;
+        values.clear();
+      }
+      Component result = values.get(placeholder);
+      if (result == null) {
+        result = supplier.get();
+        values.put(placeholder, result);
+      }
+      return result;
+    }
   }
 
   public static final class Builder {
-    private final Set<KeyedValue<? extends Placeholder>> placeholders;
+    private final Map<String, KeyedValue<? extends Placeholder>> placeholders;
+    private boolean memoize = false;
 
     private Builder() {
-      placeholders = new LinkedHashSet<>();
+      placeholders = new LinkedHashMap<>();
     }
 
     public Builder add(KeyedValue<? extends Placeholder> keyed) {
-      this.placeholders.add(keyed);
+      this.placeholders.putIfAbsent(keyed.key().value(), keyed);
       return this;
     }
 
     public Builder addStatic(String id, Function<User, Component> function) {
-      this.placeholders.add(KeyedValue.keyedValue(KeyUtil.simple(id), Placeholder.of(function)));
-      return this;
+      return add(KeyedValue.keyedValue(KeyUtil.simple(id), Placeholder.of(function)));
     }
 
     public Builder addDynamic(String id, BiFunction<User, String, Component> function) {
-      this.placeholders.add(KeyedValue.keyedValue(KeyUtil.simple(id), Placeholder.of(function)));
+      return add(KeyedValue.keyedValue(KeyUtil.simple(id), Placeholder.of(function)));
+    }
+
+    /**
+     * Cache computed values per user so repeated requests within the same game tick are only computed once.
+     * <p>Values are keyed on the tick of the user's game clock, so they refresh once the game advances.
+     * @param memoize whether to memoize placeholder values
+     * @return this builder
+     */
+    public Builder memoize(boolean memoize) {
+      this.memoize = memoize;
       return this;
     }
 
@@ -19,16 +19,20 @@
 
 package me.moros.bending.common.storage;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Executor;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -36,24 +40,62 @@ import me.moros.bending.api.storage.BendingStorage;
 import me.moros.bending.api.user.profile.BenderProfile;
 import me.moros.bending.api.util.Tasker;
 import me.moros.bending.common.logging.Logger;
+import me.moros.bending.common.storage.StorageExecutor.Priority;
+import me.moros.bending.common.util.jfr.StorageLoadEvent;
+import me.moros.bending.common.util.jfr.StorageSaveEvent;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.checkerframework.checker.nullness.qual.PolyNull;
 
 abstract class AbstractStorage implements BendingStorage {
+  private static final StorageLoadEvent LOAD_EVENT = new StorageLoadEvent();
+  private static final StorageSaveEvent SAVE_EVENT = new StorageSaveEvent();
+
   protected final Logger logger;
-  private final Executor executor;
+  private final StorageExecutor executor;
+  private final Collection<Consumer<UUID>> changeListeners;
 
-  protected AbstractStorage(Logger logger) {
+  protected AbstractStorage(Logger logger, int parallelism) {
     this.logger = logger;
-    this.executor = Tasker.async();
+    this.executor = new StorageExecutor("bending-storage", parallelism, 4 * parallelism);
+    this.changeListeners = new CopyOnWriteArrayList<>();
+  }
+
+  /**
+   * Register a listener that is notified when a profile is modified outside of this storage instance.
+   * @param listener the listener that accepts the uuid of the modified profile
+   */
+  void onExternalChange(Consumer<UUID> listener) {
+    changeListeners.add(listener);
+  }
+
+  /**
+   * Check if the given profile matches the state this storage last loaded or saved for it.
+   * <p>Storages that don't keep track of their persisted state always return false.
+   * @param profile the profile to check
+   * @return true if saving the profile would not change anything, false otherwise
+   */
+  boolean isPersisted(BenderProfile profile) {
+    return false;
+  }
+
+  protected final void notifyExternalChange(UUID uuid) {
+    changeListeners.forEach(listener -> listener.accept(uuid));
   }
 
   private <R> CompletableFuture<R> async(Supplier<R> supplier) {
-    return CompletableFuture.supplyAsync(supplier, executor);
+    return executor.submit(Priority.INTERACTIVE, supplier);
   }
 
-  private CompletableFuture<Void> async(Runnable runnable) {
-    return CompletableFuture.runAsync(runnable, executor);
+  private CompletableFuture<Void> bulk(Runnable runnable) {
+    return executor.submit(Priority.BULK, () -> {
+      runnable.run();
+      return null;
+    });
+  }
+
+  // Bulk tasks are submitted from a separate thread as submission blocks when the bulk queue is full
+  private <R> CompletableFuture<R> dispatch(Supplier<CompletableFuture<R>> supplier) {
+    return CompletableFuture.supplyAsync(supplier, Tasker.async()).thenCompose(Function.identity());
   }
 
   @Override
@@ -63,11 +105,76 @@ abstract class AbstractStorage implements BendingStorage {
 
   @Override
   public final CompletableFuture<@Nullable BenderProfile> loadProfileAsync(UUID uuid) {
-    return async(() -> loadProfile(uuid)).exceptionally(logError(null));
+    return async(() -> recordLoad(uuid)).exceptionally(logError(null));
   }
 
-  @Override
-  public final Map<UUID, BenderProfile> loadProfiles(Set<UUID> uuids) {
+  private @Nullable BenderProfile recordLoad(UUID uuid) {
+    if (!LOAD_EVENT.isEnabled()) {
+      return loadProfile(uuid);
+    }
+    StorageLoadEvent event = new StorageLoadEvent();
+    event.begin();
+    BenderProfile result = loadProfile(uuid);
+    event.end();
+    if (event.shouldCommit()) {
+      event.engine = getClass().getSimpleName();
+      event.user = uuid.toString();
+      event.requested = 1;
+      event.loaded = result == null ? 0 : 1;
+      event.commit();
+    }
+    return result;
+  }
+
+  private Map<UUID, BenderProfile> recordLoadBatch(Collection<UUID> uuids) {
+    if (!LOAD_EVENT.isEnabled()) {
+      return loadProfileBatch(uuids);
+    }
+    StorageLoadEvent event = new StorageLoadEvent();
+    event.begin();
+    Map<UUID, BenderProfile> result = loadProfileBatch(uuids);
+    event.end();
+    if (event.shouldCommit()) {
+      event.engine = getClass().getSimpleName();
+      event.user = "";
+      event.requested = uuids.size();
+      event.loaded = result.size();
+      event.commit();
+    }
+    return result;
+  }
+
+  private boolean recordSave(BenderProfile profile) {
+    if (!SAVE_EVENT.isEnabled()) {
+      return saveProfile(profile);
+    }
+    StorageSaveEvent event = new StorageSaveEvent();
+    event.begin();
+    boolean result = saveProfile(profile);
+    event.end();
+    if (event.shouldCommit()) {
+      event.engine = getClass().getSimpleName();
+      event.user = profile.uuid().toString();
+      event.success = result;
+      event.commit();
+    }
+    return result;
+  }
+
+  /**
+   * Controls how many profiles are loaded together when bulk loading.
+   * @return the amount of profiles to pass to {@link #loadProfileBatch(Collection)} at once
+   */
+  protected int batchSize() {
+    return 1;
+  }
+
+  /**
+   * Load multiple profiles at once. Storage engines that can fetch profiles in bulk should override this.
+   * @param uuids the users' uuids, never more than {@link #batchSize()}
+   * @return a map with all matching stored profiles
+   */
+  protected Map<UUID, BenderProfile> loadProfileBatch(Collection<UUID> uuids) {
     Map<UUID, BenderProfile> results = new HashMap<>(uuids.size());
     for (UUID uuid : uuids) {
       results.computeIfAbsent(uuid, this::loadProfile);
@@ -75,36 +182,64 @@ abstract class AbstractStorage implements BendingStorage {
     return results;
   }
 
-  @Override
-  public final CompletableFuture<Map<UUID, BenderProfile>> loadProfilesAsync(Set<UUID> uuids, LongAdder progressCounter) {
-    final int size = uuids.size();
-    Map<UUID, BenderProfile> results = new ConcurrentHashMap<>(size);
-    CompletableFuture<?>[] futures = new CompletableFuture[size];
-    AtomicInteger counter = new AtomicInteger();
+  private List<List<UUID>> partition(Set<UUID> uuids) {
+    final int batchSize = Math.max(1, batchSize());
+    List<List<UUID>> batches = new ArrayList<>((uuids.size() + batchSize - 1) / batchSize);
+    List<UUID> current = new ArrayList<>(batchSize);
     for (UUID uuid : uuids) {
-      futures[counter.getAndIncrement()] = async(() -> {
-        results.computeIfAbsent(uuid, this::loadProfile);
-        progressCounter.increment();
-      });
+      current.add(uuid);
+      if (current.size() >= batchSize) {
+        batches.add(current);
+        current = new ArrayList<>(batchSize);
+      }
+    }
+    if (!current.isEmpty()) {
+      batches.add(current);
     }
-    return CompletableFuture.allOf(futures).handle((ignore, t) -> {
-      if (t != null) {
-        logger.warn(t.getMessage(), t);
+    return batches;
+  }
+
+  @Override
+  public final Map<UUID, BenderProfile> loadProfiles(Set<UUID> uuids) {
+    Map<UUID, BenderProfile> results = new HashMap<>(uuids.size());
+    for (var batch : partition(uuids)) {
+      results.putAll(recordLoadBatch(batch));
+    }
+    return results;
+  }
+
+  @Override
+  public final CompletableFuture<Map<UUID, BenderProfile>> loadProfilesAsync(Set<UUID> uuids, LongAdder progressCounter) {
+    return dispatch(() -> {
+      var batches = partition(uuids);
+      Map<UUID, BenderProfile> results = new ConcurrentHashMap<>(uuids.size());
+      CompletableFuture<?>[] futures = new CompletableFuture[batches.size()];
+      AtomicInteger counter = new AtomicInteger();
+      for (var batch : batches) {
+        futures[counter.getAndIncrement()] = bulk(() -> {
+          results.putAll(recordLoadBatch(batch));
+          progressCounter.add(batch.size());
+        });
       }
-      return results;
+      return CompletableFuture.allOf(futures).handle((ignore, t) -> {
+        if (t != null) {
+          logger.warn(t.getMessage(), t);
+        }
+        return results;
+      });
     });
   }
 
   @Override
   public final CompletableFuture<Boolean> saveProfileAsync(BenderProfile profile) {
-    return async(() -> saveProfile(profile)).exceptionally(logError(false));
+    return async(() -> recordSave(profile)).exceptionally(logError(false));
   }
 
   @Override
   public final boolean saveProfiles(Collection<BenderProfile> profiles) {
     boolean result = false;
     for (var profile : profiles) {
-      result |= saveProfile(profile);
+      result |= recordSave(profile);
     }
     return result;
   }
@@ -112,28 +247,54 @@ abstract class AbstractStorage implements BendingStorage {
   @Override
   public final CompletableFuture<Boolean> saveProfilesAsync(Collection<BenderProfile> profiles, LongAdder progressCounter) {
     final int size = profiles.size();
-    CompletableFuture<?>[] futures = new CompletableFuture[size];
-    AtomicInteger counter = new AtomicInteger();
-    LongAdder successful = new LongAdder();
-    for (var profile : profiles) {
-      futures[counter.getAndIncrement()] = async(() -> {
-        if (saveProfile(profile)) {
-          successful.increment();
-        }
-        progressCounter.increment();
-      });
-    }
-    if (futures.length == 0) {
+    if (size == 0) {
       return CompletableFuture.completedFuture(false);
     }
-    return CompletableFuture.allOf(futures).handle((ignore, t) -> {
-      if (t != null) {
-        logger.warn(t.getMessage(), t);
+    return dispatch(() -> {
+      CompletableFuture<?>[] futures = new CompletableFuture[size];
+      AtomicInteger counter = new AtomicInteger();
+      LongAdder successful = new LongAdder();
+      for (var profile : profiles) {
+        futures[counter.getAndIncrement()] = bulk(() -> {
+          if (recordSave(profile)) {
+            successful.increment();
+          }
+          progressCounter.increment();
+        });
       }
-      return successful.intValue() == size;
+      return CompletableFuture.allOf(futures).handle((ignore, t) -> {
+        if (t != null) {
+          logger.warn(t.getMessage(), t);
+        }
+        return successful.intValue() == size;
+      });
     });
   }
 
+  /**
+   * Provides a snapshot of the storage executor's queue depth and wait times.
+   * @return the current executor stats
+   */
+  StorageExecutor.Stats executorStats() {
+    return executor.stats();
+  }
+
+  @Override
+  public final void close() {
+    if (!executor.shutdown(10, TimeUnit.SECONDS)) {
+      logger.warn("Timed out while waiting for storage tasks to complete.");
+    }
+    var stats = executor.stats();
+    logger.debug("Storage executor completed %d tasks (average wait %.2fms, max wait %.2fms)."
+      .formatted(stats.completed(), stats.averageWaitMillis(), stats.maxWaitMillis()));
+    closeResources();
+  }
+
+  /**
+   * Release any resources held by this storage, called after all pending tasks have completed.
+   */
+  protected abstract void closeResources();
+
   private <R> Function<Throwable, @PolyNull R> logError(@PolyNull R def) {
     return t -> {
       logger.error(t.getMessage(), t);
@@ -44,6 +44,7 @@ import org.spongepowered.configurate.reference.ConfigurationReference;
 
 final class FileStorage extends AbstractStorage {
   private static final String SUFFIX = ".json";
+  private static final int PARALLELISM = Math.max(Runtime.getRuntime().availableProcessors(), 2);
 
   private final Path dataPath;
   private final Loader<?> loader;
@@ -51,7 +52,7 @@ final class FileStorage extends AbstractStorage {
   private final Semaphore semaphore;
 
   FileStorage(Logger logger, Path directory, Loader<?> loader) {
-    super(logger);
+    super(logger, PARALLELISM);
     this.dataPath = directory;
     this.loader = loader;
     try {
@@ -60,7 +61,7 @@ final class FileStorage extends AbstractStorage {
       throw new UncheckedIOException(e);
     }
     this.locks = Caffeine.newBuilder().expireAfterAccess(10, TimeUnit.MINUTES).build(key -> new ReentrantLock());
-    this.semaphore = new Semaphore(Math.max(Runtime.getRuntime().availableProcessors(), 2));
+    this.semaphore = new Semaphore(PARALLELISM);
   }
 
   private Path filePath(UUID uuid) {
@@ -122,6 +123,6 @@ final class FileStorage extends AbstractStorage {
   }
 
   @Override
-  public void close() {
+  protected void closeResources() {
   }
 }
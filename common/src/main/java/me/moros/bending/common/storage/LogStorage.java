@@ -0,0 +1,406 @@
+/*
+ * Copyright 2020-2024 Moros
+ *
+ * This file is part of Bending.
+ *
+ * Bending is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Bending is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bending. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.common.storage;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+import me.moros.bending.api.user.profile.BenderProfile;
+import me.moros.bending.api.util.Tasker;
+import me.moros.bending.common.logging.Logger;
+import me.moros.tasker.Task;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Embedded storage that appends binary profile records to a single log file.
+ * <p>An in-memory index maps each uuid to the offset of its latest record. Records are checksummed so a torn
+ * write at the end of the log is detected and truncated on startup, after a copy of the log is saved if the tail
+ * holds a complete record header. Damage anywhere else never truncates the log: a record with a bad checksum is
+ * skipped after a copy of the log is saved, and a record header that can't be read fails startup. The log is rewritten with only live records once stale records make up most of the file.
+ * <p>Appended records are forced to disk periodically and on close rather than on every save. A crash can lose
+ * up to {@value #SYNC_INTERVAL} ms of saves; the torn tail is discarded on the next startup.
+ * <pre>
+ * header: magic (8 bytes)
+ * record: payload length (int), crc32 (int), payload
+ * </pre>
+ */
+final class LogStorage extends AbstractStorage {
+  private static final String FILE_NAME = "profiles.log";
+  private static final byte[] MAGIC = "BNDLOG01".getBytes(StandardCharsets.US_ASCII);
+  private static final int RECORD_HEADER = Integer.BYTES + Integer.BYTES;
+  private static final int MAX_RECORD_SIZE = 1 << 20;
+  private static final int PARALLELISM = Math.max(Runtime.getRuntime().availableProcessors(), 2);
+  private static final int BATCH_SIZE = 256;
+  private static final long MIN_COMPACTION_SIZE = 1 << 20;
+  private static final long SYNC_INTERVAL = 1000;
+
+  private final Path logPath;
+  private final Path compactPath;
+  private final Map<UUID, Location> index;
+  // Appends and reads share the channel, compaction swaps it
+  private final ReentrantReadWriteLock channelLock;
+  private final ReentrantLock appendLock;
+  private final AtomicLong liveBytes;
+  private final AtomicBoolean compacting;
+  private final Task syncTask;
+  private FileChannel channel;
+  private volatile long end;
+  private volatile boolean dirty;
+
+  LogStorage(Logger logger, Path directory) {
+    super(logger, PARALLELISM);
+    this.logPath = directory.resolve(FILE_NAME);
+    this.compactPath = directory.resolve(FILE_NAME + ".compact");
+    this.index = new ConcurrentHashMap<>();
+    this.channelLock = new ReentrantReadWriteLock();
+    this.appendLock = new ReentrantLock();
+    this.liveBytes = new AtomicLong();
+    this.compacting = new AtomicBoolean();
+    try {
+      Files.createDirectories(directory);
+      // A leftover compaction file is incomplete, the original log is still intact
+      Files.deleteIfExists(compactPath);
+      this.channel = FileChannel.open(logPath, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+      recover();
+    } catch (IOException e) {
+      if (channel != null) {
+        try {
+          channel.close();
+        } catch (IOException suppressed) {
+          e.addSuppressed(suppressed);
+        }
+      }
+      throw new UncheckedIOException(e);
+    }
+    this.syncTask = Tasker.async().repeat(this::sync, SYNC_INTERVAL, TimeUnit.MILLISECONDS);
+  }
+
+  private void recover() throws IOException {
+    long size = channel.size();
+    if (size < MAGIC.length) {
+      channel.truncate(0);
+      channel.write(ByteBuffer.wrap(MAGIC), 0);
+      channel.force(true);
+      end = MAGIC.length;
+      return;
+    }
+    if (!Arrays.equals(MAGIC, read(channel, 0, MAGIC.length).array())) {
+      throw new IOException("Invalid storage log: " + logPath);
+    }
+    long position = MAGIC.length;
+    boolean damaged = false;
+    boolean zeroFilled = false;
+    while (position + RECORD_HEADER <= size) {
+      ByteBuffer header = read(channel, position, RECORD_HEADER);
+      int length = header.getInt();
+      int checksum = header.getInt();
+      if (length <= 0 || length > MAX_RECORD_SIZE) {
+        if (isZeroFilled(position, size)) {
+          zeroFilled = true; // Space was allocated for the last append but never written
+          break;
+        }
+        // Without a valid length the next record can't be found, truncating here would drop every record after it
+        throw new IOException(("Corrupted record header at offset %d in %s, the log was left unchanged. "
+          + "Restore it from a backup or move it away to start with an empty log.").formatted(position, logPath));
+      }
+      long next = position + RECORD_HEADER + length;
+      if (next > size) {
+        break; // Torn tail
+      }
+      byte[] payload = read(channel, position + RECORD_HEADER, length).array();
+      if (checksum(payload) == checksum) {
+        track(ProfileCodec.uuid(payload), new Location(position, RECORD_HEADER + length));
+      } else if (next == size) {
+        break; // The last append was only partially written
+      } else {
+        if (!damaged) {
+          damaged = true;
+          preserveDamagedLog();
+        }
+        logger.error("Skipping corrupted record at offset %d in %s.".formatted(position, logPath));
+      }
+      position = next;
+    }
+    if (position < size) {
+      // A corrupted length can look like a torn tail, keep a copy unless there's nothing that could be recovered
+      if (!damaged && !zeroFilled && size - position >= RECORD_HEADER) {
+        preserveDamagedLog();
+      }
+      logger.warn("Discarding %d bytes of incomplete records from %s.".formatted(size - position, logPath));
+      channel.truncate(position);
+      channel.force(true);
+    }
+    end = position;
+  }
+
+  private boolean isZeroFilled(long position, long size) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(8192);
+    while (position < size) {
+      buffer.clear().limit((int) Math.min(buffer.capacity(), size - position));
+      int read = channel.read(buffer, position);
+      if (read < 0) {
+        break;
+      }
+      for (int i = 0; i < read; i++) {
+        if (buffer.get(i) != 0) {
+          return false;
+        }
+      }
+      position += read;
+    }
+    return true;
+  }
+
+  // Discarded and skipped records are gone after truncation or the next compaction, keep a copy for manual recovery
+  private void preserveDamagedLog() throws IOException {
+    Path copy = logPath.resolveSibling(FILE_NAME + "." + System.currentTimeMillis() + ".damaged");
+    Files.copy(logPath, copy, StandardCopyOption.REPLACE_EXISTING);
+    logger.warn("Storage log %s is damaged, a copy was saved to %s.".formatted(logPath, copy));
+  }
+
+  private void track(UUID uuid, Location location) {
+    Location previous = index.put(uuid, location);
+    liveBytes.addAndGet(location.size() - (previous == null ? 0 : previous.size()));
+  }
+
+  @Override
+  public Set<UUID> loadUuids() {
+    return new HashSet<>(index.keySet());
+  }
+
+  @Override
+  public @Nullable BenderProfile loadProfile(UUID uuid) {
+    channelLock.readLock().lock();
+    try {
+      Location location = index.get(uuid);
+      return location == null ? null : readProfile(location);
+    } catch (IOException e) {
+      logger.warn(e.getMessage(), e);
+      return null;
+    } finally {
+      channelLock.readLock().unlock();
+    }
+  }
+
+  @Override
+  protected int batchSize() {
+    return BATCH_SIZE;
+  }
+
+  @Override
+  protected Map<UUID, BenderProfile> loadProfileBatch(Collection<UUID> uuids) {
+    Map<UUID, BenderProfile> results = new HashMap<>(uuids.size());
+    channelLock.readLock().lock();
+    try {
+      // Read in file order to keep access sequential
+      var locations = uuids.stream().map(index::get).filter(Objects::nonNull)
+        .sorted(Comparator.comparingLong(Location::offset)).toList();
+      for (Location location : locations) {
+        BenderProfile profile = readProfile(location);
+        results.put(profile.uuid(), profile);
+      }
+    } catch (IOException e) {
+      logger.warn(e.getMessage(), e);
+    } finally {
+      channelLock.readLock().unlock();
+    }
+    return results;
+  }
+
+  private BenderProfile readProfile(Location location) throws IOException {
+    ByteBuffer buffer = read(channel, location.offset(), location.size());
+    int length = buffer.getInt();
+    int checksum = buffer.getInt();
+    byte[] payload = new byte[length];
+    buffer.get(payload);
+    if (checksum(payload) != checksum) {
+      throw new IOException("Corrupted record at offset %d in %s".formatted(location.offset(), logPath));
+    }
+    return ProfileCodec.decode(payload);
+  }
+
+  @Override
+  public boolean saveProfile(BenderProfile profile) {
+    byte[] payload = ProfileCodec.encode(profile);
+    ByteBuffer buffer = ByteBuffer.allocate(RECORD_HEADER + payload.length);
+    buffer.putInt(payload.length).putInt(checksum(payload)).put(payload).flip();
+    channelLock.readLock().lock();
+    appendLock.lock();
+    try {
+      long offset = end;
+      while (buffer.hasRemaining()) {
+        channel.write(buffer, offset + buffer.position());
+      }
+      end = offset + buffer.capacity();
+      track(profile.uuid(), new Location(offset, buffer.capacity()));
+      dirty = true;
+    } catch (IOException e) {
+      logger.warn(e.getMessage(), e);
+      return false;
+    } finally {
+      appendLock.unlock();
+      channelLock.readLock().unlock();
+    }
+    if (shouldCompact() && compacting.compareAndSet(false, true)) {
+      Tasker.async().execute(this::compact);
+    }
+    return true;
+  }
+
+  private void sync() {
+    channelLock.readLock().lock();
+    try {
+      if (dirty && channel.isOpen()) {
+        dirty = false;
+        channel.force(false);
+      }
+    } catch (IOException e) {
+      dirty = true;
+      logger.warn(e.getMessage(), e);
+    } finally {
+      channelLock.readLock().unlock();
+    }
+  }
+
+  private boolean shouldCompact() {
+    long total = end - MAGIC.length;
+    return total >= MIN_COMPACTION_SIZE && total > 2 * liveBytes.get();
+  }
+
+  private void compact() {
+    channelLock.writeLock().lock();
+    try {
+      if (!channel.isOpen()) {
+        return;
+      }
+      long start = System.nanoTime();
+      long previousSize = end;
+      var entries = index.entrySet().stream()
+        .sorted(Comparator.comparingLong(e -> e.getValue().offset())).toList();
+      Map<UUID, Location> relocated = new HashMap<>(entries.size());
+      long position = MAGIC.length;
+      try (var out = FileChannel.open(compactPath, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+        out.write(ByteBuffer.wrap(MAGIC));
+        for (Entry<UUID, Location> entry : entries) {
+          Location location = entry.getValue();
+          ByteBuffer record = read(channel, location.offset(), location.size());
+          while (record.hasRemaining()) {
+            out.write(record);
+          }
+          relocated.put(entry.getKey(), new Location(position, location.size()));
+          position += location.size();
+        }
+        out.force(true);
+      }
+      channel.close();
+      Files.move(compactPath, logPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      channel = FileChannel.open(logPath, StandardOpenOption.READ, StandardOpenOption.WRITE);
+      index.putAll(relocated);
+      end = position;
+      logger.debug("Compacted storage log from %d to %d bytes in %d ms.".formatted(previousSize, end,
+        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+    } catch (IOException e) {
+      logger.warn(e.getMessage(), e);
+      reopen();
+    } finally {
+      compacting.set(false);
+      channelLock.writeLock().unlock();
+    }
+  }
+
+  // Called with the write lock held, after compaction failed while the log was closed
+  private void reopen() {
+    try {
+      Files.deleteIfExists(compactPath);
+      if (!channel.isOpen()) {
+        channel = FileChannel.open(logPath, StandardOpenOption.READ, StandardOpenOption.WRITE);
+      }
+    } catch (IOException e) {
+      logger.error(e.getMessage(), e);
+    }
+  }
+
+  @Override
+  public boolean isRemote() {
+    return false;
+  }
+
+  @Override
+  public String toString() {
+    return "Binary";
+  }
+
+  @Override
+  protected void closeResources() {
+    syncTask.cancel();
+    channelLock.writeLock().lock();
+    try {
+      channel.force(true);
+      channel.close();
+    } catch (IOException e) {
+      logger.warn(e.getMessage(), e);
+    } finally {
+      channelLock.writeLock().unlock();
+    }
+  }
+
+  private static int checksum(byte[] data) {
+    CRC32 crc = new CRC32();
+    crc.update(data);
+    return (int) crc.getValue();
+  }
+
+  private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(length);
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer, position + buffer.position()) < 0) {
+        throw new IOException("Unexpected end of storage log.");
+      }
+    }
+    return buffer.flip();
+  }
+
+  private record Location(long offset, int size) {
+  }
+}
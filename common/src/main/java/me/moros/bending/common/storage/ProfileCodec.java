@@ -0,0 +1,128 @@
+/*
+ * Copyright 2020-2024 Moros
+ *
+ * This file is part of Bending.
+ *
+ * Bending is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Bending is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bending. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.common.storage;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import me.moros.bending.api.ability.AbilityDescription;
+import me.moros.bending.api.ability.element.Element;
+import me.moros.bending.api.ability.preset.Preset;
+import me.moros.bending.api.registry.Registries;
+import me.moros.bending.api.user.profile.BenderProfile;
+import me.moros.bending.api.util.TextUtil;
+
+/**
+ * Compact binary encoding for {@link BenderProfile}.
+ * <p>Abilities are stored by key so records remain valid when abilities are added or removed.
+ * Unknown abilities and invalid presets are dropped when decoding.
+ */
+final class ProfileCodec {
+  private static final int VERSION = 1;
+
+  private ProfileCodec() {
+  }
+
+  static byte[] encode(BenderProfile profile) {
+    var bytes = new ByteArrayOutputStream(256);
+    try (var out = new DataOutputStream(bytes)) {
+      out.writeByte(VERSION);
+      out.writeLong(profile.uuid().getMostSignificantBits());
+      out.writeLong(profile.uuid().getLeastSignificantBits());
+      out.writeBoolean(profile.board());
+      int elements = 0;
+      for (Element element : profile.elements()) {
+        elements |= 1 << element.ordinal();
+      }
+      out.writeInt(elements);
+      writeAbilities(out, profile.slots());
+      out.writeShort(profile.presets().size());
+      for (Preset preset : profile.presets().values()) {
+        out.writeUTF(preset.name());
+        writeAbilities(out, preset);
+      }
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+    return bytes.toByteArray();
+  }
+
+  static BenderProfile decode(byte[] data) throws IOException {
+    try (var in = new DataInputStream(new ByteArrayInputStream(data))) {
+      int version = in.readUnsignedByte();
+      if (version != VERSION) {
+        throw new IOException("Unsupported profile record version: " + version);
+      }
+      UUID uuid = new UUID(in.readLong(), in.readLong());
+      boolean board = in.readBoolean();
+      int mask = in.readInt();
+      Set<Element> elements = EnumSet.noneOf(Element.class);
+      for (Element element : Element.values()) {
+        if ((mask & (1 << element.ordinal())) != 0) {
+          elements.add(element);
+        }
+      }
+      Preset slots = Preset.from(readAbilities(in));
+      int presetAmount = in.readUnsignedShort();
+      List<Preset> presets = new ArrayList<>(presetAmount);
+      for (int i = 0; i < presetAmount; i++) {
+        String name = in.readUTF();
+        AbilityDescription[] abilities = readAbilities(in);
+        if (TextUtil.sanitizeInput(name).equals(name)) {
+          presets.add(Preset.create(name, abilities));
+        }
+      }
+      return BenderProfile.of(uuid, board, elements, slots, presets);
+    }
+  }
+
+  static UUID uuid(byte[] data) {
+    ByteBuffer buffer = ByteBuffer.wrap(data, 1, Long.BYTES + Long.BYTES);
+    return new UUID(buffer.getLong(), buffer.getLong());
+  }
+
+  private static void writeAbilities(DataOutput out, Preset preset) throws IOException {
+    for (var desc : preset.abilities()) {
+      out.writeUTF(desc == null ? "" : desc.key().asString());
+    }
+  }
+
+  private static AbilityDescription[] readAbilities(DataInput in) throws IOException {
+    AbilityDescription[] result = new AbilityDescription[9];
+    for (int i = 0; i < result.length; i++) {
+      String key = in.readUTF();
+      if (!key.isEmpty()) {
+        result[i] = Registries.ABILITIES.fromString(key);
+      }
+    }
+    return result;
+  }
+}
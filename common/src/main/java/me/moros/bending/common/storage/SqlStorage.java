@@ -24,21 +24,28 @@ import java.sql.SQLException;
 import java.sql.Types;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import me.moros.bending.api.ability.AbilityDescription;
 import me.moros.bending.api.ability.element.Element;
 import me.moros.bending.api.ability.preset.Preset;
 import me.moros.bending.api.registry.Registries;
 import me.moros.bending.api.user.profile.BenderProfile;
+import me.moros.bending.api.util.Tasker;
 import me.moros.bending.api.util.collect.ElementSet;
 import me.moros.bending.common.logging.Logger;
 import me.moros.bending.common.storage.sql.PresetAccumulator;
@@ -47,9 +54,11 @@ import me.moros.bending.common.storage.sql.migration.V1__Rename_legacy_tables;
 import me.moros.bending.common.storage.sql.migration.V3__Migrate_from_legacy;
 import me.moros.bending.common.util.UUIDUtil;
 import me.moros.storage.StorageDataSource;
+import me.moros.tasker.Task;
 import net.kyori.adventure.util.Index;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.flywaydb.core.Flyway;
+import org.jdbi.v3.core.Handle;
 import org.jdbi.v3.core.Jdbi;
 import org.jdbi.v3.core.argument.AbstractArgumentFactory;
 import org.jdbi.v3.core.argument.Argument;
@@ -59,14 +68,33 @@ import org.jdbi.v3.core.statement.PreparedBatch;
 import org.jdbi.v3.core.statement.StatementContext;
 
 final class SqlStorage extends AbstractStorage {
+  private static final int BATCH_SIZE = 500;
+  // Amount of change log entries to keep for servers that are behind
+  private static final int CHANGE_RETENTION = 10_000;
+
   private final Index<UUID, AbilityDescription> abilityIndex;
 
   private final StorageDataSource dataSource;
   private final SqlDialect dialect;
   private final Jdbi DB;
+  // Last known persisted state for recently loaded or saved profiles, used to only write the difference
+  private final Cache<UUID, Snapshot> persisted;
+  private final boolean syncEnabled;
+  private final @Nullable Task syncTask;
+  private long lastChange;
 
   SqlStorage(Logger logger, StorageDataSource dataSource) {
-    super(logger);
+    this(logger, dataSource, 0);
+  }
+
+  /**
+   * Create a new sql storage.
+   * @param logger the logger to use
+   * @param dataSource the data source to use
+   * @param syncInterval the interval in seconds to poll for profile changes made by other servers, 0 to disable
+   */
+  SqlStorage(Logger logger, StorageDataSource dataSource, int syncInterval) {
+    super(logger, dataSource.source().getMaximumPoolSize());
     this.dataSource = dataSource;
     this.dialect = SqlDialect.createFor(logger, dataSource);
     migrateWithFlyway();
@@ -76,6 +104,14 @@ final class SqlStorage extends AbstractStorage {
       DB.registerColumnMapper(UUID.class, new BinaryUUIDColumnMapper());
     }
     this.abilityIndex = createAbilities();
+    this.persisted = Caffeine.newBuilder().maximumSize(4096).expireAfterAccess(30, TimeUnit.MINUTES).build();
+    this.syncEnabled = syncInterval > 0;
+    if (syncEnabled) {
+      this.lastChange = DB.withHandle(handle -> handle.createQuery(dialect.SELECT_LATEST_USER_CHANGE).mapTo(long.class).one());
+      this.syncTask = Tasker.async().repeat(this::pollChanges, syncInterval, TimeUnit.SECONDS);
+    } else {
+      this.syncTask = null;
+    }
   }
 
   private void migrateWithFlyway() {
@@ -88,7 +124,8 @@ final class SqlStorage extends AbstractStorage {
         "extraTableOptions", dialect.extraTableOptions(),
         "uuidType", dialect.uuidType(),
         "defineElementEnumType", dialect.defineElementEnumType(),
-        "elementEnumType", dialect.elementEnumType()
+        "elementEnumType", dialect.elementEnumType(),
+        "identityType", dialect.identityType()
       )).load();
     flyway.migrate();
   }
@@ -118,37 +155,221 @@ final class SqlStorage extends AbstractStorage {
     return DB.withHandle(handle -> handle.createQuery(dialect.SELECT_ALL_USER_UUIDS).mapTo(UUID.class).set());
   }
 
+  /**
+   * Poll the change log for profiles saved by other servers and drop any outdated snapshots.
+   */
+  private void pollChanges() {
+    try {
+      List<Change> changes = DB.withHandle(handle -> handle.createQuery(dialect.SELECT_USER_CHANGES).bind(0, lastChange)
+        .map((rs, ctx) -> new Change(rs.getLong("change_id"), mapUuid(rs, "user_id", ctx), rs.getLong("profile_version")))
+        .list());
+      if (changes.isEmpty()) {
+        return;
+      }
+      for (Change change : changes) {
+        Snapshot snapshot = persisted.getIfPresent(change.uuid());
+        if (snapshot != null && snapshot.version() < change.version()) {
+          persisted.invalidate(change.uuid());
+          notifyExternalChange(change.uuid());
+        }
+      }
+      lastChange = changes.getLast().id();
+      if (lastChange > CHANGE_RETENTION) {
+        DB.useHandle(handle -> handle.createUpdate(dialect.REMOVE_USER_CHANGES).bind(0, lastChange - CHANGE_RETENTION).execute());
+      }
+    } catch (Exception e) {
+      logger.warn(e.getMessage(), e);
+    }
+  }
+
   @Override
   public @Nullable BenderProfile loadProfile(UUID uuid) {
-    Boolean board = DB.withHandle(handle -> handle.createQuery(dialect.SELECT_USER_BY_UUID)
-      .bind(0, uuid).mapTo(boolean.class).findOne().orElse(null));
-    if (board == null) {
+    final Snapshot cached = persisted.getIfPresent(uuid);
+    Snapshot snapshot = DB.withHandle(handle -> loadSnapshot(handle, uuid, cached));
+    if (snapshot == null) {
+      persisted.invalidate(uuid);
+      return null;
+    }
+    persisted.put(uuid, snapshot);
+    return snapshot.profile();
+  }
+
+  private @Nullable Snapshot loadSnapshot(Handle handle, UUID uuid, @Nullable Snapshot cached) {
+    UserRow row = handle.createQuery(dialect.SELECT_USER_BY_UUID).bind(0, uuid)
+      .map((rs, ctx) -> new UserRow(rs.getBoolean("board"), rs.getLong("profile_version"))).findOne().orElse(null);
+    if (row == null) {
       return null;
     }
-    Set<Element> elements = getElements(uuid);
-    Map<String, Preset> presetMap = getSlotsAndPresets(uuid);
+    // Skip loading the whole profile if it hasn't been modified since it was last loaded or saved
+    if (cached != null && cached.version() == row.version()) {
+      return cached;
+    }
+    Set<Element> elements = getElements(handle, uuid);
+    Map<String, Preset> presetMap = getSlotsAndPresets(handle, uuid);
     Preset slots = presetMap.remove("");
     if (slots == null) {
       slots = Preset.empty();
     }
-    return BenderProfile.of(uuid, board, elements, slots, presetMap.values());
+    return new Snapshot(BenderProfile.of(uuid, row.board(), elements, slots, presetMap.values()), row.version());
+  }
+
+  @Override
+  protected int batchSize() {
+    return BATCH_SIZE;
+  }
+
+  @Override
+  protected Map<UUID, BenderProfile> loadProfileBatch(Collection<UUID> uuids) {
+    if (uuids.isEmpty()) {
+      return Map.of();
+    }
+    return DB.withHandle(handle -> {
+      Map<UUID, Boolean> boards = handle.createQuery(dialect.SELECT_USERS_BY_UUIDS).bindList("uuids", uuids)
+        .reduceResultSet(new HashMap<>(), (map, rs, ctx) -> {
+          map.put(mapUuid(rs, "user_id", ctx), rs.getBoolean("board"));
+          return map;
+        });
+      if (boards.isEmpty()) {
+        return Map.of();
+      }
+      Map<UUID, Set<Element>> elements = handle.createQuery(dialect.SELECT_USERS_ELEMENTS).bindList("uuids", uuids)
+        .reduceResultSet(new HashMap<>(), (map, rs, ctx) -> {
+          Element element = Element.fromName(rs.getString("element"));
+          if (element != null) {
+            map.computeIfAbsent(mapUuid(rs, "user_id", ctx), k -> ElementSet.mutable()).add(element);
+          }
+          return map;
+        });
+      Map<UUID, Map<String, AbilityDescription[]>> presets = handle.createQuery(dialect.SELECT_USERS_PRESETS)
+        .bindList("uuids", uuids).reduceResultSet(new HashMap<>(), (map, rs, ctx) -> {
+          UUID uuid = mapUuid(rs, "user_id", ctx);
+          String name = rs.getString("preset_name");
+          int slot = rs.getInt("slot");
+          AbilityDescription desc = getAbilityFromId(mapUuid(rs, "ability_id", ctx));
+          map.computeIfAbsent(uuid, k -> new HashMap<>()).computeIfAbsent(name, n -> new AbilityDescription[9])[slot - 1] = desc;
+          return map;
+        });
+      Map<UUID, BenderProfile> result = new HashMap<>(boards.size());
+      for (var entry : boards.entrySet()) {
+        UUID uuid = entry.getKey();
+        Map<String, Preset> presetMap = new HashMap<>();
+        presets.getOrDefault(uuid, Map.of()).forEach((name, abilities) -> presetMap.put(name, Preset.create(name, abilities)));
+        Preset slots = presetMap.remove("");
+        if (slots == null) {
+          slots = Preset.empty();
+        }
+        var userElements = elements.getOrDefault(uuid, Set.of());
+        result.put(uuid, BenderProfile.of(uuid, entry.getValue(), userElements, slots, presetMap.values()));
+      }
+      return result;
+    });
+  }
+
+  @Override
+  boolean isPersisted(BenderProfile profile) {
+    Snapshot snapshot = persisted.getIfPresent(profile.uuid());
+    return snapshot != null && profile.equals(snapshot.profile());
   }
 
   @Override
   public boolean saveProfile(BenderProfile profile) {
-    saveBoard(profile);
-    saveElements(profile);
-    savePresets(profile);
+    final UUID uuid = profile.uuid();
+    final Snapshot previous = persisted.getIfPresent(uuid);
+    if (previous != null && profile.equals(previous.profile())) {
+      return true;
+    }
+    Snapshot saved = DB.inTransaction(handle -> {
+      Snapshot base = previous;
+      BenderProfile result = profile;
+      // Optimistic check, if another server saved this profile merge into its state instead of overwriting it
+      if (base != null && !updateVersioned(handle, profile.board(), base)) {
+        Snapshot current = loadSnapshot(handle, uuid, null);
+        if (current != null) {
+          result = merge(base.profile(), profile, current.profile());
+          if (!updateVersioned(handle, result.board(), current)) {
+            throw new IllegalStateException("Profile for %s was modified concurrently.".formatted(uuid));
+          }
+        }
+        base = current;
+      }
+      long newVersion;
+      if (base == null) {
+        handle.createUpdate(dialect.insertUser()).bind(0, uuid).bind(1, result.board()).execute();
+        handle.createUpdate(dialect.INCREMENT_USER_VERSION).bind(0, uuid).execute();
+        newVersion = handle.createQuery(dialect.SELECT_USER_VERSION).bind(0, uuid).mapTo(long.class).one();
+      } else {
+        newVersion = base.version() + 1;
+      }
+      BenderProfile known = base == null ? null : base.profile();
+      saveElements(handle, result, known);
+      savePresets(handle, result, known);
+      if (syncEnabled) {
+        handle.createUpdate(dialect.INSERT_USER_CHANGE).bind(0, uuid).bind(1, newVersion).execute();
+      }
+      return new Snapshot(result, newVersion);
+    });
+    persisted.put(uuid, saved);
+    if (!saved.profile().equals(profile)) {
+      // The stored profile now includes changes made by another server
+      notifyExternalChange(uuid);
+    }
     return true;
   }
 
+  private boolean updateVersioned(Handle handle, boolean board, Snapshot base) {
+    return handle.createUpdate(dialect.UPDATE_USER_VERSIONED).bind(0, board).bind(1, base.version() + 1)
+      .bind(2, base.profile().uuid()).bind(3, base.version()).execute() > 0;
+  }
+
+  /**
+   * Three-way merge that applies the changes made since the base state on top of the currently stored profile.
+   * @param base the last state known to this server
+   * @param ours the state saved by this server
+   * @param theirs the state currently stored
+   * @return the merged profile
+   */
+  static BenderProfile merge(BenderProfile base, BenderProfile ours, BenderProfile theirs) {
+    boolean board = ours.board() != base.board() ? ours.board() : theirs.board();
+    Set<Element> elements = EnumSet.noneOf(Element.class);
+    elements.addAll(theirs.elements());
+    for (Element element : Element.values()) {
+      boolean added = ours.elements().contains(element);
+      if (added != base.elements().contains(element)) {
+        if (added) {
+          elements.add(element);
+        } else {
+          elements.remove(element);
+        }
+      }
+    }
+    Preset slots = ours.slots().equals(base.slots()) ? theirs.slots() : ours.slots();
+    Map<String, Preset> presets = new HashMap<>(theirs.presets());
+    Set<String> names = new HashSet<>(base.presets().keySet());
+    names.addAll(ours.presets().keySet());
+    for (String name : names) {
+      Preset preset = ours.presets().get(name);
+      if (!Objects.equals(preset, base.presets().get(name))) {
+        if (preset == null) {
+          presets.remove(name);
+        } else {
+          presets.put(name, preset);
+        }
+      }
+    }
+    return BenderProfile.of(theirs.uuid(), board, elements, slots, presets.values());
+  }
+
   @Override
   public boolean isRemote() {
     return !dataSource.type().isLocal();
   }
 
   @Override
-  public void close() {
+  protected void closeResources() {
+    if (syncTask != null) {
+      syncTask.cancel();
+    }
+    persisted.invalidateAll();
     dataSource.source().close();
   }
 
@@ -157,45 +378,60 @@ final class SqlStorage extends AbstractStorage {
     return dataSource.type().toString();
   }
 
-  private Set<Element> getElements(UUID uuid) {
-    return DB.withHandle(handle ->
-      handle.createQuery(dialect.SELECT_USER_ELEMENTS).bind(0, uuid)
-        .mapTo(String.class).map(Element::fromName).filter(Objects::nonNull).toCollection(ElementSet::mutable)
-    );
+  private Set<Element> getElements(Handle handle, UUID uuid) {
+    return handle.createQuery(dialect.SELECT_USER_ELEMENTS).bind(0, uuid)
+      .mapTo(String.class).map(Element::fromName).filter(Objects::nonNull).toCollection(ElementSet::mutable);
   }
 
-  private Map<String, Preset> getSlotsAndPresets(UUID uuid) {
-    return DB.withHandle(handle ->
-      handle.createQuery(dialect.SELECT_USER_PRESETS).bind(0, uuid)
-        .reduceRows(new PresetAccumulator(this::getAbilityFromId))
-        .collect(Collectors.toMap(Preset::name, Function.identity()))
-    );
+  private Map<String, Preset> getSlotsAndPresets(Handle handle, UUID uuid) {
+    return handle.createQuery(dialect.SELECT_USER_PRESETS).bind(0, uuid)
+      .reduceRows(new PresetAccumulator(this::getAbilityFromId))
+      .collect(Collectors.toMap(Preset::name, Function.identity()));
   }
 
-  private void saveBoard(BenderProfile profile) {
-    DB.useTransaction(handle ->
-      handle.createUpdate(dialect.insertUser()).bind(0, profile.uuid())
-        .bind(1, profile.board()).execute()
-    );
+  private void saveElements(Handle handle, BenderProfile profile, @Nullable BenderProfile previous) {
+    UUID userId = profile.uuid();
+    if (previous == null) {
+      handle.createUpdate(dialect.REMOVE_USER_ELEMENTS).bind(0, userId).execute();
+      insertElements(handle, userId, profile.elements());
+      return;
+    }
+    Set<Element> removed = EnumSet.noneOf(Element.class);
+    removed.addAll(previous.elements());
+    removed.removeAll(profile.elements());
+    Set<Element> added = EnumSet.noneOf(Element.class);
+    added.addAll(profile.elements());
+    added.removeAll(previous.elements());
+    if (!removed.isEmpty()) {
+      PreparedBatch batch = handle.prepareBatch(dialect.REMOVE_USER_ELEMENT);
+      for (Element element : removed) {
+        batch.bind(0, userId).bind(1, element.name().toLowerCase(Locale.ROOT)).add();
+      }
+      batch.execute();
+    }
+    insertElements(handle, userId, added);
   }
 
-  private void saveElements(BenderProfile profile) {
-    DB.useTransaction(handle -> {
-      handle.createUpdate(dialect.REMOVE_USER_ELEMENTS).bind(0, profile.uuid()).execute();
-      if (!profile.elements().isEmpty()) {
-        PreparedBatch batch = handle.prepareBatch(dialect.INSERT_USER_ELEMENTS);
-        for (Element element : profile.elements()) {
-          batch.bind(0, profile.uuid()).bind(1, element.name().toLowerCase(Locale.ROOT)).add();
-        }
-        batch.execute();
+  private void insertElements(Handle handle, UUID userId, Collection<Element> elements) {
+    if (!elements.isEmpty()) {
+      PreparedBatch batch = handle.prepareBatch(dialect.upsertUserElement());
+      for (Element element : elements) {
+        batch.bind(0, userId).bind(1, element.name().toLowerCase(Locale.ROOT)).add();
       }
-    });
+      batch.execute();
+    }
   }
 
-  private void savePresets(BenderProfile profile) {
-    // Loading the currently stored presets to only save the difference
+  private void savePresets(Handle handle, BenderProfile profile, @Nullable BenderProfile previous) {
+    // Only save the difference, the stored presets are loaded if the previous state is unknown
     UUID userId = profile.uuid();
-    var oldPresets = getSlotsAndPresets(userId).values();
+    Collection<Preset> oldPresets;
+    if (previous == null) {
+      oldPresets = getSlotsAndPresets(handle, userId).values();
+    } else {
+      oldPresets = new ArrayList<>(previous.presets().values());
+      oldPresets.add(previous.slots());
+    }
     var newPresets = profile.presets().values();
 
     Set<Preset> removed = new HashSet<>(oldPresets);
@@ -207,43 +443,43 @@ final class SqlStorage extends AbstractStorage {
     added.removeAll(oldPresets);
     added.removeIf(Preset::isEmpty);
 
-    deletePresets(userId, removed);
-    savePresets(userId, added);
+    // Presets are replaced by name so remove any stored presets that are about to be inserted
+    Set<String> names = new HashSet<>();
+    removed.forEach(p -> names.add(p.name()));
+    added.forEach(p -> names.add(p.name()));
+    deletePresets(handle, userId, names);
+    insertPresets(handle, userId, added);
   }
 
-  private void savePresets(UUID userId, Collection<Preset> presets) {
+  private void insertPresets(Handle handle, UUID userId, Collection<Preset> presets) {
     if (presets.isEmpty()) {
       return;
     }
-    DB.useTransaction(handle -> {
-      PreparedBatch presetBatch = handle.prepareBatch(dialect.INSERT_USER_PRESET_WITH_ID);
-      PreparedBatch presetSlotBatch = handle.prepareBatch(dialect.INSERT_USER_PRESET_SLOTS);
-      for (Preset preset : presets) {
-        UUID presetId = UUID.randomUUID();
-        presetBatch.bind(0, presetId).bind(1, userId).bind(2, preset.name()).add();
-        preset.forEach((desc, idx) -> presetSlotBatch
-          .bind(0, presetId)
-          .bind(1, idx + 1)
-          .bind(2, abilityIndex.key(desc))
-          .add()
-        );
-      }
-      presetBatch.execute();
-      presetSlotBatch.execute();
-    });
+    PreparedBatch presetBatch = handle.prepareBatch(dialect.INSERT_USER_PRESET_WITH_ID);
+    PreparedBatch presetSlotBatch = handle.prepareBatch(dialect.INSERT_USER_PRESET_SLOTS);
+    for (Preset preset : presets) {
+      UUID presetId = UUID.randomUUID();
+      presetBatch.bind(0, presetId).bind(1, userId).bind(2, preset.name()).add();
+      preset.forEach((desc, idx) -> presetSlotBatch
+        .bind(0, presetId)
+        .bind(1, idx + 1)
+        .bind(2, abilityIndex.key(desc))
+        .add()
+      );
+    }
+    presetBatch.execute();
+    presetSlotBatch.execute();
   }
 
-  private void deletePresets(UUID userId, Collection<Preset> presets) {
-    if (presets.isEmpty()) {
+  private void deletePresets(Handle handle, UUID userId, Collection<String> presetNames) {
+    if (presetNames.isEmpty()) {
       return;
     }
-    DB.useTransaction(handle -> {
-      PreparedBatch batch = handle.prepareBatch(dialect.REMOVE_USER_PRESET);
-      for (Preset preset : presets) {
-        batch.bind(0, userId).bind(1, preset.name()).add();
-      }
-      batch.execute();
-    });
+    PreparedBatch batch = handle.prepareBatch(dialect.REMOVE_USER_PRESET);
+    for (String name : presetNames) {
+      batch.bind(0, userId).bind(1, name).add();
+    }
+    batch.execute();
   }
 
   private @Nullable AbilityDescription getAbilityFromId(UUID uuid) {
@@ -260,6 +496,15 @@ final class SqlStorage extends AbstractStorage {
       ctx.findColumnMapperFor(UUID.class).orElseThrow().map(rs, column, ctx);
   }
 
+  private record Snapshot(BenderProfile profile, long version) {
+  }
+
+  private record UserRow(boolean board, long version) {
+  }
+
+  private record Change(long id, UUID uuid, long version) {
+  }
+
   private static final class UUIDArgumentFactory extends AbstractArgumentFactory<UUID> {
     private UUIDArgumentFactory() {
       super(Types.BINARY);
@@ -36,22 +36,36 @@ public enum StorageEngine {
   H2(StorageType.H2),
   HSQL(StorageType.HSQL),
   // Flat file
-  JSON("JSON", JsonLoader::new);
+  JSON("JSON", JsonLoader::new),
+  // Embedded log
+  BINARY("BINARY");
+
+  public enum Kind {
+    SQL,
+    FLAT_FILE,
+    LOG
+  }
 
   private final String name;
+  private final Kind kind;
   private final StorageType type;
   private final Supplier<Loader<?>> loaderSupplier;
 
   StorageEngine(StorageType type) {
-    this(type.toString(), type, () -> null);
+    this(type.toString(), Kind.SQL, type, () -> null);
   }
 
   StorageEngine(String name, Supplier<Loader<?>> loaderSupplier) {
-    this(name, null, loaderSupplier);
+    this(name, Kind.FLAT_FILE, null, loaderSupplier);
+  }
+
+  StorageEngine(String name) {
+    this(name, Kind.LOG, null, () -> null);
   }
 
-  StorageEngine(String name, @Nullable StorageType type, Supplier<@Nullable Loader<?>> loaderSupplier) {
+  StorageEngine(String name, Kind kind, @Nullable StorageType type, Supplier<@Nullable Loader<?>> loaderSupplier) {
     this.name = name;
+    this.kind = kind;
     this.type = type;
     this.loaderSupplier = loaderSupplier;
   }
@@ -61,6 +75,10 @@ public enum StorageEngine {
     return name;
   }
 
+  public Kind kind() {
+    return kind;
+  }
+
   public Optional<StorageType> type() {
     return Optional.ofNullable(type);
   }
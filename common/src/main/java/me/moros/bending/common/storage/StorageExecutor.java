@@ -0,0 +1,189 @@
+/*
+ * Copyright 2020-2024 Moros
+ *
+ * This file is part of Bending.
+ *
+ * Bending is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Bending is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bending. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.common.storage;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Executor with a fixed concurrency limit that is tied to what the underlying storage can handle.
+ * Interactive (per player) tasks always run before bulk tasks, and bulk submissions block once
+ * too many are already queued, applying backpressure to the submitting thread.
+ */
+final class StorageExecutor {
+  enum Priority {
+    INTERACTIVE,
+    BULK
+  }
+
+  private final PriorityBlockingQueue<Job<?>> queue;
+  private final Semaphore bulkCapacity;
+  private final AtomicLong sequence;
+  private final LongAdder[] queued;
+  private final LongAdder completed;
+  private final LongAdder waitNanos;
+  private final AtomicLong maxWaitNanos;
+  private final Thread[] workers;
+
+  private volatile boolean running = true;
+
+  StorageExecutor(String name, int parallelism, int bulkQueueCapacity) {
+    this.queue = new PriorityBlockingQueue<>();
+    this.bulkCapacity = new Semaphore(Math.max(1, bulkQueueCapacity));
+    this.sequence = new AtomicLong();
+    this.queued = new LongAdder[]{new LongAdder(), new LongAdder()};
+    this.completed = new LongAdder();
+    this.waitNanos = new LongAdder();
+    this.maxWaitNanos = new AtomicLong();
+    this.workers = new Thread[Math.max(1, parallelism)];
+    var factory = Thread.ofVirtual().name(name + "-", 0).factory();
+    for (int i = 0; i < workers.length; i++) {
+      workers[i] = factory.newThread(this::work);
+      workers[i].start();
+    }
+  }
+
+  /**
+   * Submit a task to be executed. Bulk submissions will block while the bulk queue is full.
+   * @param priority the task priority
+   * @param supplier the task to execute
+   * @param <R> the result type
+   * @return a future with the result
+   */
+  <R> CompletableFuture<R> submit(Priority priority, Supplier<R> supplier) {
+    CompletableFuture<R> future = new CompletableFuture<>();
+    if (!running) {
+      future.completeExceptionally(new IllegalStateException("Storage executor has been shut down"));
+      return future;
+    }
+    if (priority == Priority.BULK) {
+      try {
+        bulkCapacity.acquire();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        future.completeExceptionally(e);
+        return future;
+      }
+    }
+    Job<R> job = new Job<>(priority, sequence.getAndIncrement(), System.nanoTime(), supplier, future);
+    queued[priority.ordinal()].increment();
+    queue.add(job);
+    // Shutdown may have drained the queue while this job was being submitted
+    if (!running && queue.remove(job)) {
+      reject(job);
+    }
+    return future;
+  }
+
+  private void work() {
+    while (running || !queue.isEmpty()) {
+      Job<?> job;
+      try {
+        job = queue.poll(100, TimeUnit.MILLISECONDS);
+      } catch (InterruptedException e) {
+        return;
+      }
+      if (job != null) {
+        run(job);
+      }
+    }
+  }
+
+  private <R> void run(Job<R> job) {
+    queued[job.priority().ordinal()].decrement();
+    long wait = System.nanoTime() - job.enqueueTime();
+    waitNanos.add(wait);
+    maxWaitNanos.accumulateAndGet(wait, Math::max);
+    try {
+      job.future().complete(job.supplier().get());
+    } catch (Throwable t) {
+      job.future().completeExceptionally(t);
+    } finally {
+      completed.increment();
+      if (job.priority() == Priority.BULK) {
+        bulkCapacity.release();
+      }
+    }
+  }
+
+  private void reject(Job<?> job) {
+    queued[job.priority().ordinal()].decrement();
+    if (job.priority() == Priority.BULK) {
+      bulkCapacity.release();
+    }
+    job.future().completeExceptionally(new IllegalStateException("Storage executor has been shut down"));
+  }
+
+  /**
+   * Stop accepting tasks and wait for queued tasks to finish.
+   * Any task still queued once the workers exit or the timeout elapses is completed exceptionally.
+   * @param timeout the maximum time to wait
+   * @param unit the time unit of the timeout argument
+   * @return true if all workers finished before the timeout elapsed
+   */
+  boolean shutdown(long timeout, TimeUnit unit) {
+    running = false;
+    long deadline = System.nanoTime() + unit.toNanos(timeout);
+    boolean finished = true;
+    try {
+      for (Thread worker : workers) {
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0 || !worker.join(Duration.ofNanos(remaining))) {
+          finished = false;
+          break;
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      finished = false;
+    }
+    Job<?> job;
+    while ((job = queue.poll()) != null) {
+      reject(job);
+    }
+    return finished;
+  }
+
+  Stats stats() {
+    long count = completed.sum();
+    double averageWait = count == 0 ? 0 : waitNanos.sum() / (count * 1_000_000.0);
+    double maxWait = maxWaitNanos.get() / 1_000_000.0;
+    return new Stats(queued[0].intValue(), queued[1].intValue(), count, averageWait, maxWait);
+  }
+
+  record Stats(int interactiveQueued, int bulkQueued, long completed, double averageWaitMillis,
+               double maxWaitMillis) {
+  }
+
+  private record Job<R>(Priority priority, long sequence, long enqueueTime, Supplier<R> supplier,
+                        CompletableFuture<R> future) implements Comparable<Job<?>> {
+    @Override
+    public int compareTo(Job<?> o) {
+      int result = priority.compareTo(o.priority);
+      return result != 0 ? result : Long.compare(sequence, o.sequence);
+    }
+  }
+}
@@ -23,6 +23,8 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
 
 import me.moros.bending.api.config.Configurable;
 import me.moros.bending.api.storage.BendingStorage;
@@ -38,18 +40,40 @@ import org.spongepowered.configurate.objectmapping.meta.Comment;
 
 /**
  * Factory class that constructs and returns a Hikari-based database storage for Bending.
+ * All storage engines are wrapped in a write-behind layer that coalesces profile saves.
  * @see BendingStorage
  */
 public record StorageFactory(Bending plugin) {
   public @Nullable BendingStorage createInstance() {
     Config config = ConfigManager.load(Config::new);
-    return config.engine.loader().map(this::fileStorage).orElseGet(() -> sqlStorage(config));
+    BendingStorage storage = switch (config.engine.kind()) {
+      case SQL -> sqlStorage(config);
+      case FLAT_FILE -> fileStorage(config.engine.loader().orElseThrow());
+      case LOG -> logStorage();
+    };
+    return storage == null ? null : new WriteBehindStorage(plugin.logger(), storage);
+  }
+
+  /**
+   * Register a listener that is notified when a profile is modified by another server.
+   * @param storage the storage to observe
+   * @param listener the listener that accepts the uuid of the modified profile
+   */
+  public static void onExternalChange(BendingStorage storage, Consumer<UUID> listener) {
+    BendingStorage target = storage instanceof WriteBehindStorage writeBehind ? writeBehind.delegate() : storage;
+    if (target instanceof AbstractStorage abstractStorage) {
+      abstractStorage.onExternalChange(listener);
+    }
   }
 
   private BendingStorage fileStorage(Loader<?> loader) {
     return new FileStorage(plugin.logger(), plugin.path().resolve("data").resolve("flatfile"), loader);
   }
 
+  private BendingStorage logStorage() {
+    return new LogStorage(plugin.logger(), plugin.path().resolve("data").resolve("binary"));
+  }
+
   private @Nullable BendingStorage sqlStorage(Config config) {
     StorageType storageType = config.engine.type().orElseThrow();
     Builder builder = StorageDataSource.builder(storageType).database(config.database)
@@ -83,7 +107,10 @@ public record StorageFactory(Bending plugin) {
       builder.path(Path.of(parent.resolve("bending").toUri()));
     }
     StorageDataSource data = builder.build("bending-hikari");
-    return data == null ? null : new SqlStorage(plugin.logger(), data);
+    if (data == null) {
+      return null;
+    }
+    return new SqlStorage(plugin.logger(), data, config.syncInterval);
   }
 
   private static final class Config implements Configurable {
@@ -96,7 +123,8 @@ public record StorageFactory(Bending plugin) {
       - Local:
         > H2 (preferred)
         > HSQL
-        > JSON""")
+        > JSON
+        > BINARY""")
     private StorageEngine engine = StorageEngine.H2;
     private String host = "localhost";
     private int port = 5432;
@@ -104,6 +132,11 @@ public record StorageFactory(Bending plugin) {
     private String password = "password";
     private String database = "bending";
     private PoolSettings poolSettings = new PoolSettings();
+    @Comment("""
+      Interval in seconds to check for profiles saved by other servers sharing the same database.
+      Only enable this when multiple servers share the database, every save also records a change entry while enabled.
+      Set to 0 to disable.""")
+    private int syncInterval = 0;
 
     @Override
     public List<String> path() {
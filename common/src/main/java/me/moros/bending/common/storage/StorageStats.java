@@ -0,0 +1,49 @@
+/*
+ * Copyright 2020-2024 Moros
+ *
+ * This file is part of Bending.
+ *
+ * Bending is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Bending is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bending. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.common.storage;
+
+import me.moros.bending.api.storage.BendingStorage;
+
+/**
+ * Snapshot of the storage write-behind buffer and executor queues.
+ * @param pendingWrites the amount of profiles waiting to be flushed by the write-behind layer
+ * @param interactiveQueued the amount of queued interactive storage tasks
+ * @param bulkQueued the amount of queued bulk storage tasks
+ * @param completed the amount of storage tasks completed so far
+ * @param averageWaitMillis the average time tasks spent queued
+ * @param maxWaitMillis the max time a task spent queued
+ */
+public record StorageStats(int pendingWrites, int interactiveQueued, int bulkQueued, long completed,
+                           double averageWaitMillis, double maxWaitMillis) {
+  public static StorageStats of(BendingStorage storage) {
+    int pending = 0;
+    BendingStorage target = storage;
+    if (storage instanceof WriteBehindStorage writeBehind) {
+      pending = writeBehind.pendingWrites();
+      target = writeBehind.delegate();
+    }
+    if (target instanceof AbstractStorage abstractStorage) {
+      var stats = abstractStorage.executorStats();
+      return new StorageStats(pending, stats.interactiveQueued(), stats.bulkQueued(), stats.completed(),
+        stats.averageWaitMillis(), stats.maxWaitMillis());
+    }
+    return new StorageStats(pending, 0, 0, 0, 0, 0);
+  }
+}
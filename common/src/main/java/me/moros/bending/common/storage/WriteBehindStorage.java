@@ -0,0 +1,400 @@
+/*
+ * Copyright 2020-2024 Moros
+ *
+ * This file is part of Bending.
+ *
+ * Bending is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Bending is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bending. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.common.storage;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import me.moros.bending.api.storage.BendingStorage;
+import me.moros.bending.api.user.profile.BenderProfile;
+import me.moros.bending.api.util.Tasker;
+import me.moros.bending.common.logging.Logger;
+import me.moros.tasker.Task;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Write-behind layer that coalesces bulk profile saves and flushes them in periodic batches through the bulk path
+ * of the underlying storage. Single profile saves (i.e. a player quitting) are written right away so other servers
+ * never load an outdated profile.
+ * <p>Writes for the same user are serialized: at most one write per user is in progress and newer states wait for it
+ * to complete, so an older snapshot can never overwrite a newer one. The amount of queued profiles is bounded,
+ * bulk saves wait for capacity off the calling thread when the queue is full.
+ * Profiles that the underlying storage reports as persisted are considered clean and skip I/O entirely.
+ */
+final class WriteBehindStorage implements BendingStorage {
+  private static final long FLUSH_INTERVAL = 1000;
+  private static final int BATCH_SIZE = 256;
+  private static final int CAPACITY = 4096;
+  private static final int MAX_ATTEMPTS = 3;
+
+  private final Logger logger;
+  private final BendingStorage delegate;
+  private final Map<UUID, Slot> slots;
+  private final Semaphore capacity;
+  private final AtomicBoolean flushRequested;
+  private final Task flushTask;
+
+  WriteBehindStorage(Logger logger, BendingStorage delegate) {
+    this.logger = logger;
+    this.delegate = delegate;
+    this.slots = new ConcurrentHashMap<>();
+    this.capacity = new Semaphore(CAPACITY);
+    this.flushRequested = new AtomicBoolean();
+    this.flushTask = Tasker.async().repeat(this::flush, FLUSH_INTERVAL, TimeUnit.MILLISECONDS);
+  }
+
+  BendingStorage delegate() {
+    return delegate;
+  }
+
+  int pendingWrites() {
+    return CAPACITY - capacity.availablePermits();
+  }
+
+  @Override
+  public Set<UUID> loadUuids() {
+    return delegate.loadUuids();
+  }
+
+  @Override
+  public CompletableFuture<Set<UUID>> loadUuidsAsync() {
+    return delegate.loadUuidsAsync();
+  }
+
+  @Override
+  public @Nullable BenderProfile loadProfile(UUID uuid) {
+    BenderProfile unsaved = unsaved(uuid);
+    return unsaved != null ? unsaved : delegate.loadProfile(uuid);
+  }
+
+  @Override
+  public CompletableFuture<@Nullable BenderProfile> loadProfileAsync(UUID uuid) {
+    BenderProfile unsaved = unsaved(uuid);
+    if (unsaved != null) {
+      return CompletableFuture.completedFuture(unsaved);
+    }
+    return delegate.loadProfileAsync(uuid);
+  }
+
+  @Override
+  public Map<UUID, BenderProfile> loadProfiles(Set<UUID> uuids) {
+    Map<UUID, BenderProfile> unsaved = unsaved(uuids);
+    return overlay(delegate.loadProfiles(uuids), unsaved);
+  }
+
+  @Override
+  public CompletableFuture<Map<UUID, BenderProfile>> loadProfilesAsync(Set<UUID> uuids, LongAdder progressCounter) {
+    // Anything not yet written when the load starts may be missing from the result, so it's overlaid afterwards
+    Map<UUID, BenderProfile> unsaved = unsaved(uuids);
+    return delegate.loadProfilesAsync(uuids, progressCounter).thenApply(result -> overlay(result, unsaved));
+  }
+
+  @Override
+  public boolean saveProfile(BenderProfile profile) {
+    return saveProfileAsync(profile).join();
+  }
+
+  @Override
+  public CompletableFuture<Boolean> saveProfileAsync(BenderProfile profile) {
+    Slot slot = slots.compute(profile.uuid(), (uuid, s) -> {
+      return s == null && isClean(profile) ? null : Slot.offer(s, profile, true, false);
+    });
+    if (slot == null) {
+      return CompletableFuture.completedFuture(true);
+    }
+    CompletableFuture<Boolean> future = Objects.requireNonNull(slot.pending()).future();
+    writeUrgent(profile.uuid());
+    return future;
+  }
+
+  @Override
+  public boolean saveProfiles(Collection<BenderProfile> profiles) {
+    boolean result = false;
+    for (var profile : profiles) {
+      result |= saveProfile(profile);
+    }
+    return result;
+  }
+
+  @Override
+  public CompletableFuture<Boolean> saveProfilesAsync(Collection<BenderProfile> profiles, LongAdder progressCounter) {
+    if (profiles.isEmpty()) {
+      return CompletableFuture.completedFuture(false);
+    }
+    // Queueing waits for capacity so it's done off the calling thread
+    return CompletableFuture.supplyAsync(() -> enqueueAll(profiles, progressCounter), Tasker.async())
+      .thenCompose(Function.identity());
+  }
+
+  @Override
+  public boolean isRemote() {
+    return delegate.isRemote();
+  }
+
+  @Override
+  public void close() {
+    flushTask.cancel();
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (!slots.isEmpty()) {
+      flush();
+      CompletableFuture<?>[] inFlight = slots.values().stream().map(Slot::inFlight).filter(Objects::nonNull)
+        .map(PendingSave::future).toArray(CompletableFuture[]::new);
+      try {
+        CompletableFuture.allOf(inFlight).get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+      } catch (TimeoutException e) {
+        logger.warn("Timed out while waiting for %d pending profile saves.".formatted(slots.size()));
+        break;
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      } catch (Exception ignore) {
+        // Failures are logged by the save itself
+      }
+    }
+    delegate.close();
+  }
+
+  @Override
+  public String toString() {
+    return delegate.toString();
+  }
+
+  private boolean isClean(BenderProfile profile) {
+    return delegate instanceof AbstractStorage storage && storage.isPersisted(profile);
+  }
+
+  private @Nullable BenderProfile unsaved(UUID uuid) {
+    Slot slot = slots.get(uuid);
+    return slot == null ? null : slot.latest();
+  }
+
+  private Map<UUID, BenderProfile> unsaved(Set<UUID> uuids) {
+    Map<UUID, BenderProfile> result = new HashMap<>();
+    for (UUID uuid : uuids) {
+      BenderProfile profile = unsaved(uuid);
+      if (profile != null) {
+        result.put(uuid, profile);
+      }
+    }
+    return result;
+  }
+
+  private Map<UUID, BenderProfile> overlay(Map<UUID, BenderProfile> loaded, Map<UUID, BenderProfile> unsaved) {
+    if (unsaved.isEmpty()) {
+      return loaded;
+    }
+    Map<UUID, BenderProfile> result = new HashMap<>(loaded);
+    result.putAll(unsaved);
+    return result;
+  }
+
+  private CompletableFuture<Boolean> enqueueAll(Collection<BenderProfile> profiles, LongAdder progressCounter) {
+    List<CompletableFuture<Boolean>> futures = new ArrayList<>(profiles.size());
+    for (var profile : profiles) {
+      futures.add(enqueue(profile).whenComplete((ignore, t) -> progressCounter.increment()));
+    }
+    return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+      .thenApply(ignore -> futures.stream().allMatch(CompletableFuture::join));
+  }
+
+  private CompletableFuture<Boolean> enqueue(BenderProfile profile) {
+    UUID uuid = profile.uuid();
+    // Replacing an already queued state needs no extra capacity
+    Slot slot = slots.computeIfPresent(uuid, (k, s) -> s.pending() == null ? s : Slot.offer(s, profile, false, false));
+    if (slot != null && slot.pending() != null) {
+      return slot.pending().future();
+    }
+    if (slot == null && isClean(profile)) {
+      return CompletableFuture.completedFuture(true);
+    }
+    try {
+      if (!capacity.tryAcquire()) {
+        requestFlush();
+        capacity.acquire();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return CompletableFuture.completedFuture(false);
+    }
+    AtomicBoolean unused = new AtomicBoolean();
+    slot = slots.compute(uuid, (k, s) -> {
+      unused.set(s != null && s.pending() != null);
+      return Slot.offer(s, profile, false, !unused.get());
+    });
+    if (unused.get()) {
+      capacity.release();
+    }
+    if (pendingWrites() >= BATCH_SIZE) {
+      requestFlush();
+    }
+    return Objects.requireNonNull(slot.pending()).future();
+  }
+
+  private void requestFlush() {
+    if (flushRequested.compareAndSet(false, true)) {
+      Tasker.async().execute(this::flush);
+    }
+  }
+
+  private void flush() {
+    flushRequested.set(false);
+    List<PendingSave> batch = new ArrayList<>(BATCH_SIZE);
+    for (UUID uuid : slots.keySet()) {
+      PendingSave save = start(uuid, true);
+      if (save != null) {
+        batch.add(save);
+        if (batch.size() >= BATCH_SIZE) {
+          writeBatch(batch);
+          batch = new ArrayList<>(BATCH_SIZE);
+        }
+      }
+    }
+    if (!batch.isEmpty()) {
+      writeBatch(batch);
+    }
+  }
+
+  /**
+   * Moves the queued state of the given user to in progress, unless a write for that user is already in progress.
+   * @param uuid the uuid of the user
+   * @param flushing whether non-urgent states should also be started
+   * @return the started save or null if nothing was started
+   */
+  private @Nullable PendingSave start(UUID uuid, boolean flushing) {
+    AtomicReference<@Nullable PendingSave> started = new AtomicReference<>();
+    slots.computeIfPresent(uuid, (k, s) -> {
+      PendingSave save = s.pending();
+      if (s.inFlight() != null || save == null || !(flushing || save.urgent())) {
+        return s;
+      }
+      started.set(save);
+      return new Slot(null, save);
+    });
+    PendingSave save = started.get();
+    if (save != null && save.counted()) {
+      capacity.release();
+    }
+    return save;
+  }
+
+  private void writeUrgent(UUID uuid) {
+    PendingSave save = start(uuid, false);
+    if (save != null) {
+      write(save);
+    }
+  }
+
+  private void write(PendingSave save) {
+    delegate.saveProfileAsync(save.profile()).whenComplete((result, t) -> complete(save, result != null && result));
+  }
+
+  private void writeBatch(List<PendingSave> batch) {
+    List<BenderProfile> profiles = batch.stream().map(PendingSave::profile).toList();
+    // The bulk result is all or nothing, profiles that were written are clean when retried
+    delegate.saveProfilesAsync(profiles).whenComplete((result, t) -> {
+      boolean success = result != null && result;
+      batch.forEach(save -> complete(save, success));
+    });
+  }
+
+  private void complete(PendingSave save, boolean success) {
+    UUID uuid = save.profile().uuid();
+    PendingSave retry = !success && save.attempts() + 1 < MAX_ATTEMPTS ? save.retry() : null;
+    AtomicReference<@Nullable PendingSave> next = new AtomicReference<>();
+    slots.compute(uuid, (k, s) -> {
+      PendingSave pending = s == null ? null : s.pending();
+      next.set(pending);
+      if (retry != null && pending == null) {
+        // Keep the user locked until the retry completes
+        return new Slot(null, retry);
+      }
+      return pending == null ? null : new Slot(pending, null);
+    });
+    PendingSave newer = next.get();
+    if (success) {
+      save.future().complete(true);
+    } else if (newer != null) {
+      // A newer state replaces the failed one
+      newer.future().whenComplete((result, t) -> save.future().complete(result != null && result));
+    } else if (retry != null) {
+      logger.warn("Failed to save profile for %s, retrying.".formatted(uuid));
+      Tasker.async().submit(() -> write(retry), FLUSH_INTERVAL, TimeUnit.MILLISECONDS);
+    } else {
+      logger.error("Failed to save profile for %s after %d attempts.".formatted(uuid, MAX_ATTEMPTS));
+      save.future().complete(false);
+    }
+    writeUrgent(uuid);
+  }
+
+  /**
+   * The write state of a single user. At least one of the states is always present.
+   * @param pending the queued state waiting to be written
+   * @param inFlight the state currently being written
+   */
+  private record Slot(@Nullable PendingSave pending, @Nullable PendingSave inFlight) {
+    private BenderProfile latest() {
+      return pending != null ? pending.profile() : Objects.requireNonNull(inFlight).profile();
+    }
+
+    private static Slot offer(@Nullable Slot slot, BenderProfile profile, boolean urgent, boolean counted) {
+      if (slot == null) {
+        return new Slot(new PendingSave(profile, new CompletableFuture<>(), urgent, counted, 0), null);
+      }
+      PendingSave old = slot.pending();
+      PendingSave save;
+      if (old == null) {
+        save = new PendingSave(profile, new CompletableFuture<>(), urgent, counted, 0);
+      } else {
+        save = new PendingSave(profile, old.future(), urgent || old.urgent(), counted || old.counted(), 0);
+      }
+      return new Slot(save, slot.inFlight());
+    }
+  }
+
+  /**
+   * A profile state waiting to be written.
+   * @param profile the profile to write
+   * @param future the future completed once the profile or a newer state of it is written
+   * @param urgent whether to write without waiting for the next flush
+   * @param counted whether this state takes up queue capacity
+   * @param attempts the amount of failed attempts so far
+   */
+  private record PendingSave(BenderProfile profile, CompletableFuture<Boolean> future, boolean urgent,
+                             boolean counted, int attempts) {
+    private PendingSave retry() {
+      return new PendingSave(profile, future, urgent, false, attempts + 1);
+    }
+  }
+}
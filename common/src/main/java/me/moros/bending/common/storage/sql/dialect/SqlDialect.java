@@ -42,10 +42,14 @@ public sealed interface SqlDialect extends SqlQueries permits SqlDialectImpl {
 
   String elementEnumType();
 
+  String identityType();
+
   String insertAbilities();
 
   String insertUser();
 
+  String upsertUserElement();
+
   static SqlDialect createFor(Logger logger, StorageDataSource source) {
     StorageType type = source.type();
     if (type == StorageType.SQLITE) {
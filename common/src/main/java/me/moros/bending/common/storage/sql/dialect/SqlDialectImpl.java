@@ -55,6 +55,14 @@ record SqlDialectImpl(StorageType type, boolean nativeUuidSupport) implements Sq
     };
   }
 
+  @Override
+  public String identityType() {
+    return switch (type()) {
+      case MARIADB, MYSQL -> "BIGINT AUTO_INCREMENT";
+      default -> "BIGINT GENERATED BY DEFAULT AS IDENTITY";
+    };
+  }
+
   private boolean pgInsert() {
     return type() == StorageType.H2 || type() == StorageType.POSTGRESQL;
   }
@@ -71,4 +79,10 @@ record SqlDialectImpl(StorageType type, boolean nativeUuidSupport) implements Sq
       "MERGE INTO bending_users (user_id, board) VALUES (?, ?)" :
       "INSERT INTO bending_users (user_id, board) VALUES (?, ?) ON DUPLICATE KEY UPDATE board = VALUES (board)";
   }
+
+  @Override
+  public String upsertUserElement() {
+    String insert = "INSERT INTO bending_user_elements (user_id, element) VALUES (?, ?) ON ";
+    return insert + (pgInsert() ? "CONFLICT DO NOTHING" : "DUPLICATE KEY UPDATE element = element");
+  }
 }
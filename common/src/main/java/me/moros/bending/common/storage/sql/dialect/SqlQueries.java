@@ -23,13 +23,25 @@ sealed interface SqlQueries permits SqlDialect {
   String SELECT_ABILITIES = "SELECT ability_id, ability_name FROM bending_abilities";
 
   String SELECT_ALL_USER_UUIDS = "SELECT user_id FROM bending_users";
-  String SELECT_USER_BY_UUID = "SELECT board FROM bending_users WHERE user_id = ? LIMIT 1";
+  String SELECT_USER_BY_UUID = "SELECT board, profile_version FROM bending_users WHERE user_id = ? LIMIT 1";
+  String SELECT_USERS_BY_UUIDS = "SELECT user_id, board FROM bending_users WHERE user_id IN (<uuids>)";
+  String SELECT_USER_VERSION = "SELECT profile_version FROM bending_users WHERE user_id = ? LIMIT 1";
+  String UPDATE_USER_VERSIONED = "UPDATE bending_users SET board = ?, profile_version = ? WHERE user_id = ? AND profile_version = ?";
+  String INCREMENT_USER_VERSION = "UPDATE bending_users SET profile_version = profile_version + 1 WHERE user_id = ?";
+
+  String SELECT_LATEST_USER_CHANGE = "SELECT COALESCE(MAX(change_id), 0) FROM bending_user_changes";
+  String SELECT_USER_CHANGES = "SELECT change_id, user_id, profile_version FROM bending_user_changes WHERE change_id > ? ORDER BY change_id";
+  String INSERT_USER_CHANGE = "INSERT INTO bending_user_changes (user_id, profile_version) VALUES (?, ?)";
+  String REMOVE_USER_CHANGES = "DELETE FROM bending_user_changes WHERE change_id <= ?";
 
   String SELECT_USER_ELEMENTS = "SELECT element FROM bending_user_elements WHERE user_id = ?";
+  String SELECT_USERS_ELEMENTS = "SELECT user_id, element FROM bending_user_elements WHERE user_id IN (<uuids>)";
   String INSERT_USER_ELEMENTS = "INSERT INTO bending_user_elements (user_id, element) VALUES (?, ?)";
   String REMOVE_USER_ELEMENTS = "DELETE FROM bending_user_elements WHERE user_id = ?";
+  String REMOVE_USER_ELEMENT = "DELETE FROM bending_user_elements WHERE user_id = ? AND element = ?";
 
   String SELECT_USER_PRESETS = "SELECT preset_name, slot, ability_id FROM bending_profiles WHERE user_id = ?";
+  String SELECT_USERS_PRESETS = "SELECT user_id, preset_name, slot, ability_id FROM bending_profiles WHERE user_id IN (<uuids>)";
   String INSERT_USER_PRESET_WITH_ID = "INSERT INTO bending_presets (preset_id, user_id, preset_name) VALUES (?, ?, ?)";
   String REMOVE_USER_PRESET = "DELETE FROM bending_presets WHERE user_id = ? AND preset_name = ?";
   String INSERT_USER_PRESET_SLOTS = "INSERT INTO bending_preset_slots (preset_id, slot, ability_id) VALUES (?, ?, ?)";
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2020-2024 Moros
+ *
+ * This file is part of Bending.
+ *
+ * Bending is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Bending is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bending. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.common.trace;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import me.moros.bending.api.ability.Activation;
+import me.moros.bending.api.ability.element.Element;
+import me.moros.math.Vector3d;
+import me.moros.math.Vector3i;
+import net.kyori.adventure.key.Key;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A decoded ability trace. Blocks in the recorded region are stored in y, z, x order as indices into the palette.
+ * Entities are referenced by the id they were assigned when first recorded.
+ * @param world the recorded world
+ * @param timestamp the time the recording started in epoch millis
+ * @param min the minimum corner of the recorded region
+ * @param max the maximum corner of the recorded region
+ * @param palette the block types present in the region
+ * @param blocks the palette index for every block in the region
+ * @param events the recorded events ordered by tick
+ */
+public record Trace(Key world, long timestamp, Vector3i min, Vector3i max, List<Key> palette, int[] blocks,
+                    List<Event> events) {
+  static final int MAGIC = 0x42545243;
+  static final int VERSION = 1;
+
+  static final int SPAWN = 1;
+  static final int POSE = 2;
+  static final int INPUT = 3;
+  static final int CAST = 4;
+  static final int END = 5;
+
+  public int ticks() {
+    return events.isEmpty() ? 0 : events.getLast().tick();
+  }
+
+  public int blockIndex(int x, int y, int z) {
+    int sizeX = max.blockX() - min.blockX() + 1;
+    int sizeZ = max.blockZ() - min.blockZ() + 1;
+    return ((y - min.blockY()) * sizeZ + (z - min.blockZ())) * sizeX + (x - min.blockX());
+  }
+
+  public sealed interface Event permits Spawn, Pose, Input, Cast, End {
+    int tick();
+  }
+
+  public record Bender(Set<Element> elements, List<@Nullable Key> slots) {
+  }
+
+  public record Spawn(int tick, int id, UUID uuid, Key type, Vector3d position, float yaw, float pitch,
+                      @Nullable Bender bender) implements Event {
+  }
+
+  public record Pose(int tick, int id, Vector3d position, float yaw, float pitch, int slot,
+                     boolean sneaking) implements Event {
+  }
+
+  public record Input(int tick, int id, Activation method, @Nullable Vector3i block, int target) implements Event {
+  }
+
+  public record Cast(int tick, int id, Key ability) implements Event {
+  }
+
+  public record End(int tick) implements Event {
+  }
+}
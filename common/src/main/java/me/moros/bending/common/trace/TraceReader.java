@@ -0,0 +1,157 @@
+/*
+ * Copyright 2020-2024 Moros
+ *
+ * This file is part of Bending.
+ *
+ * Bending is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Bending is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bending. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.common.trace;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import me.moros.bending.api.ability.Activation;
+import me.moros.bending.api.ability.element.Element;
+import me.moros.math.Vector3d;
+import me.moros.math.Vector3i;
+import net.kyori.adventure.key.Key;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Decodes traces written by {@link TraceRecorder}.
+ */
+public final class TraceReader {
+  private static final Activation[] ACTIVATIONS = Activation.values();
+  private static final Element[] ELEMENTS = Element.values();
+
+  private final DataInputStream in;
+
+  private TraceReader(DataInputStream in) {
+    this.in = in;
+  }
+
+  public static Trace read(Path file) throws IOException {
+    try (var in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(Files.newInputStream(file))))) {
+      return new TraceReader(in).read();
+    }
+  }
+
+  private Trace read() throws IOException {
+    if (in.readInt() != Trace.MAGIC) {
+      throw new IOException("Not a bending trace");
+    }
+    int version = in.readShort();
+    if (version != Trace.VERSION) {
+      throw new IOException("Unsupported trace version " + version);
+    }
+    Key world = Key.key(in.readUTF());
+    long timestamp = in.readLong();
+    Vector3i min = Vector3i.of(in.readInt(), in.readInt(), in.readInt());
+    Vector3i max = Vector3i.of(in.readInt(), in.readInt(), in.readInt());
+    int paletteSize = readVarInt();
+    List<Key> palette = new ArrayList<>(paletteSize);
+    for (int i = 0; i < paletteSize; i++) {
+      palette.add(Key.key(in.readUTF()));
+    }
+    int volume = (max.blockX() - min.blockX() + 1) * (max.blockY() - min.blockY() + 1) * (max.blockZ() - min.blockZ() + 1);
+    int[] blocks = new int[volume];
+    for (int offset = 0; offset < volume; ) {
+      int index = readVarInt();
+      int length = readVarInt();
+      Arrays.fill(blocks, offset, offset + length, index);
+      offset += length;
+    }
+    List<Trace.Event> events = new ArrayList<>();
+    Trace.Event event;
+    do {
+      event = readEvent();
+      events.add(event);
+    } while (!(event instanceof Trace.End));
+    return new Trace(world, timestamp, min, max, List.copyOf(palette), blocks, List.copyOf(events));
+  }
+
+  private Trace.Event readEvent() throws IOException {
+    int type = in.readUnsignedByte();
+    int tick = readVarInt();
+    return switch (type) {
+      case Trace.SPAWN -> readSpawn(tick);
+      case Trace.POSE -> new Trace.Pose(tick, readVarInt(), readVector(), in.readFloat(), in.readFloat(),
+        in.readUnsignedByte(), in.readBoolean());
+      case Trace.INPUT -> readInput(tick);
+      case Trace.CAST -> new Trace.Cast(tick, readVarInt(), Key.key(in.readUTF()));
+      case Trace.END -> new Trace.End(tick);
+      default -> throw new IOException("Unknown event type " + type);
+    };
+  }
+
+  private Trace.Spawn readSpawn(int tick) throws IOException {
+    int id = readVarInt();
+    UUID uuid = new UUID(in.readLong(), in.readLong());
+    Key type = Key.key(in.readUTF());
+    Vector3d position = readVector();
+    float yaw = in.readFloat();
+    float pitch = in.readFloat();
+    Trace.Bender bender = null;
+    if (in.readBoolean()) {
+      int mask = in.readUnsignedByte();
+      Set<Element> elements = EnumSet.noneOf(Element.class);
+      for (Element element : ELEMENTS) {
+        if ((mask & (1 << element.ordinal())) != 0) {
+          elements.add(element);
+        }
+      }
+      List<@Nullable Key> slots = new ArrayList<>(9);
+      for (int i = 0; i < 9; i++) {
+        String value = in.readUTF();
+        slots.add(value.isEmpty() ? null : Key.key(value));
+      }
+      bender = new Trace.Bender(elements, slots);
+    }
+    return new Trace.Spawn(tick, id, uuid, type, position, yaw, pitch, bender);
+  }
+
+  private Trace.Input readInput(int tick) throws IOException {
+    int id = readVarInt();
+    Activation method = ACTIVATIONS[in.readUnsignedByte()];
+    Vector3i block = in.readBoolean() ? Vector3i.of(in.readInt(), in.readInt(), in.readInt()) : null;
+    return new Trace.Input(tick, id, method, block, readVarInt() - 1);
+  }
+
+  private Vector3d readVector() throws IOException {
+    return Vector3d.of(in.readDouble(), in.readDouble(), in.readDouble());
+  }
+
+  private int readVarInt() throws IOException {
+    int value = 0;
+    int shift = 0;
+    int b;
+    do {
+      b = in.readUnsignedByte();
+      value |= (b & 0x7F) << shift;
+      shift += 7;
+    } while ((b & 0x80) != 0);
+    return value;
+  }
+}
@@ -0,0 +1,357 @@
+/*
+ * Copyright 2020-2024 Moros
+ *
+ * This file is part of Bending.
+ *
+ * Bending is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Bending is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bending. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.common.trace;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+
+import me.moros.bending.api.ability.Ability;
+import me.moros.bending.api.ability.AbilityDescription;
+import me.moros.bending.api.ability.Activation;
+import me.moros.bending.api.ability.element.Element;
+import me.moros.bending.api.platform.block.Block;
+import me.moros.bending.api.platform.block.BlockType;
+import me.moros.bending.api.platform.entity.Entity;
+import me.moros.bending.api.platform.entity.LivingEntity;
+import me.moros.bending.api.platform.world.World;
+import me.moros.bending.api.registry.Registries;
+import me.moros.bending.api.user.User;
+import me.moros.bending.api.util.Tasker;
+import me.moros.math.FastMath;
+import me.moros.math.Vector3d;
+import net.kyori.adventure.key.Key;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Records bending inputs inside a bounded region to a compact binary trace that can be replayed offline.
+ * <p>The trace starts with a snapshot of the block types and living entities in the region, followed by user poses,
+ * inputs and ability casts for every tick. Events are buffered in memory and written to disk asynchronously once
+ * the recording ends. Only one recording can be active at a time.
+ * <p>Note: The block snapshot is taken synchronously when the recording starts and reads up to
+ * {@code (2 * MAX_RADIUS + 1)^3} blocks, so large radii can cause a short lag spike on the calling thread.
+ * @see TraceReader
+ */
+public final class TraceRecorder {
+  public static final int MAX_RADIUS = 32;
+
+  private static final int MAX_BYTES = 64 << 20;
+
+  private static final AtomicReference<@Nullable TraceRecorder> ACTIVE = new AtomicReference<>();
+
+  private final Path file;
+  private final Key world;
+  private final Vector3d center;
+  private final double radiusSq;
+  private final int duration;
+  private final ByteArrayOutputStream buffer;
+  private final DataOutputStream out;
+  private final Map<UUID, Integer> ids;
+  private final Map<UUID, Trace.Pose> poses;
+  private final CompletableFuture<Path> completion;
+
+  private int tick;
+  private boolean closed;
+
+  private TraceRecorder(Path file, World world, Vector3d center, int radius, int duration) {
+    this.file = file;
+    this.world = world.key();
+    this.center = center;
+    this.radiusSq = radius * radius;
+    this.duration = duration;
+    this.buffer = new ByteArrayOutputStream(1 << 16);
+    this.out = new DataOutputStream(buffer);
+    this.ids = new HashMap<>();
+    this.poses = new HashMap<>();
+    this.completion = new CompletableFuture<>();
+  }
+
+  /**
+   * Get the future that completes with the trace file once it has been written to disk.
+   * @return the completion future
+   */
+  public CompletableFuture<Path> completion() {
+    return completion;
+  }
+
+  public static @Nullable TraceRecorder active() {
+    return ACTIVE.get();
+  }
+
+  /**
+   * Start a new recording.
+   * @param file the file to write the trace to
+   * @param world the world to record
+   * @param center the center of the recorded region
+   * @param radius the radius of the recorded region, capped at {@link #MAX_RADIUS}
+   * @param duration the maximum recording length in ticks
+   * @return the new recorder or null if another recording is already active
+   */
+  public static @Nullable TraceRecorder start(Path file, World world, Vector3d center, int radius, int duration) {
+    if (ACTIVE.get() != null) {
+      return null; // Avoid taking a snapshot that would be discarded
+    }
+    int clamped = Math.clamp(radius, 1, MAX_RADIUS);
+    TraceRecorder recorder = new TraceRecorder(file, world, center, clamped, duration);
+    try {
+      recorder.writeSnapshot(world, clamped);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return ACTIVE.compareAndSet(null, recorder) ? recorder : null;
+  }
+
+  /**
+   * Stop the active recording if there is one.
+   * @return the completion future of the stopped recording or null if nothing was being recorded
+   */
+  public static @Nullable CompletableFuture<Path> stop() {
+    TraceRecorder recorder = ACTIVE.get();
+    if (recorder == null) {
+      return null;
+    }
+    recorder.finish();
+    return recorder.completion;
+  }
+
+  private boolean inRegion(Entity entity) {
+    return world.equals(entity.worldKey()) && entity.location().distanceSq(center) <= radiusSq;
+  }
+
+  public synchronized void onTick() {
+    if (closed) {
+      return;
+    }
+    if (++tick > duration || out.size() > MAX_BYTES) {
+      finish();
+      return;
+    }
+    for (User user : Registries.BENDERS) {
+      if (inRegion(user)) {
+        pose(user);
+      }
+    }
+  }
+
+  public synchronized void onInput(User user, Activation method, @Nullable Entity entity, @Nullable Block block) {
+    if (closed || !inRegion(user)) {
+      return;
+    }
+    try {
+      int id = pose(user);
+      int target = entity instanceof LivingEntity living ? track(living) : -1;
+      out.writeByte(Trace.INPUT);
+      writeVarInt(tick);
+      writeVarInt(id);
+      out.writeByte(method.ordinal());
+      out.writeBoolean(block != null);
+      if (block != null) {
+        out.writeInt(block.blockX());
+        out.writeInt(block.blockY());
+        out.writeInt(block.blockZ());
+      }
+      writeVarInt(target + 1);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  public synchronized void onCast(Ability ability) {
+    User user = ability.user();
+    if (closed || !inRegion(user)) {
+      return;
+    }
+    try {
+      int id = track(user);
+      out.writeByte(Trace.CAST);
+      writeVarInt(tick);
+      writeVarInt(id);
+      out.writeUTF(ability.description().key().asString());
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private void writeSnapshot(World world, int radius) throws IOException {
+    int minX = FastMath.floor(center.x()) - radius;
+    int minZ = FastMath.floor(center.z()) - radius;
+    int minY = Math.max(world.minHeight(), FastMath.floor(center.y()) - radius);
+    int maxX = FastMath.floor(center.x()) + radius;
+    int maxZ = FastMath.floor(center.z()) + radius;
+    int maxY = Math.min(world.maxHeight() - 1, FastMath.floor(center.y()) + radius);
+    out.writeInt(Trace.MAGIC);
+    out.writeShort(Trace.VERSION);
+    out.writeUTF(this.world.asString());
+    out.writeLong(System.currentTimeMillis());
+    out.writeInt(minX);
+    out.writeInt(minY);
+    out.writeInt(minZ);
+    out.writeInt(maxX);
+    out.writeInt(maxY);
+    out.writeInt(maxZ);
+    List<BlockType> palette = new ArrayList<>();
+    Map<BlockType, Integer> indices = new HashMap<>();
+    ByteArrayOutputStream runs = new ByteArrayOutputStream();
+    int current = -1;
+    int length = 0;
+    for (int y = minY; y <= maxY; y++) {
+      for (int z = minZ; z <= maxZ; z++) {
+        for (int x = minX; x <= maxX; x++) {
+          int index = indices.computeIfAbsent(world.getBlockType(x, y, z), type -> {
+            palette.add(type);
+            return palette.size() - 1;
+          });
+          if (index != current && length > 0) {
+            writeVarInt(runs, current);
+            writeVarInt(runs, length);
+            length = 0;
+          }
+          current = index;
+          length++;
+        }
+      }
+    }
+    writeVarInt(runs, current);
+    writeVarInt(runs, length);
+    writeVarInt(palette.size());
+    for (BlockType type : palette) {
+      out.writeUTF(type.key().asString());
+    }
+    runs.writeTo(out);
+    for (Entity entity : world.nearbyEntities(center, radius, e -> e instanceof LivingEntity)) {
+      track((LivingEntity) entity);
+    }
+  }
+
+  private int track(LivingEntity entity) throws IOException {
+    Integer existing = ids.get(entity.uuid());
+    if (existing != null) {
+      return existing;
+    }
+    int id = ids.size();
+    ids.put(entity.uuid(), id);
+    out.writeByte(Trace.SPAWN);
+    writeVarInt(tick);
+    writeVarInt(id);
+    out.writeLong(entity.uuid().getMostSignificantBits());
+    out.writeLong(entity.uuid().getLeastSignificantBits());
+    out.writeUTF(entity.type().key().asString());
+    writeVector(entity.location());
+    out.writeFloat(entity.yaw());
+    out.writeFloat(entity.pitch());
+    User user = Registries.BENDERS.get(entity.uuid());
+    out.writeBoolean(user != null);
+    if (user != null) {
+      int mask = 0;
+      for (Element element : user.elements()) {
+        mask |= 1 << element.ordinal();
+      }
+      out.writeByte(mask);
+      for (int slot = 1; slot <= 9; slot++) {
+        AbilityDescription desc = user.boundAbility(slot);
+        out.writeUTF(desc == null ? "" : desc.key().asString());
+      }
+    }
+    return id;
+  }
+
+  private int pose(User user) {
+    try {
+      int id = track(user);
+      Trace.Pose pose = new Trace.Pose(tick, id, user.location(), user.yaw(), user.pitch(), user.currentSlot(), user.sneaking());
+      Trace.Pose previous = poses.put(user.uuid(), pose);
+      if (previous == null || !samePose(previous, pose)) {
+        out.writeByte(Trace.POSE);
+        writeVarInt(tick);
+        writeVarInt(id);
+        writeVector(pose.position());
+        out.writeFloat(pose.yaw());
+        out.writeFloat(pose.pitch());
+        out.writeByte(pose.slot());
+        out.writeBoolean(pose.sneaking());
+      }
+      return id;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static boolean samePose(Trace.Pose first, Trace.Pose second) {
+    return first.slot() == second.slot() && first.sneaking() == second.sneaking() && first.yaw() == second.yaw()
+      && first.pitch() == second.pitch() && first.position().equals(second.position());
+  }
+
+  private synchronized void finish() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    ACTIVE.compareAndSet(this, null);
+    try {
+      out.writeByte(Trace.END);
+      writeVarInt(tick);
+    } catch (IOException e) {
+      completion.completeExceptionally(e);
+      return;
+    }
+    Tasker.async().submit(() -> {
+      try {
+        Files.createDirectories(Objects.requireNonNull(file.toAbsolutePath().getParent()));
+        try (OutputStream stream = new GZIPOutputStream(Files.newOutputStream(file))) {
+          buffer.writeTo(stream);
+        }
+        completion.complete(file);
+      } catch (IOException e) {
+        completion.completeExceptionally(e);
+      }
+    });
+  }
+
+  private void writeVector(Vector3d vector) throws IOException {
+    out.writeDouble(vector.x());
+    out.writeDouble(vector.y());
+    out.writeDouble(vector.z());
+  }
+
+  private void writeVarInt(int value) throws IOException {
+    writeVarInt(out, value);
+  }
+
+  private static void writeVarInt(OutputStream stream, int value) throws IOException {
+    while ((value & ~0x7F) != 0) {
+      stream.write((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    stream.write(value);
+  }
+}
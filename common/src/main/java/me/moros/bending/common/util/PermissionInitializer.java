@@ -56,7 +56,7 @@ public abstract class PermissionInitializer implements Initializer {
 
   private void initAdminNodes() {
     var children = Stream.of(Permissions.ADD, Permissions.REMOVE, Permissions.MODIFY,
-        Permissions.RELOAD, Permissions.IMPORT, Permissions.EXPORT, Permissions.ATTRIBUTE)
+        Permissions.RELOAD, Permissions.IMPORT, Permissions.EXPORT, Permissions.ATTRIBUTE, Permissions.TRACE)
       .collect(Collectors.toSet());
     children.add("bending.player");
     children.add(FeaturePermissions.BLUE_FIRE);
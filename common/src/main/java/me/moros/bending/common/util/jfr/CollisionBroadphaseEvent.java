@@ -0,0 +1,46 @@
+/*
+ * Copyright 2020-2024 Moros
+ *
+ * This file is part of Bending.
+ *
+ * Bending is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Bending is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bending. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.common.util.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("me.moros.bending.CollisionBroadphase")
+@Label("Collision Broadphase")
+@Category({"Bending", "Collisions"})
+@Description("Collecting colliders and building the bounding volume hierarchy for a world")
+@StackTrace(false)
+public final class CollisionBroadphaseEvent extends jdk.jfr.Event {
+  @Label("World")
+  public String world;
+
+  @Label("Abilities")
+  @Description("Ability instances with at least one collider")
+  public int abilities;
+
+  @Label("Colliders")
+  public int colliders;
+
+  @Label("Candidate Pairs")
+  public int candidatePairs;
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2020-2024 Moros
+ *
+ * This file is part of Bending.
+ *
+ * Bending is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Bending is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bending. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.common.util.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("me.moros.bending.ProtectionCheck")
+@Label("Protection Check")
+@Category({"Bending", "Protection"})
+@Description("Querying a protection plugin after a protection cache miss")
+public final class ProtectionCheckEvent extends jdk.jfr.Event {
+  @Label("Entity")
+  public String entity;
+
+  @Label("World")
+  public String world;
+
+  @Label("Scope")
+  @Description("Either chunk or block")
+  public String scope;
+
+  @Label("X")
+  public int x;
+
+  @Label("Z")
+  public int z;
+
+  @Label("Protection")
+  @Description("The protection plugin that was queried")
+  public String protection;
+
+  @Label("Result")
+  public String result;
+}
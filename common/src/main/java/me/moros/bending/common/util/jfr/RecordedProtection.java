@@ -0,0 +1,106 @@
+/*
+ * Copyright 2020-2024 Moros
+ *
+ * This file is part of Bending.
+ *
+ * Bending is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Bending is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bending. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.common.util.jfr;
+
+import me.moros.bending.api.platform.block.Block;
+import me.moros.bending.api.platform.entity.LivingEntity;
+import me.moros.bending.api.platform.world.World;
+import me.moros.bending.api.protection.Protection;
+import net.kyori.adventure.key.Key;
+import net.kyori.adventure.util.TriState;
+
+/**
+ * Protection wrapper that records a {@link ProtectionCheckEvent} for every query while a recording enables it.
+ */
+public final class RecordedProtection implements Protection {
+  private static final ProtectionCheckEvent EVENT = new ProtectionCheckEvent();
+
+  private final Protection protection;
+
+  private RecordedProtection(Protection protection) {
+    this.protection = protection;
+  }
+
+  @Override
+  public Key key() {
+    return protection.key();
+  }
+
+  @Override
+  public boolean canBuild(LivingEntity entity, Block block) {
+    if (!EVENT.isEnabled()) {
+      return protection.canBuild(entity, block);
+    }
+    ProtectionCheckEvent event = new ProtectionCheckEvent();
+    event.begin();
+    boolean result = protection.canBuild(entity, block);
+    event.end();
+    if (event.shouldCommit()) {
+      commit(event, entity, block.world(), "block", block.blockX(), block.blockZ(), TriState.byBoolean(result));
+    }
+    return result;
+  }
+
+  @Override
+  public TriState canBuildInChunk(LivingEntity entity, World world, int chunkX, int chunkZ) {
+    if (!EVENT.isEnabled()) {
+      return protection.canBuildInChunk(entity, world, chunkX, chunkZ);
+    }
+    ProtectionCheckEvent event = new ProtectionCheckEvent();
+    event.begin();
+    TriState result = protection.canBuildInChunk(entity, world, chunkX, chunkZ);
+    event.end();
+    if (event.shouldCommit()) {
+      commit(event, entity, world, "chunk", chunkX, chunkZ, result);
+    }
+    return result;
+  }
+
+  @Override
+  public boolean supportsChunkChecks() {
+    return protection.supportsChunkChecks();
+  }
+
+  @Override
+  public String toString() {
+    return protection.toString();
+  }
+
+  private void commit(ProtectionCheckEvent event, LivingEntity entity, World world, String scope, int x, int z,
+                      TriState result) {
+    event.entity = entity.uuid().toString();
+    event.world = world.key().asString();
+    event.scope = scope;
+    event.x = x;
+    event.z = z;
+    event.protection = protection.key().asString();
+    event.result = result.name();
+    event.commit();
+  }
+
+  /**
+   * Wrap a protection so its queries can be recorded.
+   * @param protection the protection to wrap
+   * @return the wrapped protection
+   */
+  public static Protection wrap(Protection protection) {
+    return protection instanceof RecordedProtection ? protection : new RecordedProtection(protection);
+  }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2020-2024 Moros
+ *
+ * This file is part of Bending.
+ *
+ * Bending is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Bending is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bending. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.common.util.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("me.moros.bending.StorageLoad")
+@Label("Storage Load")
+@Category({"Bending", "Storage"})
+@Description("Loading one or more profiles from storage")
+public final class StorageLoadEvent extends jdk.jfr.Event {
+  @Label("Engine")
+  public String engine;
+
+  @Label("User")
+  @Description("The user's uuid, empty when loading a batch")
+  public String user;
+
+  @Label("Requested")
+  public int requested;
+
+  @Label("Loaded")
+  public int loaded;
+}
@@ -0,0 +1,9 @@
+ALTER TABLE bending_users ADD COLUMN profile_version BIGINT DEFAULT 0 NOT NULL;
+
+-- Change log used to invalidate cached profiles across servers that share the database
+CREATE TABLE IF NOT EXISTS bending_user_changes (
+    change_id       ${identityType}       NOT NULL,
+    user_id         ${uuidType}           NOT NULL,
+    profile_version BIGINT                NOT NULL,
+    CONSTRAINT bending_user_changes_pkey PRIMARY KEY (change_id)
+)${extraTableOptions};
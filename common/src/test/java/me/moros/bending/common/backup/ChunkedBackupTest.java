@@ -0,0 +1,291 @@
+/*
+ * Copyright 2020-2024 Moros
+ *
+ * This file is part of Bending.
+ *
+ * Bending is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Bending is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bending. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.common.backup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPOutputStream;
+
+import me.moros.bending.api.ability.element.Element;
+import me.moros.bending.api.ability.preset.Preset;
+import me.moros.bending.api.storage.BendingStorage;
+import me.moros.bending.api.user.profile.BenderProfile;
+import me.moros.bending.common.Bending;
+import me.moros.bending.common.backup.ChunkedBackup.Chunk;
+import me.moros.bending.common.backup.ChunkedBackup.IndexEntry;
+import me.moros.bending.common.config.ConfigManager;
+import me.moros.bending.common.locale.TranslationManager;
+import me.moros.bending.common.logging.Logger;
+import me.moros.bending.common.logging.NoOpLogger;
+import net.kyori.adventure.audience.Audience;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChunkedBackupTest {
+  private static final String NAME = "backup";
+
+  @TempDir
+  Path dir;
+
+  @Test
+  void testChunksRoundTrip() throws IOException {
+    List<BenderProfile[]> chunks = chunks(3, 5);
+    Path path = write(chunks);
+    assertTrue(ChunkedBackup.isChunked(path));
+    try (var reader = new ChunkedBackup.Reader(path)) {
+      List<IndexEntry> index = reader.index();
+      assertEquals(chunks.size(), index.size());
+      for (int i = 0; i < chunks.size(); i++) {
+        assertEquals(chunks.get(i).length, index.get(i).count());
+        assertArrayEquals(chunks.get(i), ChunkedBackup.decode(reader.read(index.get(i))));
+      }
+    }
+  }
+
+  @Test
+  void testLegacyBackupIsNotChunked() throws IOException {
+    Path path = dir.resolve(NAME + AbstractOperation.SUFFIX);
+    try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(path))) {
+      out.write("{\"users\":[]}".getBytes(StandardCharsets.UTF_8));
+    }
+    assertFalse(ChunkedBackup.isChunked(path));
+  }
+
+  @Test
+  void testChecksumMismatchIsDetected() throws IOException {
+    Path path = write(chunks(2, 5));
+    long dataOffset;
+    try (var reader = new ChunkedBackup.Reader(path)) {
+      dataOffset = reader.index().get(1).offset() + Integer.BYTES + Integer.BYTES + Long.BYTES;
+    }
+    try (var channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      ByteBuffer buffer = ByteBuffer.allocate(1);
+      channel.read(buffer, dataOffset + 8);
+      buffer.put(0, (byte) ~buffer.get(0)).rewind();
+      channel.write(buffer, dataOffset + 8);
+    }
+    try (var reader = new ChunkedBackup.Reader(path)) {
+      Chunk intact = reader.read(reader.index().get(0));
+      Chunk corrupted = reader.read(reader.index().get(1));
+      assertEquals(5, ChunkedBackup.decode(intact).length);
+      assertThrows(IOException.class, () -> ChunkedBackup.decode(corrupted));
+    }
+  }
+
+  @Test
+  void testIncompleteBackupIsRejected() throws IOException {
+    Path path = write(chunks(2, 5));
+    try (var channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+      channel.truncate(channel.size() - 4);
+    }
+    assertThrows(IOException.class, () -> new ChunkedBackup.Reader(path).close());
+  }
+
+  @Test
+  void testImportResumesAfterFailedChunk() throws IOException {
+    List<BenderProfile[]> chunks = chunks(3, 5);
+    write(chunks);
+    Path progress = dir.resolve(NAME + ChunkedBackup.SUFFIX + ".progress");
+
+    RecordingStorage failing = new RecordingStorage(1);
+    assertFalse(importBackup(failing));
+    assertBatches(chunks.subList(0, 1), failing.batches);
+    assertEquals("1", Files.readString(progress).strip());
+
+    RecordingStorage resumed = new RecordingStorage(-1);
+    assertTrue(importBackup(resumed));
+    assertBatches(chunks.subList(1, 3), resumed.batches);
+    assertFalse(Files.exists(progress));
+  }
+
+  @Test
+  void testInvalidProgressRestartsImport() throws IOException {
+    List<BenderProfile[]> chunks = chunks(2, 5);
+    write(chunks);
+    Files.writeString(dir.resolve(NAME + ChunkedBackup.SUFFIX + ".progress"), "invalid");
+    RecordingStorage storage = new RecordingStorage(-1);
+    assertTrue(importBackup(storage));
+    assertBatches(chunks, storage.batches);
+  }
+
+  private static void assertBatches(List<BenderProfile[]> expected, List<BenderProfile[]> actual) {
+    assertEquals(expected.size(), actual.size());
+    for (int i = 0; i < expected.size(); i++) {
+      assertArrayEquals(expected.get(i), actual.get(i));
+    }
+  }
+
+  private boolean importBackup(BendingStorage storage) {
+    return new ImportOperation(new TestPlugin(dir), storage, Audience.empty(), NAME).executeOperation();
+  }
+
+  private Path write(List<BenderProfile[]> chunks) throws IOException {
+    Path path = dir.resolve(NAME + ChunkedBackup.SUFFIX);
+    try (var writer = new ChunkedBackup.Writer(path)) {
+      for (BenderProfile[] chunk : chunks) {
+        writer.write(ChunkedBackup.encode(chunk));
+      }
+    }
+    return path;
+  }
+
+  private static List<BenderProfile[]> chunks(int amount, int size) {
+    Element[] elements = Element.values();
+    List<BenderProfile[]> result = new ArrayList<>(amount);
+    for (int i = 0; i < amount; i++) {
+      BenderProfile[] chunk = new BenderProfile[size];
+      for (int j = 0; j < size; j++) {
+        Element element = elements[(i * size + j) % elements.length];
+        chunk[j] = BenderProfile.of(UUID.randomUUID(), Set.of(element), Preset.empty(), List.of());
+      }
+      result.add(chunk);
+    }
+    return result;
+  }
+
+  private record TestPlugin(Path path) implements Bending {
+    @Override
+    public String author() {
+      return "Moros";
+    }
+
+    @Override
+    public String version() {
+      return "test";
+    }
+
+    @Override
+    public Logger logger() {
+      return NoOpLogger.INSTANCE;
+    }
+
+    @Override
+    public void reload() {
+    }
+
+    @Override
+    public ConfigManager configManager() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public TranslationManager translationManager() {
+      throw new UnsupportedOperationException();
+    }
+  }
+
+  private static final class RecordingStorage implements BendingStorage {
+    private final List<BenderProfile[]> batches = new CopyOnWriteArrayList<>();
+    private final int failAt;
+
+    private RecordingStorage(int failAt) {
+      this.failAt = failAt;
+    }
+
+    @Override
+    public Set<UUID> loadUuids() {
+      return Set.of();
+    }
+
+    @Override
+    public CompletableFuture<Set<UUID>> loadUuidsAsync() {
+      return CompletableFuture.completedFuture(Set.of());
+    }
+
+    @Override
+    public @Nullable BenderProfile loadProfile(UUID uuid) {
+      return null;
+    }
+
+    @Override
+    public CompletableFuture<@Nullable BenderProfile> loadProfileAsync(UUID uuid) {
+      return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public Map<UUID, BenderProfile> loadProfiles(Set<UUID> uuids) {
+      return Map.of();
+    }
+
+    @Override
+    public CompletableFuture<Map<UUID, BenderProfile>> loadProfilesAsync(Set<UUID> uuids, LongAdder progressCounter) {
+      return CompletableFuture.completedFuture(Map.of());
+    }
+
+    @Override
+    public boolean saveProfile(BenderProfile profile) {
+      return saveProfiles(List.of(profile));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> saveProfileAsync(BenderProfile profile) {
+      return CompletableFuture.completedFuture(saveProfile(profile));
+    }
+
+    @Override
+    public boolean saveProfiles(Collection<BenderProfile> profiles) {
+      if (batches.size() == failAt) {
+        return false;
+      }
+      batches.add(profiles.toArray(BenderProfile[]::new));
+      return true;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> saveProfilesAsync(Collection<BenderProfile> profiles, LongAdder progressCounter) {
+      boolean result = saveProfiles(profiles);
+      if (result) {
+        progressCounter.add(profiles.size());
+      }
+      return CompletableFuture.completedFuture(result);
+    }
+
+    @Override
+    public boolean isRemote() {
+      return false;
+    }
+
+    @Override
+    public void close() {
+    }
+  }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2020-2024 Moros
+ *
+ * This file is part of Bending.
+ *
+ * Bending is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Bending is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bending. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.common.collision;
+
+import java.util.List;
+
+import me.moros.bending.api.ability.AbilityDescription;
+import me.moros.bending.api.ability.Activation;
+import me.moros.bending.api.ability.element.Element;
+import me.moros.bending.api.collision.CollisionPair;
+import me.moros.bending.api.registry.Registries;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class CollisionTableTest {
+  private static final AbilityDescription FIRST = register("CollisionFirst");
+  private static final AbilityDescription SECOND = register("CollisionSecond");
+  private static final AbilityDescription THIRD = register("CollisionThird");
+
+  private static AbilityDescription register(String name) {
+    AbilityDescription desc = AbilityDescription.builder(name, d -> null)
+      .element(Element.AIR).activation(Activation.ATTACK).build();
+    Registries.ABILITIES.register(desc);
+    return desc;
+  }
+
+  @Test
+  void testPairLookupIsSymmetric() {
+    CollisionPair pair = List.copyOf(CollisionPair.builder().add(FIRST.key(), SECOND.key(), true, false).build()).get(0);
+    CollisionTable table = CollisionTable.create(List.of(pair), Registries.ABILITIES.idCount());
+
+    assertSame(pair, table.get(FIRST, SECOND));
+    assertSame(pair, table.get(SECOND, FIRST));
+    assertNull(table.get(FIRST, THIRD));
+    assertNull(table.get(THIRD, THIRD));
+  }
+
+  @Test
+  void testAbilitiesOutsideTableAreIgnored() {
+    CollisionPair pair = List.copyOf(CollisionPair.builder().add(FIRST.key(), THIRD.key(), true, true).build()).get(0);
+    // Sized before the third ability was registered
+    CollisionTable table = CollisionTable.create(List.of(pair), THIRD.id());
+
+    assertNull(table.get(FIRST, THIRD));
+    assertNull(table.get(THIRD, FIRST));
+  }
+
+  @Test
+  void testUnregisteredAbilitiesAreIgnored() {
+    AbilityDescription unregistered = AbilityDescription.builder("CollisionUnregistered", d -> null)
+      .element(Element.AIR).activation(Activation.ATTACK).build();
+    CollisionTable table = CollisionTable.create(List.of(), Registries.ABILITIES.idCount());
+
+    assertNull(table.get(FIRST, unregistered));
+  }
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright 2020-2024 Moros
+ *
+ * This file is part of Bending.
+ *
+ * Bending is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Bending is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bending. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.common.storage;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import me.moros.bending.api.user.profile.BenderProfile;
+import me.moros.bending.common.logging.NoOpLogger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LogStorageTest {
+  @TempDir
+  Path dir;
+
+  @Test
+  void testProfilesSurviveRestart() {
+    List<BenderProfile> profiles = save(10);
+    LogStorage storage = new LogStorage(NoOpLogger.INSTANCE, dir);
+    assertEquals(10, storage.loadUuids().size());
+    for (BenderProfile profile : profiles) {
+      assertEquals(profile, storage.loadProfile(profile.uuid()));
+    }
+    storage.close();
+  }
+
+  @Test
+  void testLatestRecordWins() {
+    UUID uuid = UUID.randomUUID();
+    LogStorage storage = new LogStorage(NoOpLogger.INSTANCE, dir);
+    BenderProfile latest = null;
+    for (int i = 0; i < 5; i++) {
+      latest = TestProfiles.random(uuid);
+      assertTrue(storage.saveProfile(latest));
+    }
+    assertEquals(latest, storage.loadProfile(uuid));
+    storage.close();
+
+    storage = new LogStorage(NoOpLogger.INSTANCE, dir);
+    assertEquals(Set.of(uuid), storage.loadUuids());
+    assertEquals(latest, storage.loadProfile(uuid));
+    storage.close();
+  }
+
+  @Test
+  void testTornWriteIsDiscarded() throws IOException {
+    List<BenderProfile> profiles = save(3);
+    Path log = dir.resolve("profiles.log");
+    long size = Files.size(log);
+    try (var channel = FileChannel.open(log, StandardOpenOption.WRITE)) {
+      // Drop the tail of the last record
+      channel.truncate(size - 4);
+    }
+
+    LogStorage storage = new LogStorage(NoOpLogger.INSTANCE, dir);
+    assertEquals(profiles.get(0), storage.loadProfile(profiles.get(0).uuid()));
+    assertEquals(profiles.get(1), storage.loadProfile(profiles.get(1).uuid()));
+    assertNull(storage.loadProfile(profiles.get(2).uuid()));
+    // The discarded record is kept in a copy of the log
+    assertEquals(1, damagedCopies());
+    // New records are appended right after the last valid one
+    BenderProfile profile = TestProfiles.random(UUID.randomUUID());
+    assertTrue(storage.saveProfile(profile));
+    storage.close();
+
+    storage = new LogStorage(NoOpLogger.INSTANCE, dir);
+    assertEquals(3, storage.loadUuids().size());
+    assertEquals(profile, storage.loadProfile(profile.uuid()));
+    storage.close();
+  }
+
+  @Test
+  void testChecksumMismatchIsDiscarded() throws IOException {
+    List<BenderProfile> profiles = save(2);
+    Path log = dir.resolve("profiles.log");
+    try (var channel = FileChannel.open(log, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      // Flip the last payload byte of the last record
+      long position = channel.size() - 1;
+      ByteBuffer buffer = ByteBuffer.allocate(1);
+      channel.read(buffer, position);
+      buffer.put(0, (byte) ~buffer.get(0));
+      channel.write(buffer.rewind(), position);
+    }
+
+    LogStorage storage = new LogStorage(NoOpLogger.INSTANCE, dir);
+    assertEquals(profiles.get(0), storage.loadProfile(profiles.get(0).uuid()));
+    assertNull(storage.loadProfile(profiles.get(1).uuid()));
+    storage.close();
+  }
+
+  @Test
+  void testDamagedRecordIsSkipped() throws IOException {
+    List<BenderProfile> profiles = save(3);
+    Path log = dir.resolve("profiles.log");
+    long size = Files.size(log);
+    try (var channel = FileChannel.open(log, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      // Flip the last payload byte of the middle record
+      long position = recordOffset(channel, 2) - 1;
+      ByteBuffer buffer = ByteBuffer.allocate(1);
+      channel.read(buffer, position);
+      buffer.put(0, (byte) ~buffer.get(0));
+      channel.write(buffer.rewind(), position);
+    }
+
+    LogStorage storage = new LogStorage(NoOpLogger.INSTANCE, dir);
+    assertEquals(profiles.get(0), storage.loadProfile(profiles.get(0).uuid()));
+    assertNull(storage.loadProfile(profiles.get(1).uuid()));
+    assertEquals(profiles.get(2), storage.loadProfile(profiles.get(2).uuid()));
+    storage.close();
+    assertEquals(size, Files.size(log));
+    assertEquals(1, damagedCopies());
+  }
+
+  @Test
+  void testDamagedHeaderFailsStartup() throws IOException {
+    List<BenderProfile> profiles = save(3);
+    Path log = dir.resolve("profiles.log");
+    long size = Files.size(log);
+    try (var channel = FileChannel.open(log, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      // Overwrite the length of the middle record
+      channel.write(ByteBuffer.allocate(4).putInt(0, -1), recordOffset(channel, 1));
+    }
+
+    assertThrows(UncheckedIOException.class, () -> new LogStorage(NoOpLogger.INSTANCE, dir));
+    assertEquals(size, Files.size(log));
+  }
+
+  @Test
+  void testCompactionKeepsLatestRecords() throws Exception {
+    UUID uuid = UUID.randomUUID();
+    List<BenderProfile> others = save(5);
+    LogStorage storage = new LogStorage(NoOpLogger.INSTANCE, dir);
+    Path log = dir.resolve("profiles.log");
+    BenderProfile latest = null;
+    long peak = 0;
+    // Overwrite a single profile well past the compaction threshold
+    for (int i = 0; i < 20_000; i++) {
+      latest = TestProfiles.random(uuid);
+      storage.saveProfile(latest);
+      peak = Math.max(peak, Files.size(log));
+    }
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (Files.size(log) >= peak && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+    assertTrue(Files.size(log) < peak);
+    assertEquals(latest, storage.loadProfile(uuid));
+    storage.close();
+
+    storage = new LogStorage(NoOpLogger.INSTANCE, dir);
+    assertEquals(6, storage.loadUuids().size());
+    assertEquals(latest, storage.loadProfile(uuid));
+    for (BenderProfile profile : others) {
+      assertEquals(profile, storage.loadProfile(profile.uuid()));
+    }
+    storage.close();
+  }
+
+  private List<BenderProfile> save(int amount) {
+    LogStorage storage = new LogStorage(NoOpLogger.INSTANCE, dir);
+    List<BenderProfile> profiles = new ArrayList<>(amount);
+    for (int i = 0; i < amount; i++) {
+      BenderProfile profile = TestProfiles.random(UUID.randomUUID());
+      assertTrue(storage.saveProfile(profile));
+      profiles.add(profile);
+    }
+    storage.close();
+    return profiles;
+  }
+
+  private long damagedCopies() throws IOException {
+    try (Stream<Path> files = Files.list(dir)) {
+      return files.filter(p -> p.getFileName().toString().endsWith(".damaged")).count();
+    }
+  }
+
+  private static long recordOffset(FileChannel channel, int index) throws IOException {
+    long position = 8; // Magic header
+    ByteBuffer length = ByteBuffer.allocate(4);
+    for (int i = 0; i < index; i++) {
+      channel.read(length.clear(), position);
+      position += 8 + length.getInt(0);
+    }
+    return position;
+  }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2020-2024 Moros
+ *
+ * This file is part of Bending.
+ *
+ * Bending is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Bending is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bending. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.common.storage;
+
+import java.io.IOException;
+import java.util.UUID;
+
+import me.moros.bending.api.user.profile.BenderProfile;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ProfileCodecTest {
+  @Test
+  void testRoundTrip() throws IOException {
+    for (int i = 0; i < 100; i++) {
+      BenderProfile profile = TestProfiles.random(UUID.randomUUID());
+      assertEquals(profile, ProfileCodec.decode(ProfileCodec.encode(profile)));
+    }
+  }
+
+  @Test
+  void testEmptyProfileRoundTrip() throws IOException {
+    BenderProfile profile = BenderProfile.of(UUID.randomUUID());
+    assertEquals(profile, ProfileCodec.decode(ProfileCodec.encode(profile)));
+  }
+
+  @Test
+  void testUuidIsReadWithoutDecoding() {
+    UUID uuid = UUID.randomUUID();
+    assertEquals(uuid, ProfileCodec.uuid(ProfileCodec.encode(TestProfiles.random(uuid))));
+  }
+
+  @Test
+  void testUnsupportedVersion() {
+    byte[] data = ProfileCodec.encode(TestProfiles.random(UUID.randomUUID()));
+    data[0] = (byte) 0xFF;
+    assertThrows(IOException.class, () -> ProfileCodec.decode(data));
+  }
+}
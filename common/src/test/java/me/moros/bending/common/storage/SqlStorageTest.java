@@ -0,0 +1,167 @@
+/*
+ * Copyright 2020-2024 Moros
+ *
+ * This file is part of Bending.
+ *
+ * Bending is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Bending is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bending. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.common.storage;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import me.moros.bending.api.ability.AbilityDescription;
+import me.moros.bending.api.ability.element.Element;
+import me.moros.bending.api.ability.preset.Preset;
+import me.moros.bending.api.user.profile.BenderProfile;
+import me.moros.bending.common.logging.NoOpLogger;
+import me.moros.storage.StorageDataSource;
+import me.moros.storage.StorageType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SqlStorageTest {
+  @TempDir
+  Path dir;
+
+  @Test
+  void testVersionedUpdates() {
+    SqlStorage storage = createStorage(0);
+    UUID uuid = UUID.randomUUID();
+    assertNull(storage.loadProfile(uuid));
+    for (int i = 0; i < 5; i++) {
+      BenderProfile profile = TestProfiles.random(uuid);
+      assertTrue(storage.saveProfile(profile));
+      assertEquals(profile, storage.loadProfile(uuid));
+    }
+    storage.close();
+  }
+
+  @Test
+  void testLoadSeesChangesFromOtherInstance() {
+    SqlStorage first = createStorage(0);
+    SqlStorage second = createStorage(0);
+    UUID uuid = UUID.randomUUID();
+
+    BenderProfile profile = TestProfiles.random(uuid);
+    assertTrue(first.saveProfile(profile));
+    assertEquals(profile, second.loadProfile(uuid));
+    // The second instance has a cached snapshot that is now outdated
+    BenderProfile updated = TestProfiles.random(uuid);
+    assertTrue(first.saveProfile(updated));
+    assertEquals(updated, second.loadProfile(uuid));
+    first.close();
+    second.close();
+  }
+
+  @Test
+  void testConflictingSavesAreMerged() {
+    SqlStorage first = createStorage(0);
+    SqlStorage second = createStorage(0);
+    UUID uuid = UUID.randomUUID();
+
+    BenderProfile base = profile(uuid, Set.of(Element.AIR));
+    assertTrue(first.saveProfile(base));
+    assertEquals(base, second.loadProfile(uuid));
+
+    assertTrue(first.saveProfile(profile(uuid, Set.of(Element.AIR, Element.FIRE))));
+    // Based on an outdated state, must not discard the element added by the first instance
+    assertTrue(second.saveProfile(profile(uuid, Set.of(Element.WATER))));
+
+    BenderProfile expected = profile(uuid, Set.of(Element.FIRE, Element.WATER));
+    assertEquals(expected, second.loadProfile(uuid));
+    assertEquals(expected, first.loadProfile(uuid));
+    first.close();
+    second.close();
+  }
+
+  @Test
+  void testExternalChangesAreNotified() throws InterruptedException {
+    SqlStorage first = createStorage(1);
+    SqlStorage second = createStorage(1);
+    UUID uuid = UUID.randomUUID();
+    CountDownLatch latch = new CountDownLatch(1);
+    second.onExternalChange(changed -> {
+      if (changed.equals(uuid)) {
+        latch.countDown();
+      }
+    });
+
+    assertTrue(first.saveProfile(TestProfiles.random(uuid)));
+    second.loadProfile(uuid);
+    assertTrue(first.saveProfile(TestProfiles.random(uuid)));
+    assertTrue(latch.await(5, TimeUnit.SECONDS));
+    first.close();
+    second.close();
+  }
+
+  @Test
+  void testMerge() {
+    UUID uuid = UUID.randomUUID();
+    Preset a = Preset.create("a", new AbilityDescription[9]);
+    BenderProfile base = BenderProfile.of(uuid, true, Set.of(Element.AIR, Element.EARTH), Preset.empty(), List.of());
+    BenderProfile ours = BenderProfile.of(uuid, false, Set.of(Element.AIR), Preset.empty(), List.of());
+    BenderProfile theirs = BenderProfile.of(uuid, true, Set.of(Element.AIR, Element.EARTH, Element.FIRE),
+      Preset.empty(), List.of(a));
+
+    BenderProfile merged = SqlStorage.merge(base, ours, theirs);
+    assertFalse(merged.board());
+    assertEquals(Set.of(Element.AIR, Element.FIRE), merged.elements());
+    assertEquals(Map.of("a", a), merged.presets());
+  }
+
+  @Test
+  void testWriteBehindSkipsPersistedProfiles() {
+    SqlStorage sql = createStorage(0);
+    WriteBehindStorage storage = new WriteBehindStorage(NoOpLogger.INSTANCE, sql);
+    BenderProfile profile = TestProfiles.random(UUID.randomUUID());
+    assertFalse(sql.isPersisted(profile));
+    assertTrue(storage.saveProfile(profile));
+    assertTrue(sql.isPersisted(profile));
+    // Clean profiles complete right away without queueing a write
+    assertTrue(storage.saveProfileAsync(profile).isDone());
+    assertEquals(0, storage.pendingWrites());
+    storage.close();
+  }
+
+  private SqlStorage createStorage(int syncInterval) {
+    var builder = StorageDataSource.builder(StorageType.H2).database("bending").username("bending").password("password");
+    builder.properties(p -> {
+      p.put("MODE", "PostgreSQL");
+      p.put("DB_CLOSE_ON_EXIT", false);
+    });
+    // Both instances share the same database file, like two servers sharing a database
+    builder.path(Path.of(dir.resolve("bending").toUri()));
+    StorageDataSource data = builder.build("bending-test");
+    if (data == null) {
+      throw new IllegalStateException("Could not create datasource");
+    }
+    return new SqlStorage(NoOpLogger.INSTANCE, data, syncInterval);
+  }
+
+  private static BenderProfile profile(UUID uuid, Set<Element> elements) {
+    return BenderProfile.of(uuid, elements, Preset.empty(), List.of());
+  }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2020-2024 Moros
+ *
+ * This file is part of Bending.
+ *
+ * Bending is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Bending is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bending. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.common.storage;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import me.moros.bending.common.storage.StorageExecutor.Priority;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StorageExecutorTest {
+  @Test
+  void testInteractiveTasksRunFirst() throws Exception {
+    StorageExecutor executor = new StorageExecutor("test", 1, 8);
+    CountDownLatch latch = new CountDownLatch(1);
+    List<String> order = new CopyOnWriteArrayList<>();
+
+    CompletableFuture<Boolean> blocker = executor.submit(Priority.INTERACTIVE, () -> await(latch));
+    executor.submit(Priority.BULK, () -> order.add("bulk"));
+    CompletableFuture<Boolean> last = executor.submit(Priority.INTERACTIVE, () -> order.add("interactive"));
+    assertEquals(1, executor.stats().bulkQueued());
+    latch.countDown();
+
+    assertTrue(blocker.get(1, TimeUnit.SECONDS));
+    last.get(1, TimeUnit.SECONDS);
+    assertTrue(executor.shutdown(1, TimeUnit.SECONDS));
+    assertEquals(List.of("interactive", "bulk"), order);
+    assertEquals(3, executor.stats().completed());
+  }
+
+  @Test
+  void testSubmitAfterShutdownFails() {
+    StorageExecutor executor = new StorageExecutor("test", 1, 8);
+    assertTrue(executor.shutdown(1, TimeUnit.SECONDS));
+
+    CompletableFuture<Integer> future = executor.submit(Priority.INTERACTIVE, () -> 1);
+    ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(1, TimeUnit.SECONDS));
+    assertTrue(e.getCause() instanceof IllegalStateException);
+  }
+
+  @Test
+  void testBlockedBulkSubmitterCompletesAfterShutdown() throws Exception {
+    StorageExecutor executor = new StorageExecutor("test", 1, 1);
+    CountDownLatch latch = new CountDownLatch(1);
+
+    CompletableFuture<Boolean> blocker = executor.submit(Priority.BULK, () -> await(latch));
+    // Blocks until the first bulk task releases its capacity
+    CompletableFuture<CompletableFuture<Integer>> blocked = CompletableFuture.supplyAsync(() -> {
+      return executor.submit(Priority.BULK, () -> 1);
+    });
+    assertFalse(executor.shutdown(100, TimeUnit.MILLISECONDS));
+    latch.countDown();
+
+    assertTrue(blocker.get(1, TimeUnit.SECONDS));
+    CompletableFuture<Integer> future = blocked.get(1, TimeUnit.SECONDS);
+    // Either executed by the exiting worker or rejected, but never left pending
+    assertTrue(future.handle((result, t) -> true).get(1, TimeUnit.SECONDS));
+  }
+
+  @Test
+  void testQueuedTasksFailWhenShutdownTimesOut() throws Exception {
+    StorageExecutor executor = new StorageExecutor("test", 1, 8);
+    CountDownLatch latch = new CountDownLatch(1);
+
+    executor.submit(Priority.INTERACTIVE, () -> await(latch));
+    CompletableFuture<Integer> queued = executor.submit(Priority.BULK, () -> 1);
+    assertFalse(executor.shutdown(100, TimeUnit.MILLISECONDS));
+    latch.countDown();
+
+    assertTrue(queued.isCompletedExceptionally());
+    assertEquals(0, executor.stats().bulkQueued());
+  }
+
+  private static boolean await(CountDownLatch latch) {
+    try {
+      return latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+}
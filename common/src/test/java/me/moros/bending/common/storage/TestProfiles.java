@@ -0,0 +1,77 @@
+/*
+ * Copyright 2020-2024 Moros
+ *
+ * This file is part of Bending.
+ *
+ * Bending is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Bending is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bending. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.common.storage;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import me.moros.bending.api.ability.AbilityDescription;
+import me.moros.bending.api.ability.Activation;
+import me.moros.bending.api.ability.element.Element;
+import me.moros.bending.api.ability.preset.Preset;
+import me.moros.bending.api.registry.Registries;
+import me.moros.bending.api.user.profile.BenderProfile;
+
+final class TestProfiles {
+  private static final AbilityDescription[] ABILITIES = registerAbilities(12);
+
+  private TestProfiles() {
+  }
+
+  private static AbilityDescription[] registerAbilities(int amount) {
+    AbilityDescription[] result = new AbilityDescription[amount];
+    Element[] elements = Element.values();
+    for (int i = 0; i < amount; i++) {
+      result[i] = AbilityDescription.builder("TestAbility" + i, desc -> null)
+        .element(elements[i % elements.length]).activation(Activation.ATTACK).build();
+      Registries.ABILITIES.register(result[i]);
+    }
+    return result;
+  }
+
+  static BenderProfile random(UUID uuid) {
+    ThreadLocalRandom rand = ThreadLocalRandom.current();
+    Set<Element> elements = EnumSet.noneOf(Element.class);
+    for (Element element : Element.values()) {
+      if (rand.nextBoolean()) {
+        elements.add(element);
+      }
+    }
+    List<Preset> presets = new ArrayList<>();
+    int presetAmount = rand.nextInt(4);
+    for (int i = 0; i < presetAmount; i++) {
+      presets.add(Preset.create("preset" + i, randomSlots()));
+    }
+    return BenderProfile.of(uuid, rand.nextBoolean(), elements, Preset.from(randomSlots()), presets);
+  }
+
+  private static AbilityDescription[] randomSlots() {
+    ThreadLocalRandom rand = ThreadLocalRandom.current();
+    AbilityDescription[] slots = new AbilityDescription[9];
+    for (int i = 0; i < slots.length; i++) {
+      slots[i] = rand.nextInt(4) == 0 ? null : ABILITIES[rand.nextInt(ABILITIES.length)];
+    }
+    return slots;
+  }
+}
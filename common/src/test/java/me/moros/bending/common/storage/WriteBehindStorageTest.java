@@ -0,0 +1,228 @@
+/*
+ * Copyright 2020-2024 Moros
+ *
+ * This file is part of Bending.
+ *
+ * Bending is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Bending is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bending. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.common.storage;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import me.moros.bending.api.ability.element.Element;
+import me.moros.bending.api.ability.preset.Preset;
+import me.moros.bending.api.storage.BendingStorage;
+import me.moros.bending.api.user.profile.BenderProfile;
+import me.moros.bending.common.logging.NoOpLogger;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WriteBehindStorageTest {
+  @Test
+  void testSingleSaveIsWrittenImmediately() throws Exception {
+    MemoryStorage memory = new MemoryStorage();
+    WriteBehindStorage storage = new WriteBehindStorage(NoOpLogger.INSTANCE, memory);
+    BenderProfile profile = profile(UUID.randomUUID(), Element.AIR);
+
+    // Well before the periodic flush
+    assertTrue(storage.saveProfileAsync(profile).get(500, TimeUnit.MILLISECONDS));
+    assertEquals(profile, memory.profiles.get(profile.uuid()));
+    assertEquals(0, memory.bulkWrites.get());
+    storage.close();
+  }
+
+  @Test
+  void testWritesForSameUserAreOrdered() throws Exception {
+    MemoryStorage memory = new MemoryStorage();
+    WriteBehindStorage storage = new WriteBehindStorage(NoOpLogger.INSTANCE, memory);
+    UUID uuid = UUID.randomUUID();
+    BenderProfile first = profile(uuid, Element.AIR);
+    BenderProfile second = profile(uuid, Element.WATER);
+    BenderProfile third = profile(uuid, Element.EARTH);
+
+    memory.block = new CountDownLatch(1);
+    CompletableFuture<Boolean> firstResult = storage.saveProfileAsync(first);
+    CompletableFuture<Boolean> secondResult = storage.saveProfileAsync(second);
+    CompletableFuture<Boolean> thirdResult = storage.saveProfileAsync(third);
+    // Newer states are visible while waiting for the write in progress
+    assertEquals(third, storage.loadProfile(uuid));
+    assertFalse(secondResult.isDone());
+    memory.block.countDown();
+
+    assertTrue(firstResult.get(1, TimeUnit.SECONDS));
+    assertTrue(secondResult.get(1, TimeUnit.SECONDS));
+    assertTrue(thirdResult.get(1, TimeUnit.SECONDS));
+    // The second state was superseded before it was ever written
+    assertEquals(List.of(first, third), memory.writes);
+    assertEquals(third, memory.profiles.get(uuid));
+    storage.close();
+  }
+
+  @Test
+  void testBulkSavesAreCoalescedAndBatched() throws Exception {
+    MemoryStorage memory = new MemoryStorage();
+    WriteBehindStorage storage = new WriteBehindStorage(NoOpLogger.INSTANCE, memory);
+    UUID uuid = UUID.randomUUID();
+    BenderProfile first = profile(uuid, Element.AIR);
+    BenderProfile second = profile(uuid, Element.FIRE);
+    BenderProfile other = profile(UUID.randomUUID(), Element.EARTH);
+
+    assertTrue(storage.saveProfilesAsync(List.of(first, other, second)).get(5, TimeUnit.SECONDS));
+
+    assertEquals(0, storage.pendingWrites());
+    assertEquals(second, memory.profiles.get(uuid));
+    assertEquals(other, memory.profiles.get(other.uuid()));
+    assertFalse(memory.writes.contains(first));
+    assertEquals(memory.writes.size(), memory.bulkWrites.get());
+    storage.close();
+  }
+
+  @Test
+  void testFailedWritesAreRetried() throws Exception {
+    MemoryStorage memory = new MemoryStorage();
+    WriteBehindStorage storage = new WriteBehindStorage(NoOpLogger.INSTANCE, memory);
+    BenderProfile profile = profile(UUID.randomUUID(), Element.AIR);
+
+    memory.failures.set(1);
+    assertTrue(storage.saveProfileAsync(profile).get(5, TimeUnit.SECONDS));
+    assertEquals(profile, memory.profiles.get(profile.uuid()));
+    storage.close();
+  }
+
+  @Test
+  void testCloseWritesQueuedProfiles() {
+    MemoryStorage memory = new MemoryStorage();
+    WriteBehindStorage storage = new WriteBehindStorage(NoOpLogger.INSTANCE, memory);
+    BenderProfile profile = profile(UUID.randomUUID(), Element.AIR);
+
+    storage.saveProfilesAsync(List.of(profile)).join();
+    storage.close();
+    assertEquals(profile, memory.profiles.get(profile.uuid()));
+    assertTrue(memory.closed);
+  }
+
+  private static BenderProfile profile(UUID uuid, Element element) {
+    return BenderProfile.of(uuid, Set.of(element), Preset.empty(), List.of());
+  }
+
+  private static final class MemoryStorage implements BendingStorage {
+    private final Map<UUID, BenderProfile> profiles = new ConcurrentHashMap<>();
+    private final List<BenderProfile> writes = new CopyOnWriteArrayList<>();
+    private final AtomicInteger bulkWrites = new AtomicInteger();
+    private final AtomicInteger failures = new AtomicInteger();
+    private volatile @Nullable CountDownLatch block;
+    private volatile boolean closed;
+
+    @Override
+    public Set<UUID> loadUuids() {
+      return Set.copyOf(profiles.keySet());
+    }
+
+    @Override
+    public CompletableFuture<Set<UUID>> loadUuidsAsync() {
+      return CompletableFuture.completedFuture(loadUuids());
+    }
+
+    @Override
+    public @Nullable BenderProfile loadProfile(UUID uuid) {
+      return profiles.get(uuid);
+    }
+
+    @Override
+    public CompletableFuture<@Nullable BenderProfile> loadProfileAsync(UUID uuid) {
+      return CompletableFuture.completedFuture(loadProfile(uuid));
+    }
+
+    @Override
+    public Map<UUID, BenderProfile> loadProfiles(Set<UUID> uuids) {
+      Map<UUID, BenderProfile> result = new ConcurrentHashMap<>();
+      uuids.forEach(uuid -> {
+        BenderProfile profile = profiles.get(uuid);
+        if (profile != null) {
+          result.put(uuid, profile);
+        }
+      });
+      return result;
+    }
+
+    @Override
+    public CompletableFuture<Map<UUID, BenderProfile>> loadProfilesAsync(Set<UUID> uuids, LongAdder progressCounter) {
+      return CompletableFuture.completedFuture(loadProfiles(uuids));
+    }
+
+    @Override
+    public boolean saveProfile(BenderProfile profile) {
+      CountDownLatch latch = block;
+      if (latch != null) {
+        try {
+          latch.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+      if (failures.getAndUpdate(i -> Math.max(0, i - 1)) > 0) {
+        return false;
+      }
+      writes.add(profile);
+      profiles.put(profile.uuid(), profile);
+      return true;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> saveProfileAsync(BenderProfile profile) {
+      return CompletableFuture.supplyAsync(() -> saveProfile(profile));
+    }
+
+    @Override
+    public boolean saveProfiles(Collection<BenderProfile> profiles) {
+      boolean result = true;
+      for (BenderProfile profile : profiles) {
+        result &= saveProfile(profile);
+      }
+      return result;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> saveProfilesAsync(Collection<BenderProfile> profiles, LongAdder progressCounter) {
+      bulkWrites.addAndGet(profiles.size());
+      return CompletableFuture.supplyAsync(() -> saveProfiles(profiles));
+    }
+
+    @Override
+    public boolean isRemote() {
+      return false;
+    }
+
+    @Override
+    public void close() {
+      closed = true;
+    }
+  }
+}
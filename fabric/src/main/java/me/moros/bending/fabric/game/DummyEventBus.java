@@ -20,6 +20,7 @@
 package me.moros.bending.fabric.game;
 
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import me.moros.bending.api.event.BendingEvent;
 import me.moros.bending.api.event.EventBus;
@@ -40,8 +41,22 @@ final class DummyEventBus extends EventBusImpl {
   public <T extends BendingEvent> void subscribe(Class<T> event, Consumer<? super T> subscriber, int priority) {
   }
 
+  @Override
+  public <T extends BendingEvent> void subscribeAsync(Class<T> event, Consumer<? super T> subscriber) {
+  }
+
   @Override
   public <T extends BendingEvent> boolean post(T event) {
     return false;
   }
+
+  @Override
+  public boolean hasSubscribers(Class<? extends BendingEvent> event) {
+    return false;
+  }
+
+  @Override
+  public <T extends BendingEvent> boolean post(Class<T> event, Supplier<? extends T> supplier) {
+    return false;
+  }
 }
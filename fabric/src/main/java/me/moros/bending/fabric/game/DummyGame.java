@@ -24,14 +24,16 @@ import me.moros.bending.api.event.EventBus;
 import me.moros.bending.api.game.ActivationController;
 import me.moros.bending.api.game.FlightManager;
 import me.moros.bending.api.game.Game;
+import me.moros.bending.api.game.GameClock;
 import me.moros.bending.api.game.WorldManager;
 import me.moros.bending.api.storage.BendingStorage;
 
 public record DummyGame(EventBus eventBus, BendingStorage storage, FlightManager flightManager,
                         WorldManager worldManager,
-                        ActivationController activationController, ConfigProcessor configProcessor) implements Game {
+                        ActivationController activationController, ConfigProcessor configProcessor,
+                        GameClock clock) implements Game {
   public static final Game INSTANCE = new DummyGame(DummyEventBus.INSTANCE, DummyStorage.INSTANCE, DummyFlightManager.INSTANCE,
-    DummyWorldManager.INSTANCE, DummyActivationController.INSTANCE, DummyConfigProcessor.INSTANCE);
+    DummyWorldManager.INSTANCE, DummyActivationController.INSTANCE, DummyConfigProcessor.INSTANCE, DummyGameClock.INSTANCE);
 
   @Override
   public void reload() {
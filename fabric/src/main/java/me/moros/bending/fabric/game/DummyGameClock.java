@@ -0,0 +1,49 @@
+/*
+ * Copyright 2020-2024 Moros
+ *
+ * This file is part of Bending.
+ *
+ * Bending is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Bending is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bending. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.fabric.game;
+
+import me.moros.bending.api.game.GameClock;
+
+final class DummyGameClock implements GameClock {
+  static final DummyGameClock INSTANCE = new DummyGameClock();
+
+  private DummyGameClock() {
+  }
+
+  @Override
+  public int tick() {
+    return 0;
+  }
+
+  @Override
+  public long tickStartNanos() {
+    return System.nanoTime();
+  }
+
+  @Override
+  public long millis() {
+    return System.currentTimeMillis();
+  }
+
+  @Override
+  public boolean deterministic() {
+    return false;
+  }
+}
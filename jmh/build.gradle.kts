@@ -5,4 +5,52 @@ plugins {
 
 dependencies {
     implementation(projects.bendingCommon)
+    implementation(libs.adventure.api)
+    implementation(libs.bundles.configurate)
+    implementation(libs.caffeine)
+    implementation(libs.hikari)
+    implementation(libs.jdbi)
+    implementation(libs.bundles.flyway)
+    implementation(libs.bundles.drivers.local)
+}
+
+val jmhResults = layout.buildDirectory.file("results/jmh/results.json")
+// Baselines always record allocations so they can be compared
+val recordsBaseline = gradle.startParameter.taskNames.any { it.endsWith("jmhBaseline") || it.endsWith("jmhCompare") }
+
+jmh {
+    includes = providers.gradleProperty("jmhIncludes").map { listOf(it) }.orElse(listOf())
+    profilers = providers.gradleProperty("jmhProfilers").map { it.split(",") }.orElse(listOf())
+        .map { if (recordsBaseline && "gc" !in it) it + "gc" else it }
+    resultFormat = "JSON"
+    resultsFile = jmhResults
+}
+
+val baselineFile = layout.projectDirectory.file(providers.gradleProperty("baseline").map { "baselines/$it.json" }
+    .orElse("baselines/baseline.json"))
+
+tasks {
+    register<Copy>("jmhBaseline") {
+        description = "Runs the benchmarks and stores the results as a baseline."
+        dependsOn(named("jmh"))
+        from(jmhResults)
+        into(baselineFile.map { it.asFile.parentFile })
+        rename { baselineFile.get().asFile.name }
+    }
+    register<JavaExec>("jmhCompare") {
+        description = "Runs the benchmarks and compares the results against a baseline."
+        dependsOn(named("jmh"))
+        classpath = sourceSets["jmh"].runtimeClasspath
+        mainClass = "me.moros.bending.BaselineCheck"
+        doFirst {
+            val baseline = baselineFile.get().asFile
+            if (!baseline.exists()) {
+                jmhResults.get().asFile.copyTo(baseline)
+                logger.lifecycle("No jmh baseline found, stored the current results in $baseline.")
+                throw StopExecutionException()
+            }
+        }
+        args(baselineFile.get().asFile, jmhResults.get().asFile,
+            providers.gradleProperty("threshold").getOrElse("10"))
+    }
 }
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2020-2024 Moros
+ *
+ * This file is part of Bending.
+ *
+ * Bending is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Bending is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bending. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.gson.GsonConfigurationLoader;
+
+/**
+ * Compares JMH json results against a checked-in baseline and fails if any benchmark got slower or allocates more
+ * than the allowed threshold. Allocations are only compared when both runs used the gc profiler.
+ */
+public final class BaselineCheck {
+  private static final String ALLOCATION = "gc.alloc.rate.norm";
+  // Ignore allocation noise for benchmarks that are (almost) allocation free
+  private static final double MIN_ALLOCATION_DELTA = 16;
+
+  private BaselineCheck() {
+  }
+
+  private record Result(String mode, double score, String unit, double allocation) {
+    private double delta(Result baseline) {
+      double delta = (score - baseline.score) / baseline.score;
+      return "thrpt".equals(mode) ? -delta : delta;
+    }
+  }
+
+  private static Map<String, Result> load(Path path) throws IOException {
+    ConfigurationNode root = GsonConfigurationLoader.builder().path(path).build().load();
+    Map<String, Result> results = new TreeMap<>();
+    for (ConfigurationNode node : root.childrenList()) {
+      String params = node.node("params").childrenMap().entrySet().stream()
+        .map(e -> e.getKey() + "=" + e.getValue().getString())
+        .sorted().collect(Collectors.joining(",", "(", ")"));
+      String name = node.node("benchmark").getString("") + (params.equals("()") ? "" : params);
+      ConfigurationNode metric = node.node("primaryMetric");
+      double allocation = node.node("secondaryMetrics", ALLOCATION, "score").getDouble(Double.NaN);
+      results.put(name, new Result(node.node("mode").getString(""), metric.node("score").getDouble(),
+        metric.node("scoreUnit").getString(""), allocation));
+    }
+    return results;
+  }
+
+  /**
+   * Compare results with a baseline.
+   * @param args the baseline file, the results file and optionally the allowed regression in percent (default 10)
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length < 2) {
+      System.err.println("Usage: BaselineCheck <baseline.json> <results.json> [threshold %]");
+      System.exit(2);
+    }
+    Map<String, Result> baseline = load(Path.of(args[0]));
+    Map<String, Result> current = load(Path.of(args[1]));
+    double threshold = (args.length > 2 ? Double.parseDouble(args[2]) : 10) / 100;
+    int regressions = 0;
+    for (var entry : current.entrySet()) {
+      Result base = baseline.get(entry.getKey());
+      Result result = entry.getValue();
+      if (base == null) {
+        System.out.printf("NEW   %s %.3f %s%n", entry.getKey(), result.score, result.unit);
+        continue;
+      }
+      double delta = result.delta(base);
+      double allocDelta = result.allocation - base.allocation;
+      boolean slower = delta > threshold;
+      boolean allocates = allocDelta > MIN_ALLOCATION_DELTA && allocDelta > base.allocation * threshold;
+      if (slower || allocates) {
+        regressions++;
+      }
+      System.out.printf("%s %s %.3f -> %.3f %s (%+.1f%%)", slower || allocates ? "FAIL " : "OK   ",
+        entry.getKey(), base.score, result.score, result.unit, delta * 100);
+      if (Double.isNaN(allocDelta)) {
+        System.out.println();
+      } else {
+        System.out.printf(", %.0f -> %.0f B/op%n", base.allocation, result.allocation);
+      }
+    }
+    if (regressions > 0) {
+      System.out.printf("%d benchmark(s) regressed by more than %.0f%%%n", regressions, threshold * 100);
+      System.exit(1);
+    }
+  }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2020-2024 Moros
+ *
+ * This file is part of Bending.
+ *
+ * Bending is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Bending is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bending. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import me.moros.math.Rotation;
+import me.moros.math.Vector3d;
+import me.moros.math.VectorUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Vector and rotation math in the shapes ability code uses it, from per-tick movement chains to particle rings.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+public class VectorBenchmark {
+  private static final int SIZE = 1 << 10;
+  private static final int MASK = SIZE - 1;
+
+  private Vector3d[] origins;
+  private Vector3d[] locations;
+  private Vector3d[] directions;
+  private Rotation[] rotations;
+  private double[][] arrays;
+  private int index;
+
+  @Setup
+  public void setup() {
+    SplittableRandom rand = new SplittableRandom(42);
+    origins = new Vector3d[SIZE];
+    locations = new Vector3d[SIZE];
+    directions = new Vector3d[SIZE];
+    rotations = new Rotation[SIZE];
+    arrays = new double[SIZE][];
+    for (int i = 0; i < SIZE; i++) {
+      origins[i] = Vector3d.of(rand.nextDouble(-1000, 1000), rand.nextDouble(60, 120), rand.nextDouble(-1000, 1000));
+      directions[i] = Vector3d.of(rand.nextDouble(-1, 1), rand.nextDouble(-1, 1), rand.nextDouble(-1, 1)).normalize();
+      locations[i] = origins[i].add(directions[i].multiply(rand.nextDouble(1, 20)));
+      rotations[i] = Rotation.from(directions[i], rand.nextDouble(2 * Math.PI));
+      arrays[i] = directions[i].toArray();
+    }
+  }
+
+  private int next() {
+    return index++ & MASK;
+  }
+
+  @Benchmark
+  public Vector3d projectileStep() {
+    int i = next();
+    Vector3d origin = origins[i];
+    Vector3d next = locations[i].add(directions[i].multiply(0.8));
+    return next.subtract(origin).normalize().multiply(Math.min(20, next.distance(origin))).add(origin);
+  }
+
+  @Benchmark
+  public Vector3d sideOffset() {
+    int i = next();
+    Vector3d side = directions[i].cross(Vector3d.PLUS_J).normalize();
+    return locations[i].add(side.multiply(0.5)).add(0, 1.2, 0);
+  }
+
+  @Benchmark
+  public Vector3d rotationApplyTo() {
+    int i = next();
+    return rotations[i].applyTo(directions[i]);
+  }
+
+  @Benchmark
+  public double[] rotationApplyToArray() {
+    int i = next();
+    double[] array = arrays[i];
+    rotations[i].applyTo(array, array);
+    return array;
+  }
+
+  @Benchmark
+  public Rotation rotationCompose() {
+    int i = next();
+    return rotations[i].applyTo(rotations[(i + 1) & MASK]);
+  }
+
+  @Benchmark
+  public void circle(Blackhole bh) {
+    int i = next();
+    bh.consume(VectorUtil.circle(directions[i].multiply(2), Vector3d.PLUS_J, 36));
+  }
+
+  @Benchmark
+  public void rotate(Blackhole bh) {
+    int i = next();
+    bh.consume(VectorUtil.rotate(directions[i].multiply(2), rotations[i], 36));
+  }
+}
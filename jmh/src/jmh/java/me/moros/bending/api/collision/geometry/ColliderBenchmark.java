@@ -0,0 +1,72 @@
+/*
+ * Copyright 2020-2024 Moros
+ *
+ * This file is part of Bending.
+ *
+ * Bending is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Bending is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bending. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.api.collision.geometry;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Intersection test for every supported collider pair. Colliders are generated around the origin so roughly half of
+ * the pairs intersect, which keeps both the early exit and the full test paths warm.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+public class ColliderBenchmark {
+  @Param({
+    "SPHERE:SPHERE", "AABB:AABB", "OBB:OBB", "RAY:RAY", "DISK:DISK",
+    "SPHERE:RAY", "AABB:SPHERE", "AABB:RAY", "OBB:SPHERE", "OBB:AABB", "OBB:RAY",
+    "DISK:SPHERE", "DISK:AABB", "DISK:OBB", "DISK:RAY"
+  })
+  private String pair;
+
+  private Collider[] first;
+  private Collider[] second;
+  private int index;
+
+  @Setup
+  public void setup() {
+    String[] types = pair.split(":");
+    SplittableRandom rand = new SplittableRandom(42);
+    first = GeometryUtil.generate(Collider.Type.valueOf(types[0]), rand);
+    second = GeometryUtil.generate(Collider.Type.valueOf(types[1]), rand);
+  }
+
+  @Benchmark
+  public boolean intersects() {
+    int i = index++ & GeometryUtil.MASK;
+    return first[i].intersects(second[i]);
+  }
+}
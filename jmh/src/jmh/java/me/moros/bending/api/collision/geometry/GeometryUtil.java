@@ -0,0 +1,68 @@
+/*
+ * Copyright 2020-2024 Moros
+ *
+ * This file is part of Bending.
+ *
+ * Bending is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Bending is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bending. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.api.collision.geometry;
+
+import java.util.SplittableRandom;
+
+import me.moros.math.Vector3d;
+
+final class GeometryUtil {
+  private GeometryUtil() {
+  }
+
+  static final int SIZE = 1 << 10;
+  static final int MASK = SIZE - 1;
+
+  static Collider[] generate(Collider.Type type, SplittableRandom rand) {
+    Collider[] result = new Collider[SIZE];
+    for (int i = 0; i < SIZE; i++) {
+      result[i] = generate(type, randomVector(rand, 3), rand);
+    }
+    return result;
+  }
+
+  static Collider generate(Collider.Type type, Vector3d center, SplittableRandom rand) {
+    return switch (type) {
+      case SPHERE -> Sphere.of(center, rand.nextDouble(0.5, 2));
+      case AABB -> box(rand).at(center);
+      case OBB -> OBB.of(box(rand).at(center), randomAxis(rand), rand.nextDouble(2 * Math.PI));
+      case RAY -> Ray.of(center, randomAxis(rand).multiply(rand.nextDouble(1, 8)));
+      case DISK -> {
+        double radius = rand.nextDouble(1, 3);
+        AABB bounds = AABB.of(Vector3d.of(-radius, -radius, -0.1), Vector3d.of(radius, radius, 0.1));
+        yield Disk.of(Sphere.of(radius), OBB.of(bounds, randomAxis(rand), rand.nextDouble(2 * Math.PI))).at(center);
+      }
+    };
+  }
+
+  static AABB box(SplittableRandom rand) {
+    Vector3d extents = Vector3d.of(rand.nextDouble(0.25, 2), rand.nextDouble(0.25, 2), rand.nextDouble(0.25, 2));
+    return AABB.of(extents.negate(), extents);
+  }
+
+  static Vector3d randomAxis(SplittableRandom rand) {
+    Vector3d axis = randomVector(rand, 1);
+    return axis.lengthSq() < 1e-4 ? Vector3d.PLUS_J : axis.normalize();
+  }
+
+  static Vector3d randomVector(SplittableRandom rand, double spread) {
+    return Vector3d.of(rand.nextDouble(-spread, spread), rand.nextDouble(-spread, spread), rand.nextDouble(-spread, spread));
+  }
+}
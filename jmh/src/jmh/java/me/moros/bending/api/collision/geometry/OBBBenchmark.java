@@ -0,0 +1,113 @@
+/*
+ * Copyright 2020-2024 Moros
+ *
+ * This file is part of Bending.
+ *
+ * Bending is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Bending is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bending. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.api.collision.geometry;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import me.moros.math.Rotation;
+import me.moros.math.Vector3d;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * OBB construction and queries as used by abilities that rebuild their collider every tick.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+public class OBBBenchmark {
+  private AABB[] boxes;
+  private Vector3d[] axes;
+  private double[] angles;
+  private Rotation[] rotations;
+  private Vector3d[] points;
+  private OBB[] obbs;
+  private int index;
+
+  @Setup
+  public void setup() {
+    SplittableRandom rand = new SplittableRandom(42);
+    boxes = new AABB[GeometryUtil.SIZE];
+    axes = new Vector3d[GeometryUtil.SIZE];
+    angles = new double[GeometryUtil.SIZE];
+    rotations = new Rotation[GeometryUtil.SIZE];
+    points = new Vector3d[GeometryUtil.SIZE];
+    obbs = new OBB[GeometryUtil.SIZE];
+    for (int i = 0; i < GeometryUtil.SIZE; i++) {
+      boxes[i] = GeometryUtil.box(rand).at(GeometryUtil.randomVector(rand, 3));
+      axes[i] = GeometryUtil.randomAxis(rand);
+      angles[i] = rand.nextDouble(2 * Math.PI);
+      rotations[i] = Rotation.from(axes[i], angles[i]);
+      points[i] = GeometryUtil.randomVector(rand, 4);
+      obbs[i] = OBB.of(boxes[i], rotations[i]);
+    }
+  }
+
+  private int next() {
+    return index++ & GeometryUtil.MASK;
+  }
+
+  @Benchmark
+  public OBB fromAxisAngle() {
+    int i = next();
+    return OBB.of(boxes[i], axes[i], angles[i]);
+  }
+
+  @Benchmark
+  public OBB fromRotation() {
+    int i = next();
+    return OBB.of(boxes[i], rotations[i]);
+  }
+
+  @Benchmark
+  public OBB fromAABB() {
+    return OBB.of(boxes[next()]);
+  }
+
+  @Benchmark
+  public OBB at() {
+    int i = next();
+    return obbs[i].at(points[i]);
+  }
+
+  @Benchmark
+  public Vector3d localSpace() {
+    int i = next();
+    return obbs[i].localSpace(points[i]);
+  }
+
+  @Benchmark
+  public Vector3d closestPosition() {
+    int i = next();
+    return obbs[i].closestPosition(points[i]);
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2020-2024 Moros
+ *
+ * This file is part of Bending.
+ *
+ * Bending is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Bending is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bending. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.api.util;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import me.moros.bending.api.game.GameClock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+// Run with -prof gc to compare allocation rate per instance lifecycle
+@State(Scope.Benchmark)
+@Fork(value = 1)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+public class ExpiringSetBenchmark {
+  private static final GameClock CLOCK = new FixedClock();
+
+  @Param({"4", "64"})
+  int size;
+
+  UUID[] items;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    items = new UUID[size];
+    for (int i = 0; i < size; i++) {
+      items[i] = UUID.randomUUID();
+    }
+  }
+
+  @Benchmark
+  public void caffeineLifecycle(Blackhole bh) {
+    Cache<UUID, Boolean> cache = Caffeine.newBuilder().expireAfterWrite(500, TimeUnit.MILLISECONDS).build();
+    for (UUID item : items) {
+      if (cache.getIfPresent(item) == null) {
+        cache.put(item, false);
+      }
+    }
+    for (UUID item : items) {
+      bh.consume(cache.getIfPresent(item) != null);
+    }
+  }
+
+  @Benchmark
+  public void clockLifecycle(Blackhole bh) {
+    ExpiringSet<UUID> set = new ExpiringSet<>(500, TimeUnit.MILLISECONDS, CLOCK);
+    for (UUID item : items) {
+      set.add(item);
+    }
+    for (UUID item : items) {
+      bh.consume(set.contains(item));
+    }
+  }
+
+  private static final class FixedClock implements GameClock {
+    @Override
+    public int tick() {
+      return 0;
+    }
+
+    @Override
+    public long tickStartNanos() {
+      return 0;
+    }
+
+    @Override
+    public long millis() {
+      return 0;
+    }
+
+    @Override
+    public boolean deterministic() {
+      return true;
+    }
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2020-2024 Moros
+ *
+ * This file is part of Bending.
+ *
+ * Bending is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Bending is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bending. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.common.backup;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import me.moros.bending.api.user.profile.BenderProfile;
+import me.moros.bending.common.backup.ChunkedBackup.Chunk;
+import me.moros.bending.common.storage.StorageUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Benchmark)
+@Fork(value = 1)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@BenchmarkMode(Mode.AverageTime)
+public class BackupBenchmark {
+  @Param({"10000", "50000"})
+  int size;
+
+  BenderProfile[] profiles;
+  List<BenderProfile[]> partitions;
+  Chunk single;
+  List<Chunk> chunks;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    profiles = StorageUtil.generateProfiles(size).stream()
+      .sorted(Comparator.comparing(BenderProfile::uuid)).toArray(BenderProfile[]::new);
+    partitions = new ArrayList<>();
+    for (int i = 0; i < size; i += ChunkedBackup.CHUNK_SIZE) {
+      int end = Math.min(i + ChunkedBackup.CHUNK_SIZE, size);
+      partitions.add(Arrays.copyOfRange(profiles, i, end));
+    }
+    // A single chunk holds the same document as the legacy backup format
+    single = ChunkedBackup.encode(profiles);
+    chunks = partitions.parallelStream().map(ChunkedBackup::encode).toList();
+  }
+
+  @Benchmark
+  public void encodeSingle(Blackhole bh) {
+    bh.consume(ChunkedBackup.encode(profiles));
+  }
+
+  @Benchmark
+  public void encodeChunked(Blackhole bh) {
+    bh.consume(partitions.parallelStream().map(ChunkedBackup::encode).toList());
+  }
+
+  @Benchmark
+  public void decodeSingle(Blackhole bh) throws IOException {
+    bh.consume(ChunkedBackup.decode(single));
+  }
+
+  @Benchmark
+  public void decodeChunked(Blackhole bh) {
+    bh.consume(chunks.parallelStream().map(BackupBenchmark::decode).toList());
+  }
+
+  private static BenderProfile[] decode(Chunk chunk) {
+    try {
+      return ChunkedBackup.decode(chunk);
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2020-2024 Moros
+ *
+ * This file is part of Bending.
+ *
+ * Bending is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Bending is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bending. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.common.collision;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import me.moros.bending.api.ability.AbilityDescription;
+import me.moros.bending.api.ability.Activation;
+import me.moros.bending.api.ability.element.Element;
+import me.moros.bending.api.collision.CollisionPair;
+import me.moros.bending.api.registry.Registries;
+import net.kyori.adventure.key.Key;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Benchmark)
+@Fork(value = 1)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+public class CollisionLookupBenchmark {
+  private static final int ABILITIES = 96;
+  private static final int QUERIES = 1024;
+
+  AbilityDescription[] firsts;
+  AbilityDescription[] seconds;
+  CollisionTable table;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    Element[] elements = Element.values();
+    List<Key> keys = new ArrayList<>(ABILITIES);
+    AbilityDescription[] descs = new AbilityDescription[ABILITIES];
+    for (int i = 0; i < ABILITIES; i++) {
+      descs[i] = AbilityDescription.builder("CollisionAbility" + i, desc -> null)
+        .element(elements[i % elements.length]).activation(Activation.ATTACK).build();
+      Registries.ABILITIES.register(descs[i]);
+      keys.add(descs[i].key());
+    }
+    // Only the first half of abilities collide with each other
+    Registries.COLLISIONS.register(CollisionPair.builder().layer(keys.subList(0, ABILITIES / 2)).build());
+    table = CollisionTable.create(Registries.COLLISIONS, Registries.ABILITIES.idCount());
+    ThreadLocalRandom rand = ThreadLocalRandom.current();
+    firsts = new AbilityDescription[QUERIES];
+    seconds = new AbilityDescription[QUERIES];
+    for (int i = 0; i < QUERIES; i++) {
+      firsts[i] = descs[rand.nextInt(ABILITIES)];
+      seconds[i] = descs[rand.nextInt(ABILITIES)];
+    }
+  }
+
+  @Benchmark
+  public void lookupByKey(Blackhole bh) {
+    for (int i = 0; i < QUERIES; i++) {
+      bh.consume(Registries.COLLISIONS.get(CollisionPair.createKey(firsts[i], seconds[i])));
+    }
+  }
+
+  @Benchmark
+  public void lookupById(Blackhole bh) {
+    for (int i = 0; i < QUERIES; i++) {
+      bh.consume(table.get(firsts[i], seconds[i]));
+    }
+  }
+}
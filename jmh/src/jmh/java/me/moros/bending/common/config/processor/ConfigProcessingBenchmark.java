@@ -0,0 +1,118 @@
+/*
+ * Copyright 2020-2024 Moros
+ *
+ * This file is part of Bending.
+ *
+ * Bending is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Bending is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bending. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.common.config.processor;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import me.moros.bending.api.config.Configurable;
+import me.moros.bending.api.config.attribute.Attribute;
+import me.moros.bending.api.config.attribute.Modifier;
+import me.moros.bending.api.config.attribute.ModifierOperation;
+import me.moros.bending.common.config.processor.CachedConfig.ConfigException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.configurate.CommentedConfigurationNode;
+import org.spongepowered.configurate.hocon.HoconConfigurationLoader;
+import org.spongepowered.configurate.objectmapping.ObjectMapper;
+import org.spongepowered.configurate.reference.ConfigurationReference;
+
+/**
+ * Measures the config processing steps affected by the generated {@code @Modifiable} index and memoized calculations.
+ * With {@code optimized} disabled, calculations are never cached.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+public class ConfigProcessingBenchmark {
+  private static final Consumer<Throwable> IGNORE = t -> {
+  };
+
+  @Param({"me.moros.bending.common.ability.air.AirBlast$Config", "me.moros.bending.common.ability.fire.FireBlast$Config"})
+  String configType;
+
+  @Param({"false", "true"})
+  boolean optimized;
+
+  Class<? extends Configurable> type;
+  Path file;
+  ConfigurationReference<CommentedConfigurationNode> reference;
+  CachedConfig<?> config;
+  Map<Attribute, Modifier> modifiers;
+
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    type = Class.forName(configType).asSubclass(Configurable.class);
+    file = Files.createTempFile("bending-config", ".conf");
+    var loader = HoconConfigurationLoader.builder().path(file).defaultOptions(options -> options
+      .serializers(builder -> builder.register(Configurable.class, ObjectMapper.factory().asTypeSerializer()))).build();
+    reference = ConfigurationReference.fixed(loader);
+    config = CachedConfig.createFrom(reference, type);
+    modifiers = Map.of(
+      Attribute.RANGE, Modifier.of(ModifierOperation.MULTIPLICATIVE, 1.5),
+      Attribute.COOLDOWN, Modifier.of(ModifierOperation.ADDITIVE, -250)
+    );
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    reference.close();
+    Files.deleteIfExists(file);
+  }
+
+  // Resolving the attribute table of a config type from the generated index
+  @Benchmark
+  public List<?> attributeTable() {
+    return ModifiableIndex.entries(type);
+  }
+
+  // Full setup of a config type on startup and reload, including node to object mapping
+  @Benchmark
+  public CachedConfig<?> createCachedConfig() throws ConfigException {
+    return CachedConfig.createFrom(reference, type);
+  }
+
+  // A modified config calculation as performed on ability activation
+  @Benchmark
+  public Configurable calculate() {
+    if (!optimized) {
+      config.invalidate();
+    }
+    return config.withAttributes(modifiers, IGNORE);
+  }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2020-2024 Moros
+ *
+ * This file is part of Bending.
+ *
+ * Bending is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Bending is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bending. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.common.event;
+
+import java.util.concurrent.TimeUnit;
+
+import me.moros.bending.api.event.BendingEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Benchmark)
+@Fork(value = 1)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+public class EventBusBenchmark {
+  @Param({"false", "true"})
+  boolean subscribed;
+
+  EventBusImpl eventBus;
+  int counter;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    eventBus = new EventBusImpl();
+    if (subscribed) {
+      eventBus.subscribe(TestEvent.class, event -> counter += event.value());
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    eventBus.shutdown();
+  }
+
+  @Benchmark
+  public void postEager(Blackhole bh) {
+    bh.consume(eventBus.post(new TestEvent(counter)));
+  }
+
+  @Benchmark
+  public void postLazy(Blackhole bh) {
+    bh.consume(eventBus.post(TestEvent.class, () -> new TestEvent(counter)));
+  }
+
+  private record TestEvent(int value) implements BendingEvent {
+  }
+}
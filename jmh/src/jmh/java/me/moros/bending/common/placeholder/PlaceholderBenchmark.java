@@ -0,0 +1,127 @@
+/*
+ * Copyright 2020-2024 Moros
+ *
+ * This file is part of Bending.
+ *
+ * Bending is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Bending is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bending. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.common.placeholder;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import me.moros.bending.api.game.Game;
+import me.moros.bending.api.game.GameClock;
+import me.moros.bending.api.user.User;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.JoinConfiguration;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@Fork(value = 1)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+public class PlaceholderBenchmark {
+  private static final List<String> ELEMENTS = List.of("Air", "Water", "Earth", "Fire");
+  private static final String[] REQUESTS = {
+    "elements", "element", "display_name", "selected_ability", "slot_1", "slot_5", "slot_9", "unknown"
+  };
+
+  @Param({"false", "true"})
+  boolean memoize;
+
+  PlaceholderProvider provider;
+  User[] users;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    provider = PlaceholderProvider.builder()
+      .addStatic("elements", u -> join(ELEMENTS))
+      .addStatic("element", u -> Component.text(ELEMENTS.getFirst(), NamedTextColor.AQUA))
+      .addStatic("display_name", u -> Component.text("Bender").colorIfAbsent(NamedTextColor.GOLD))
+      .addStatic("selected_ability", u -> Component.text("AirBlast"))
+      .addDynamic("slot", (u, slot) -> Component.text("Ability" + Integer.parseInt(slot)))
+      .addDynamic("ability_info", (u, name) -> join(List.of(name, "description", "instructions")))
+      .memoize(memoize)
+      .build();
+    GameClock clock = new WallClock();
+    Game game = (Game) Proxy.newProxyInstance(Game.class.getClassLoader(), new Class<?>[]{Game.class},
+      (proxy, method, args) -> method.getName().equals("clock") ? clock : null);
+    users = new User[16];
+    for (int i = 0; i < users.length; i++) {
+      users[i] = (User) Proxy.newProxyInstance(User.class.getClassLoader(), new Class<?>[]{User.class}, (proxy, method, args) -> switch (method.getName()) {
+        case "hashCode" -> System.identityHashCode(proxy);
+        case "equals" -> proxy == args[0];
+        case "game" -> game;
+        default -> null;
+      });
+    }
+  }
+
+  private static Component join(List<String> values) {
+    return Component.join(JoinConfiguration.commas(true), values.stream().map(Component::text).toList());
+  }
+
+  // Simulates scoreboard and tab plugins polling every placeholder for random online players
+  @Benchmark
+  public Component poll() {
+    ThreadLocalRandom rand = ThreadLocalRandom.current();
+    User user = users[rand.nextInt(users.length)];
+    return provider.onPlaceholderRequest(user, REQUESTS[rand.nextInt(REQUESTS.length)]);
+  }
+
+  // Advances like a server running at a steady 20 tps
+  private static final class WallClock implements GameClock {
+    private static final long NANOS_PER_TICK = TimeUnit.MILLISECONDS.toNanos(MILLIS_PER_TICK);
+
+    private final long origin = System.nanoTime();
+
+    @Override
+    public int tick() {
+      return (int) ((System.nanoTime() - origin) / NANOS_PER_TICK);
+    }
+
+    @Override
+    public long tickStartNanos() {
+      return origin + tick() * NANOS_PER_TICK;
+    }
+
+    @Override
+    public long millis() {
+      return TimeUnit.NANOSECONDS.toMillis(tickStartNanos() - origin);
+    }
+
+    @Override
+    public boolean deterministic() {
+      return false;
+    }
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2020-2024 Moros
+ *
+ * This file is part of Bending.
+ *
+ * Bending is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Bending is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bending. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.common.storage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import me.moros.bending.api.user.profile.BenderProfile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Benchmark)
+@Fork(value = 1)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@BenchmarkMode(Mode.AverageTime)
+public class EngineBenchmark {
+  @Param({"JSON", "H2", "BINARY"})
+  StorageEngine engine;
+
+  @Param({"2000"})
+  int size;
+
+  Path dir;
+  AbstractStorage storage;
+  List<BenderProfile> profiles;
+  Set<UUID> uuids;
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    dir = Files.createTempDirectory("bending-jmh");
+    storage = StorageUtil.createEngine(engine, dir);
+    profiles = StorageUtil.generateProfiles(size);
+    uuids = profiles.stream().map(BenderProfile::uuid).collect(Collectors.toSet());
+    storage.saveProfiles(profiles);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    storage.close();
+    StorageUtil.deleteRecursively(dir);
+  }
+
+  @Benchmark
+  public void saveBulk(Blackhole bh) {
+    bh.consume(storage.saveProfilesAsync(profiles).join());
+  }
+
+  @Benchmark
+  public void loadBulk(Blackhole bh) {
+    bh.consume(storage.loadProfilesAsync(uuids, new LongAdder()).join());
+  }
+
+  @Benchmark
+  public void loadUuids(Blackhole bh) {
+    bh.consume(storage.loadUuids());
+  }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2020-2024 Moros
+ *
+ * This file is part of Bending.
+ *
+ * Bending is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Bending is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bending. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.common.storage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import me.moros.bending.api.user.profile.BenderProfile;
+import me.moros.storage.StorageType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Benchmark)
+@Fork(value = 1)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@BenchmarkMode(Mode.AverageTime)
+public class StorageBenchmark {
+  @Param({"H2", "HSQL"})
+  StorageType type;
+
+  @Param({"200", "2000"})
+  int size;
+
+  Path dir;
+  SqlStorage storage;
+  List<BenderProfile> profiles;
+  List<BenderProfile> modifiedProfiles;
+  Set<UUID> uuids;
+  int iteration;
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    dir = Files.createTempDirectory("bending-jmh");
+    storage = StorageUtil.createStorage(type, dir);
+    profiles = StorageUtil.generateProfiles(size);
+    modifiedProfiles = profiles.stream().map(p -> StorageUtil.randomProfile(p.uuid())).toList();
+    uuids = profiles.stream().map(BenderProfile::uuid).collect(Collectors.toSet());
+    storage.saveProfiles(profiles);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    storage.close();
+    StorageUtil.deleteRecursively(dir);
+  }
+
+  @Benchmark
+  public void saveModified(Blackhole bh) {
+    // Alternate between two versions of each profile so every save has changes to write
+    var toSave = (iteration++ & 1) == 0 ? modifiedProfiles : profiles;
+    bh.consume(storage.saveProfiles(toSave));
+  }
+
+  @Benchmark
+  public void saveUnchanged(Blackhole bh) {
+    bh.consume(storage.saveProfiles(profiles));
+  }
+
+  @Benchmark
+  public void loadProfiles(Blackhole bh) {
+    for (BenderProfile profile : profiles) {
+      bh.consume(storage.loadProfile(profile.uuid()));
+    }
+  }
+
+  @Benchmark
+  public void loadProfilesBulk(Blackhole bh) {
+    bh.consume(storage.loadProfiles(uuids));
+  }
+}
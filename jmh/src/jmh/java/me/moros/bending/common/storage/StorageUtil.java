@@ -0,0 +1,167 @@
+/*
+ * Copyright 2020-2024 Moros
+ *
+ * This file is part of Bending.
+ *
+ * Bending is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Bending is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bending. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.common.storage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+import me.moros.bending.api.ability.AbilityDescription;
+import me.moros.bending.api.ability.Activation;
+import me.moros.bending.api.ability.element.Element;
+import me.moros.bending.api.ability.preset.Preset;
+import me.moros.bending.api.registry.Registries;
+import me.moros.bending.api.user.profile.BenderProfile;
+import me.moros.bending.common.logging.Logger;
+import me.moros.bending.common.storage.file.loader.JsonLoader;
+import me.moros.storage.StorageDataSource;
+import me.moros.storage.StorageType;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+public final class StorageUtil {
+  private static final AbilityDescription[] ABILITIES = registerAbilities(24);
+
+  private static AbilityDescription[] registerAbilities(int amount) {
+    AbilityDescription[] result = new AbilityDescription[amount];
+    Element[] elements = Element.values();
+    for (int i = 0; i < amount; i++) {
+      result[i] = AbilityDescription.builder("Ability" + i, desc -> null)
+        .element(elements[i % elements.length]).activation(Activation.ATTACK).build();
+      Registries.ABILITIES.register(result[i]);
+    }
+    return result;
+  }
+
+  static SqlStorage createStorage(StorageType type, Path dir) {
+    var builder = StorageDataSource.builder(type).database("bending").username("bending").password("password");
+    switch (type) {
+      case HSQL -> builder.properties(p -> {
+        p.put("sql.syntax_pgs", true);
+        p.put("hsqldb.default_table_type", "cached");
+      });
+      case H2 -> builder.properties(p -> {
+        p.put("MODE", "PostgreSQL");
+        p.put("DB_CLOSE_ON_EXIT", false);
+      });
+      default -> throw new IllegalArgumentException("Only local storage types are supported");
+    }
+    builder.path(Path.of(dir.resolve("bending").toUri()));
+    StorageDataSource data = builder.build("bending-jmh");
+    if (data == null) {
+      throw new IllegalStateException("Could not create datasource for " + type);
+    }
+    return new SqlStorage(NoOpLogger.INSTANCE, data);
+  }
+
+  static AbstractStorage createEngine(StorageEngine engine, Path dir) {
+    return switch (engine) {
+      case H2 -> createStorage(StorageType.H2, dir);
+      case HSQL -> createStorage(StorageType.HSQL, dir);
+      case JSON -> new FileStorage(NoOpLogger.INSTANCE, dir.resolve("flatfile"), new JsonLoader());
+      case BINARY -> new LogStorage(NoOpLogger.INSTANCE, dir.resolve("binary"));
+      default -> throw new IllegalArgumentException("Only local storage engines are supported");
+    };
+  }
+
+  public static List<BenderProfile> generateProfiles(int size) {
+    List<BenderProfile> result = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      result.add(randomProfile(UUID.randomUUID()));
+    }
+    return result;
+  }
+
+  static BenderProfile randomProfile(UUID uuid) {
+    ThreadLocalRandom rand = ThreadLocalRandom.current();
+    Set<Element> elements = EnumSet.noneOf(Element.class);
+    for (Element element : Element.values()) {
+      if (rand.nextBoolean()) {
+        elements.add(element);
+      }
+    }
+    List<Preset> presets = new ArrayList<>();
+    int presetAmount = rand.nextInt(4);
+    for (int i = 0; i < presetAmount; i++) {
+      presets.add(Preset.create("preset" + i, randomSlots()));
+    }
+    return BenderProfile.of(uuid, rand.nextBoolean(), elements, Preset.from(randomSlots()), presets);
+  }
+
+  private static AbilityDescription[] randomSlots() {
+    ThreadLocalRandom rand = ThreadLocalRandom.current();
+    AbilityDescription[] slots = new AbilityDescription[9];
+    for (int i = 0; i < slots.length; i++) {
+      slots[i] = rand.nextInt(4) == 0 ? null : ABILITIES[rand.nextInt(ABILITIES.length)];
+    }
+    return slots;
+  }
+
+  static void deleteRecursively(Path dir) throws IOException {
+    try (Stream<Path> paths = Files.walk(dir)) {
+      for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+        Files.deleteIfExists(path);
+      }
+    }
+  }
+
+  private enum NoOpLogger implements Logger {
+    INSTANCE;
+
+    @Override
+    public void debug(String msg) {
+    }
+
+    @Override
+    public void debug(@Nullable String msg, Throwable t) {
+    }
+
+    @Override
+    public void info(String msg) {
+    }
+
+    @Override
+    public void info(@Nullable String msg, Throwable t) {
+    }
+
+    @Override
+    public void warn(String msg) {
+    }
+
+    @Override
+    public void warn(@Nullable String msg, Throwable t) {
+    }
+
+    @Override
+    public void error(String msg) {
+    }
+
+    @Override
+    public void error(@Nullable String msg, Throwable t) {
+    }
+  }
+}
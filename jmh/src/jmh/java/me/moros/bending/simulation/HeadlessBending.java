@@ -0,0 +1,110 @@
+/*
+ * Copyright 2020-2024 Moros
+ *
+ * This file is part of Bending.
+ *
+ * Bending is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Bending is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bending. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.simulation;
+
+import java.nio.file.Path;
+
+import me.moros.bending.api.game.Game;
+import me.moros.bending.api.platform.Platform;
+import me.moros.bending.common.AbstractBending;
+import me.moros.bending.common.logging.Logger;
+import me.moros.bending.common.util.ReflectionUtil;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Bootstraps the common bending module without a server. Only one instance can be started per JVM as registries
+ * are locked once the game has been created.
+ */
+final class HeadlessBending extends AbstractBending<HeadlessScheduler> {
+  HeadlessBending(HeadlessScheduler scheduler, Path dir) {
+    super(scheduler, dir, ConsoleLogger.INSTANCE);
+  }
+
+  Game start() {
+    injectTasker(parent.executor());
+    ReflectionUtil.injectStatic(Platform.Holder.class, new HeadlessPlatform());
+    load();
+    return game;
+  }
+
+  void stop() {
+    softDisable();
+  }
+
+  @Override
+  public boolean deterministicClock() {
+    return true; // Simulated ticks run as fast as possible, time must not depend on how long they take
+  }
+
+  @Override
+  public String author() {
+    return "Moros";
+  }
+
+  @Override
+  public String version() {
+    return "simulation";
+  }
+
+  private enum ConsoleLogger implements Logger {
+    INSTANCE;
+
+    @Override
+    public void debug(String msg) {
+    }
+
+    @Override
+    public void debug(@Nullable String msg, Throwable t) {
+    }
+
+    @Override
+    public void info(String msg) {
+      System.err.println("[INFO] " + msg);
+    }
+
+    @Override
+    public void info(@Nullable String msg, Throwable t) {
+      info(String.valueOf(msg));
+      t.printStackTrace();
+    }
+
+    @Override
+    public void warn(String msg) {
+      System.err.println("[WARN] " + msg);
+    }
+
+    @Override
+    public void warn(@Nullable String msg, Throwable t) {
+      warn(String.valueOf(msg));
+      t.printStackTrace();
+    }
+
+    @Override
+    public void error(String msg) {
+      System.err.println("[ERROR] " + msg);
+    }
+
+    @Override
+    public void error(@Nullable String msg, Throwable t) {
+      error(String.valueOf(msg));
+      t.printStackTrace();
+    }
+  }
+}
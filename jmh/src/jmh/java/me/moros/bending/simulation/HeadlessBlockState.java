@@ -0,0 +1,42 @@
+/*
+ * Copyright 2020-2024 Moros
+ *
+ * This file is part of Bending.
+ *
+ * Bending is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Bending is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bending. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.simulation;
+
+import me.moros.bending.api.platform.block.BlockState;
+import me.moros.bending.api.platform.block.BlockType;
+import me.moros.bending.api.platform.property.Property;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+record HeadlessBlockState(BlockType type) implements BlockState {
+  @Override
+  public boolean matches(BlockState other) {
+    return type.equals(other.type());
+  }
+
+  @Override
+  public <V extends Comparable<V>> @Nullable V property(Property<V> property) {
+    return null;
+  }
+
+  @Override
+  public <V extends Comparable<V>> BlockState withProperty(Property<V> property, V value) {
+    return this;
+  }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2020-2024 Moros
+ *
+ * This file is part of Bending.
+ *
+ * Bending is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Bending is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bending. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.simulation;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+
+import me.moros.bending.api.platform.Direction;
+import me.moros.bending.api.platform.entity.Entity;
+import me.moros.bending.api.platform.entity.EntityProperties;
+import me.moros.bending.api.platform.entity.EntityType;
+import me.moros.bending.api.platform.entity.LivingEntity;
+import me.moros.bending.api.platform.item.Inventory;
+import me.moros.bending.api.platform.potion.Potion;
+import me.moros.bending.api.platform.potion.PotionEffect;
+import me.moros.bending.api.util.data.DataKey;
+import me.moros.bending.api.util.data.DataKeyed;
+import me.moros.math.Position;
+import me.moros.math.Vector3d;
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.key.Key;
+import net.kyori.adventure.text.Component;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Property backed entity that lives in a {@link HeadlessWorld}. It is used both for simulated benders and for any
+ * entity that abilities spawn, such as falling blocks and dropped items.
+ */
+final class HeadlessEntity implements LivingEntity {
+  private final HeadlessWorld world;
+  private final Map<Key, Object> properties;
+  private final Map<DataKey<?>, Object> data;
+  private final Map<PotionEffect, Potion> potions;
+  private volatile boolean valid = true;
+
+  HeadlessEntity(HeadlessWorld world, int id, EntityType type, Vector3d position) {
+    this(world, id, UUID.randomUUID(), type, position);
+  }
+
+  HeadlessEntity(HeadlessWorld world, int id, UUID uuid, EntityType type, Vector3d position) {
+    this.world = world;
+    this.properties = new ConcurrentHashMap<>();
+    this.data = new ConcurrentHashMap<>();
+    this.potions = new ConcurrentHashMap<>();
+    setProperty(EntityProperties.ENTITY_ID, id);
+    setProperty(EntityProperties.UUID, uuid);
+    setProperty(EntityProperties.ENTITY_TYPE, type);
+    setProperty(EntityProperties.NAME, Component.text(type.key().value() + "-" + id));
+    setProperty(EntityProperties.WORLD, world);
+    setProperty(EntityProperties.POSITION, position);
+    setProperty(EntityProperties.VELOCITY, Vector3d.ZERO);
+    setProperty(EntityProperties.WIDTH, 0.6);
+    setProperty(EntityProperties.HEIGHT, 1.8);
+    setProperty(EntityProperties.YAW, 0F);
+    setProperty(EntityProperties.PITCH, 0F);
+    setProperty(EntityProperties.FALL_DISTANCE, 0F);
+    setProperty(EntityProperties.MAX_HEALTH, 20F);
+    setProperty(EntityProperties.HEALTH, 20F);
+    setProperty(EntityProperties.MAX_OXYGEN, 300);
+    setProperty(EntityProperties.REMAINING_OXYGEN, 300);
+    setProperty(EntityProperties.REQUIRED_TICKS_TO_FREEZE, 140);
+    setProperty(EntityProperties.FREEZE_TICKS, 0);
+    setProperty(EntityProperties.FIRE_IMMUNE_TICKS, 0);
+    setProperty(EntityProperties.FIRE_TICKS, 0);
+    setProperty(EntityProperties.SNEAKING, false);
+    setProperty(EntityProperties.SPRINTING, false);
+    setProperty(EntityProperties.ALLOW_FLIGHT, false);
+    setProperty(EntityProperties.FLYING, false);
+    setProperty(EntityProperties.GLIDING, false);
+    setProperty(EntityProperties.CHARGED, false);
+    setProperty(EntityProperties.ALLOW_PICKUP, true);
+    setProperty(EntityProperties.AI, true);
+    setProperty(EntityProperties.GRAVITY, true);
+    setProperty(EntityProperties.INVULNERABLE, false);
+    setProperty(EntityProperties.IN_WATER, false);
+    setProperty(EntityProperties.IN_LAVA, false);
+    setProperty(EntityProperties.INVISIBLE, false);
+    setProperty(EntityProperties.DEAD, false);
+  }
+
+  void look(float yaw, float pitch) {
+    setProperty(EntityProperties.YAW, yaw);
+    setProperty(EntityProperties.PITCH, pitch);
+  }
+
+  @Override
+  public Audience audience() {
+    return Audience.empty();
+  }
+
+  @Override
+  public double eyeHeight() {
+    return 1.62;
+  }
+
+  @Override
+  public boolean valid() {
+    return valid;
+  }
+
+  @Override
+  public boolean isOnGround() {
+    Vector3d loc = location();
+    return loc.y() - loc.blockY() < 0.01 && block().offset(Direction.DOWN).type().isCollidable();
+  }
+
+  @Override
+  public void remove() {
+    valid = false;
+    world.removeEntity(this);
+  }
+
+  @Override
+  public @Nullable Inventory inventory() {
+    return null;
+  }
+
+  @Override
+  public boolean addPotion(Potion potion) {
+    potions.put(potion.effect(), potion);
+    return true;
+  }
+
+  @Override
+  public boolean hasPotion(PotionEffect effect) {
+    return potions.containsKey(effect);
+  }
+
+  @Override
+  public @Nullable Potion potion(PotionEffect effect) {
+    return potions.get(effect);
+  }
+
+  @Override
+  public void removePotion(PotionEffect effect) {
+    potions.remove(effect);
+  }
+
+  @Override
+  public Collection<Potion> activePotions() {
+    return List.copyOf(potions.values());
+  }
+
+  @Override
+  public Entity shootArrow(Position origin, Vector3d direction, double power) {
+    Entity arrow = world.createEntity(origin, EntityType.ARROW);
+    arrow.velocity(direction.normalize().multiply(power));
+    world.addEntity(arrow);
+    return arrow;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <V> @Nullable V property(DataKeyed<V> dataKeyed) {
+    return (V) properties.get(dataKeyed.key());
+  }
+
+  @Override
+  public <V> boolean setProperty(DataKeyed<V> dataKeyed, V value) {
+    properties.put(dataKeyed.key(), value);
+    return true;
+  }
+
+  @Override
+  public <V> boolean editProperty(DataKeyed<V> dataKeyed, UnaryOperator<V> operator) {
+    V value = property(dataKeyed);
+    return value != null && setProperty(dataKeyed, operator.apply(value));
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> Optional<T> get(DataKey<T> key) {
+    return Optional.ofNullable((T) data.get(key));
+  }
+
+  @Override
+  public <T> void add(DataKey<T> key, T value) {
+    data.put(key, value);
+  }
+
+  @Override
+  public <T> void remove(DataKey<T> key) {
+    data.remove(key);
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2020-2024 Moros
+ *
+ * This file is part of Bending.
+ *
+ * Bending is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Bending is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bending. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.simulation;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import me.moros.bending.api.ability.element.ElementHandler;
+import me.moros.bending.api.adapter.NativeAdapter;
+import me.moros.bending.api.gui.Board;
+import me.moros.bending.api.gui.ElementGui;
+import me.moros.bending.api.platform.Platform;
+import me.moros.bending.api.platform.PlatformFactory;
+import me.moros.bending.api.platform.PlatformType;
+import me.moros.bending.api.platform.block.Block;
+import me.moros.bending.api.platform.item.Item;
+import me.moros.bending.api.platform.item.ItemBuilder;
+import me.moros.bending.api.platform.item.ItemSnapshot;
+import me.moros.bending.api.user.User;
+
+final class HeadlessPlatform implements Platform, PlatformFactory {
+  private final NativeAdapter adapter;
+
+  HeadlessPlatform() {
+    new HeadlessRegistryInitializer().init();
+    this.adapter = new NativeAdapter() {
+    };
+  }
+
+  @Override
+  public PlatformFactory factory() {
+    return this;
+  }
+
+  @Override
+  public PlatformType type() {
+    return PlatformType.MINESTOM;
+  }
+
+  @Override
+  public boolean hasNativeSupport() {
+    return false;
+  }
+
+  @Override
+  public NativeAdapter nativeAdapter() {
+    return adapter;
+  }
+
+  @Override
+  public Optional<Board> buildBoard(User user) {
+    return Optional.empty();
+  }
+
+  @Override
+  public Optional<ElementGui> buildMenu(ElementHandler handler, User user) {
+    return Optional.empty();
+  }
+
+  @Override
+  public ItemBuilder itemBuilder(Item item) {
+    throw new UnsupportedOperationException("Items are not simulated");
+  }
+
+  @Override
+  public ItemBuilder itemBuilder(ItemSnapshot snapshot) {
+    throw new UnsupportedOperationException("Items are not simulated");
+  }
+
+  @Override
+  public Optional<ItemSnapshot> campfireRecipeCooked(Item input) {
+    return Optional.empty();
+  }
+
+  @Override
+  public Collection<ItemSnapshot> calculateOptimalOreDrops(Block block) {
+    return List.of();
+  }
+}
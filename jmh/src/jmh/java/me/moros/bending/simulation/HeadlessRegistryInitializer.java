@@ -0,0 +1,149 @@
+/*
+ * Copyright 2020-2024 Moros
+ *
+ * This file is part of Bending.
+ *
+ * Bending is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Bending is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bending. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.simulation;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import me.moros.bending.api.platform.block.BlockProperties;
+import me.moros.bending.api.platform.block.BlockState;
+import me.moros.bending.api.platform.block.BlockTag;
+import me.moros.bending.api.platform.block.BlockType;
+import me.moros.bending.api.platform.entity.EntityType;
+import me.moros.bending.api.platform.item.Item;
+import me.moros.bending.api.platform.item.ItemTag;
+import me.moros.bending.api.platform.particle.Particle;
+import me.moros.bending.api.platform.potion.PotionEffect;
+import me.moros.bending.api.platform.potion.PotionEffectTag;
+import me.moros.bending.api.platform.sound.Sound;
+import me.moros.bending.api.platform.sound.SoundGroup;
+import me.moros.bending.api.registry.Registry;
+import me.moros.bending.api.registry.TagBuilder;
+import me.moros.bending.api.util.KeyUtil;
+import me.moros.bending.common.util.RegistryInitializer;
+import net.kyori.adventure.key.Key;
+
+/**
+ * Approximates vanilla block properties and the handful of block tags that bending sources rely on.
+ * Everything else is left to the defaults created by the api constants.
+ */
+final class HeadlessRegistryInitializer implements RegistryInitializer {
+  private static final SoundGroup STONE_SOUNDS = new SoundGroup(Sound.BLOCK_STONE_BREAK, Sound.BLOCK_STONE_STEP,
+    Sound.BLOCK_STONE_PLACE, Sound.BLOCK_STONE_HIT, Sound.BLOCK_STONE_FALL);
+
+  private static final Set<String> AIR = Set.of("air", "cave_air", "void_air");
+  private static final Set<String> LIQUIDS = Set.of("water", "lava", "bubble_column");
+  private static final Set<String> GRAVITY = Set.of("sand", "red_sand", "gravel", "suspicious_sand", "suspicious_gravel");
+  private static final List<String> PASSABLE = List.of("short_grass", "tall_grass", "fern", "dead_bush", "flower",
+    "sapling", "torch", "fire", "sign", "button", "pressure_plate", "rail", "kelp", "seagrass", "vine", "lever",
+    "tripwire", "roots", "sprouts", "carpet", "banner", "tulip", "poppy", "dandelion", "orchid", "allium", "bluet",
+    "daisy", "cornflower", "lily_of_the_valley", "mushroom");
+  private static final List<String> FLAMMABLE = List.of("planks", "log", "wood", "leaves", "wool", "short_grass",
+    "tall_grass", "fern", "bookshelf", "hay_block");
+
+  @Override
+  public void initBlockTypeRegistry(Registry<Key, BlockType> registry, Registry<Key, BlockProperties> propertyRegistry,
+                                    Registry<Key, BlockState> stateRegistry, Registry<Key, Item> itemRegistry) {
+    for (BlockType type : registry) {
+      stateRegistry.register(new HeadlessBlockState(type));
+      propertyRegistry.register(mapProperties(type));
+      if (Item.registry().containsKey(type.key())) {
+        itemRegistry.register(Item.registry().getOrThrow(type.key()));
+      }
+    }
+  }
+
+  private BlockProperties mapProperties(BlockType type) {
+    String name = type.key().value();
+    boolean air = AIR.contains(name);
+    boolean liquid = LIQUIDS.contains(name);
+    boolean passable = air || liquid || (!name.endsWith("_block") && PASSABLE.stream().anyMatch(name::contains));
+    boolean solid = !passable && !name.contains("glass_pane") && !name.endsWith("_fence") && !name.endsWith("_door");
+    return BlockProperties.builder(type, "block." + type.key().namespace() + "." + name)
+      .isAir(air)
+      .isSolid(solid)
+      .isLiquid(liquid)
+      .isFlammable(FLAMMABLE.stream().anyMatch(name::contains))
+      .hasGravity(GRAVITY.contains(name) || name.endsWith("concrete_powder") || name.endsWith("anvil"))
+      .isCollidable(!passable)
+      .hardness(hardness(name, air, liquid))
+      .soundGroup(STONE_SOUNDS).build();
+  }
+
+  private double hardness(String name, boolean air, boolean liquid) {
+    if (air) {
+      return 0;
+    } else if (liquid) {
+      return 100;
+    } else if (name.equals("bedrock") || name.endsWith("portal")) {
+      return -1;
+    } else if (name.contains("obsidian")) {
+      return 50;
+    } else if (name.contains("dirt") || name.contains("sand") || name.equals("grass_block") || name.equals("gravel")) {
+      return 0.5;
+    }
+    return 1.5;
+  }
+
+  @Override
+  public void initBlockTypeTagRegistry(Registry<Key, BlockType> registry, Function<Key, TagBuilder<BlockType, BlockTag>> builder) {
+    registerTag(registry, builder, "dirt", BlockType.DIRT, BlockType.GRASS_BLOCK, BlockType.COARSE_DIRT,
+      BlockType.PODZOL, BlockType.ROOTED_DIRT, BlockType.MUD);
+    registerTag(registry, builder, "base_stone_overworld", BlockType.STONE, BlockType.GRANITE, BlockType.DIORITE,
+      BlockType.ANDESITE, BlockType.TUFF, BlockType.DEEPSLATE);
+    registerTag(registry, builder, "sand", BlockType.SAND, BlockType.RED_SAND);
+    registerTag(registry, builder, "ice", BlockType.ICE, BlockType.PACKED_ICE, BlockType.BLUE_ICE, BlockType.FROSTED_ICE);
+    registerTag(registry, builder, "fire", BlockType.FIRE, BlockType.SOUL_FIRE);
+  }
+
+  private void registerTag(Registry<Key, BlockType> registry, Function<Key, TagBuilder<BlockType, BlockTag>> builder,
+                           String name, BlockType first, BlockType... others) {
+    registry.getTagOrCreate(KeyUtil.vanilla(name), k -> builder.apply(k).add(first, others).build());
+  }
+
+  @Override
+  public void initEntityTypeRegistry(Registry<Key, EntityType> registry) {
+  }
+
+  @Override
+  public void initItemRegistry(Registry<Key, Item> registry) {
+  }
+
+  @Override
+  public void initItemTagRegistry(Registry<Key, Item> registry, Function<Key, TagBuilder<Item, ItemTag>> builder) {
+  }
+
+  @Override
+  public void initParticleRegistry(Registry<Key, Particle> registry) {
+  }
+
+  @Override
+  public void initPotionEffectRegistry(Registry<Key, PotionEffect> registry) {
+  }
+
+  @Override
+  public void initPotionEffectTagRegistry(Registry<Key, PotionEffect> registry, Function<Key, TagBuilder<PotionEffect, PotionEffectTag>> builder) {
+  }
+
+  @Override
+  public void initSoundRegistry(Registry<Key, Sound> registry) {
+  }
+}
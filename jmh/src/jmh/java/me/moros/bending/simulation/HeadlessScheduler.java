@@ -0,0 +1,142 @@
+/*
+ * Copyright 2020-2024 Moros
+ *
+ * This file is part of Bending.
+ *
+ * Bending is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Bending is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bending. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.simulation;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+import me.moros.tasker.executor.SyncExecutor;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Manually ticked sync executor. Tasks only run when {@link #tick()} is called so the simulation fully controls
+ * the game loop. The executor is exposed through a proxy so only the scheduling entry points bending uses
+ * (execute, submit, repeat, clear and shutdown) need to be understood here.
+ */
+final class HeadlessScheduler implements InvocationHandler {
+  private final Queue<Delayed> pending = new ConcurrentLinkedQueue<>();
+  private final List<Repeating> repeating = new CopyOnWriteArrayList<>();
+  private long currentTick;
+
+  SyncExecutor executor() {
+    return proxy(SyncExecutor.class, this);
+  }
+
+  long currentTick() {
+    return currentTick;
+  }
+
+  void tick() {
+    currentTick++;
+    List<Delayed> due = new ArrayList<>();
+    pending.removeIf(d -> d.tick <= currentTick && due.add(d));
+    for (Delayed delayed : due) {
+      delayed.run();
+    }
+    for (Repeating task : repeating) {
+      if (currentTick >= task.start && (currentTick - task.start) % task.interval == 0) {
+        task.runnable.run();
+      }
+    }
+  }
+
+  @Override
+  public @Nullable Object invoke(Object proxy, Method method, Object @Nullable [] args) throws Throwable {
+    if (method.isDefault()) {
+      return InvocationHandler.invokeDefault(proxy, method, args);
+    }
+    Object[] params = args == null ? new Object[0] : args;
+    return switch (method.getName()) {
+      case "execute", "submit" -> schedule(method, params);
+      case "repeat" -> repeat(method, params);
+      case "clear", "shutdown" -> {
+        pending.clear();
+        repeating.clear();
+        yield defaultValue(method.getReturnType());
+      }
+      case "hashCode" -> System.identityHashCode(proxy);
+      case "equals" -> proxy == params[0];
+      case "toString" -> "HeadlessScheduler";
+      default -> defaultValue(method.getReturnType());
+    };
+  }
+
+  private @Nullable Object schedule(Method method, Object[] params) {
+    long delay = params.length > 1 && params[1] instanceof Number n ? n.longValue() : 0;
+    CompletableFuture<Object> future = new CompletableFuture<>();
+    pending.add(new Delayed(currentTick + Math.max(1, delay), params[0], future));
+    return method.getReturnType().isAssignableFrom(CompletableFuture.class) ? future : defaultValue(method.getReturnType());
+  }
+
+  private @Nullable Object repeat(Method method, Object[] params) {
+    List<Long> numbers = new ArrayList<>();
+    for (int i = 1; i < params.length; i++) {
+      if (params[i] instanceof Number n) {
+        numbers.add(n.longValue());
+      }
+    }
+    long interval = numbers.isEmpty() ? 1 : Math.max(1, numbers.getLast());
+    long delay = numbers.size() > 1 ? numbers.getFirst() : 0;
+    repeating.add(new Repeating((Runnable) params[0], currentTick + Math.max(1, delay), interval));
+    return defaultValue(method.getReturnType());
+  }
+
+  private static @Nullable Object defaultValue(Class<?> type) {
+    if (type == void.class) {
+      return null;
+    } else if (type.isPrimitive()) {
+      return Array.get(Array.newInstance(type, 1), 0);
+    } else if (type.isInterface()) {
+      return proxy(type, (p, m, a) -> m.isDefault() ? InvocationHandler.invokeDefault(p, m, a) : defaultValue(m.getReturnType()));
+    }
+    return null;
+  }
+
+  private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+    return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler));
+  }
+
+  private record Delayed(long tick, Object task, CompletableFuture<Object> future) {
+    private void run() {
+      try {
+        if (task instanceof Supplier<?> supplier) {
+          future.complete(supplier.get());
+        } else {
+          ((Runnable) task).run();
+          future.complete(null);
+        }
+      } catch (Throwable t) {
+        future.completeExceptionally(t);
+      }
+    }
+  }
+
+  private record Repeating(Runnable runnable, long start, long interval) {
+  }
+}
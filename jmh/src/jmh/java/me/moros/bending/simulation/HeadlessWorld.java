@@ -0,0 +1,323 @@
+/*
+ * Copyright 2020-2024 Moros
+ *
+ * This file is part of Bending.
+ *
+ * Bending is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Bending is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bending. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import me.moros.bending.api.collision.geometry.AABB;
+import me.moros.bending.api.collision.geometry.Ray;
+import me.moros.bending.api.collision.raytrace.BlockRayTrace;
+import me.moros.bending.api.collision.raytrace.CompositeRayTrace;
+import me.moros.bending.api.collision.raytrace.Context;
+import me.moros.bending.api.collision.raytrace.RayTrace;
+import me.moros.bending.api.platform.block.Block;
+import me.moros.bending.api.platform.block.BlockState;
+import me.moros.bending.api.platform.block.BlockType;
+import me.moros.bending.api.platform.block.Lockable;
+import me.moros.bending.api.platform.entity.Entity;
+import me.moros.bending.api.platform.entity.EntityProperties;
+import me.moros.bending.api.platform.entity.EntityType;
+import me.moros.bending.api.platform.item.ItemSnapshot;
+import me.moros.bending.api.platform.particle.ParticleContext;
+import me.moros.bending.api.platform.world.World;
+import me.moros.bending.api.util.GridIterator;
+import me.moros.bending.api.util.data.DataHolder;
+import me.moros.bending.common.util.DummyDataHolder;
+import me.moros.math.Position;
+import me.moros.math.Vector3d;
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.key.Key;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * In-memory superflat world. Terrain is generated on demand from the y coordinate and only modified blocks are stored.
+ */
+final class HeadlessWorld implements World {
+  static final int GROUND = 64;
+
+  private final Key key;
+  private final Map<Long, BlockState> blocks;
+  private final Set<Entity> entities;
+  private final AtomicInteger entityIds;
+
+  HeadlessWorld(Key key) {
+    this.key = key;
+    this.blocks = new ConcurrentHashMap<>();
+    this.entities = ConcurrentHashMap.newKeySet();
+    this.entityIds = new AtomicInteger();
+  }
+
+  private static long pack(int x, int y, int z) {
+    return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFF);
+  }
+
+  private BlockType generate(int y) {
+    if (y >= GROUND) {
+      return BlockType.AIR;
+    } else if (y == GROUND - 1) {
+      return BlockType.GRASS_BLOCK;
+    } else if (y >= GROUND - 4) {
+      return BlockType.DIRT;
+    } else if (y > minHeight()) {
+      return BlockType.STONE;
+    }
+    return BlockType.BEDROCK;
+  }
+
+  HeadlessEntity spawnLiving(Vector3d position) {
+    return spawnLiving(UUID.randomUUID(), EntityType.ZOMBIE, position);
+  }
+
+  HeadlessEntity spawnLiving(UUID uuid, EntityType type, Vector3d position) {
+    HeadlessEntity entity = new HeadlessEntity(this, entityIds.incrementAndGet(), uuid, type, position);
+    addEntity(entity);
+    return entity;
+  }
+
+  void removeEntity(Entity entity) {
+    entities.remove(entity);
+  }
+
+  int entityCount() {
+    return entities.size();
+  }
+
+  int modifiedBlocks() {
+    return blocks.size();
+  }
+
+  @Override
+  public Key key() {
+    return key;
+  }
+
+  @Override
+  public String name() {
+    return key.value();
+  }
+
+  @Override
+  public int minHeight() {
+    return -64;
+  }
+
+  @Override
+  public int maxHeight() {
+    return 320;
+  }
+
+  @Override
+  public Iterable<? extends Audience> audiences() {
+    return List.of();
+  }
+
+  @Override
+  public <T> void spawnParticle(ParticleContext<T> context) {
+  }
+
+  @Override
+  public BlockType getBlockType(int x, int y, int z) {
+    return getBlockState(x, y, z).type();
+  }
+
+  @Override
+  public BlockState getBlockState(int x, int y, int z) {
+    BlockState state = blocks.get(pack(x, y, z));
+    return state == null ? generate(y).defaultState() : state;
+  }
+
+  @Override
+  public boolean setBlockState(int x, int y, int z, BlockState state) {
+    if (y < minHeight() || y >= maxHeight()) {
+      return false;
+    }
+    blocks.put(pack(x, y, z), state);
+    return true;
+  }
+
+  @Override
+  public boolean breakNaturally(int x, int y, int z) {
+    return setBlockState(x, y, z, BlockType.AIR.defaultState());
+  }
+
+  @Override
+  public AABB blockBounds(int x, int y, int z) {
+    if (!getBlockType(x, y, z).isCollidable()) {
+      return AABB.dummy();
+    }
+    return AABB.of(Vector3d.of(x, y, z), Vector3d.of(x + 1, y + 1, z + 1));
+  }
+
+  @Override
+  public DataHolder blockMetadata(int x, int y, int z) {
+    return DummyDataHolder.INSTANCE;
+  }
+
+  @Override
+  public boolean isBlockEntity(Position position) {
+    return false;
+  }
+
+  @Override
+  public @Nullable Lockable containerLock(Position position) {
+    return null;
+  }
+
+  @Override
+  public BlockRayTrace rayTraceBlocks(Context context) {
+    Vector3d origin = context.origin();
+    Vector3d dir = context.dir();
+    GridIterator it = GridIterator.create(origin, dir, context.range());
+    while (it.hasNext()) {
+      Vector3d cell = it.next();
+      int x = cell.blockX();
+      int y = cell.blockY();
+      int z = cell.blockZ();
+      if (context.ignore(x, y, z)) {
+        continue;
+      }
+      BlockType type = getBlockType(x, y, z);
+      if (type.isAir() || (type.isLiquid() && context.ignoreLiquids())
+        || (!type.isLiquid() && !type.isCollidable() && context.ignorePassable())) {
+        continue;
+      }
+      Block block = new Block(this, x, y, z);
+      return RayTrace.hit(entryPoint(origin, dir.normalize(), AABB.BLOCK_BOUNDS.at(cell.add(0.5, 0.5, 0.5))), block);
+    }
+    return RayTrace.miss(context.endPoint());
+  }
+
+  // Slab test for the point where a ray enters a box, falls back to the origin if it starts inside
+  private static Vector3d entryPoint(Vector3d origin, Vector3d dir, AABB box) {
+    double tMin = 0;
+    double[] o = {origin.x(), origin.y(), origin.z()};
+    double[] d = {dir.x(), dir.y(), dir.z()};
+    double[] min = {box.min().x(), box.min().y(), box.min().z()};
+    double[] max = {box.max().x(), box.max().y(), box.max().z()};
+    for (int i = 0; i < 3; i++) {
+      if (Math.abs(d[i]) > 1e-9) {
+        double t1 = (min[i] - o[i]) / d[i];
+        double t2 = (max[i] - o[i]) / d[i];
+        tMin = Math.max(tMin, Math.min(t1, t2));
+      }
+    }
+    return origin.add(dir.multiply(tMin));
+  }
+
+  @Override
+  public CompositeRayTrace rayTraceEntities(Context context, double range) {
+    Vector3d origin = context.origin();
+    Vector3d dir = context.dir().normalize().multiply(range);
+    Ray ray = Ray.of(origin, dir);
+    Entity result = null;
+    double minDistSq = Double.MAX_VALUE;
+    Predicate<Entity> predicate = context.entityPredicate();
+    for (Entity entity : nearbyEntities(AABB.fromRay(origin, dir, context.raySize()), predicate)) {
+      if (ray.intersects(entity.bounds().grow(Vector3d.of(context.raySize(), context.raySize(), context.raySize())))) {
+        double distSq = origin.distanceSq(entity.center());
+        if (distSq < minDistSq) {
+          minDistSq = distSq;
+          result = entity;
+        }
+      }
+    }
+    return result == null ? RayTrace.miss(origin.add(dir)) : RayTrace.hit(result.center(), result);
+  }
+
+  @Override
+  public List<Entity> nearbyEntities(AABB box, Predicate<Entity> predicate, int limit) {
+    List<Entity> result = new ArrayList<>();
+    for (Entity entity : entities) {
+      if (entity.bounds().intersects(box) && predicate.test(entity)) {
+        result.add(entity);
+        if (limit > 0 && result.size() >= limit) {
+          break;
+        }
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public boolean isDay() {
+    return true;
+  }
+
+  @Override
+  public boolean isNight() {
+    return false;
+  }
+
+  @Override
+  public Entity createEntity(Position pos, EntityType type) {
+    return new HeadlessEntity(this, entityIds.incrementAndGet(), type, pos.toVector3d());
+  }
+
+  @Override
+  public boolean addEntity(Entity entity) {
+    return entities.add(entity);
+  }
+
+  @Override
+  public Entity dropItem(Position pos, ItemSnapshot item, boolean canPickup) {
+    Entity entity = createEntity(pos, EntityType.ITEM);
+    entity.setProperty(EntityProperties.ALLOW_PICKUP, canPickup);
+    addEntity(entity);
+    return entity;
+  }
+
+  @Override
+  public Entity createFallingBlock(Position pos, BlockState state, boolean gravity) {
+    Entity entity = createEntity(pos, EntityType.FALLING_BLOCK);
+    entity.setProperty(EntityProperties.GRAVITY, gravity);
+    entity.setProperty(EntityProperties.WIDTH, 0.98);
+    entity.setProperty(EntityProperties.HEIGHT, 0.98);
+    addEntity(entity);
+    return entity;
+  }
+
+  @Override
+  public int lightLevel(int x, int y, int z) {
+    return 15;
+  }
+
+  @Override
+  public Dimension dimension() {
+    return Dimension.OVERWORLD;
+  }
+
+  @Override
+  public CompletableFuture<?> loadChunkAsync(int x, int z) {
+    return CompletableFuture.completedFuture(null);
+  }
+
+  @Override
+  public int viewDistance() {
+    return 10;
+  }
+}
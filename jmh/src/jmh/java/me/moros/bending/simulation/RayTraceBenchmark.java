@@ -0,0 +1,122 @@
+/*
+ * Copyright 2020-2024 Moros
+ *
+ * This file is part of Bending.
+ *
+ * Bending is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Bending is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bending. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.simulation;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import me.moros.bending.api.collision.raytrace.BlockRayTrace;
+import me.moros.bending.api.collision.raytrace.CompositeRayTrace;
+import me.moros.bending.api.collision.raytrace.Context;
+import me.moros.bending.api.platform.block.BlockType;
+import me.moros.bending.api.util.GridIterator;
+import me.moros.math.Vector3d;
+import net.kyori.adventure.key.Key;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Block and entity raytraces against the headless superflat world with scattered stone pillars and entities.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+public class RayTraceBenchmark {
+  private static final int SIZE = 1 << 10;
+  private static final int MASK = SIZE - 1;
+  private static final double RANGE = 20;
+
+  static {
+    new HeadlessRegistryInitializer().init();
+  }
+
+  @Param({"0", "16", "128"})
+  private int entityAmount;
+
+  private HeadlessWorld world;
+  private Context[] contexts;
+  private int index;
+
+  @Setup
+  public void setup() {
+    SplittableRandom rand = new SplittableRandom(42);
+    world = new HeadlessWorld(Key.key("bending", "raytrace"));
+    for (int i = 0; i < 64; i++) {
+      int x = rand.nextInt(-24, 24);
+      int z = rand.nextInt(-24, 24);
+      int height = rand.nextInt(1, 5);
+      for (int y = 0; y < height; y++) {
+        world.setBlockState(x, HeadlessWorld.GROUND + y, z, BlockType.STONE.defaultState());
+      }
+    }
+    for (int i = 0; i < entityAmount; i++) {
+      world.spawnLiving(Vector3d.of(rand.nextDouble(-20, 20), HeadlessWorld.GROUND, rand.nextDouble(-20, 20)));
+    }
+    contexts = new Context[SIZE];
+    for (int i = 0; i < SIZE; i++) {
+      Vector3d origin = Vector3d.of(rand.nextDouble(-16, 16), HeadlessWorld.GROUND + 1.62, rand.nextDouble(-16, 16));
+      Vector3d direction = Vector3d.of(rand.nextDouble(-1, 1), rand.nextDouble(-0.5, 0.1), rand.nextDouble(-1, 1));
+      contexts[i] = Context.builder(origin, direction).range(RANGE).build();
+    }
+  }
+
+  private Context next() {
+    return contexts[index++ & MASK];
+  }
+
+  @Benchmark
+  public int gridIterator() {
+    Context context = next();
+    GridIterator it = GridIterator.create(context.origin(), context.dir(), RANGE);
+    int count = 0;
+    while (it.hasNext()) {
+      it.next();
+      count++;
+    }
+    return count;
+  }
+
+  @Benchmark
+  public BlockRayTrace blocks() {
+    return world.rayTraceBlocks(next());
+  }
+
+  @Benchmark
+  public CompositeRayTrace entities() {
+    return world.rayTraceEntities(next(), RANGE);
+  }
+
+  @Benchmark
+  public CompositeRayTrace combined() {
+    return world.rayTrace(next());
+  }
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright 2020-2024 Moros
+ *
+ * This file is part of Bending.
+ *
+ * Bending is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Bending is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bending. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.simulation;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import me.moros.bending.api.ability.AbilityDescription;
+import me.moros.bending.api.ability.element.Element;
+import me.moros.bending.api.game.Game;
+import me.moros.bending.api.platform.block.BlockType;
+import me.moros.bending.api.platform.entity.EntityProperties;
+import me.moros.bending.api.registry.Registries;
+import me.moros.bending.api.user.User;
+import me.moros.bending.api.user.profile.BenderProfile;
+import me.moros.math.FastMath;
+import me.moros.math.Vector3d;
+import net.kyori.adventure.key.Key;
+
+/**
+ * Headless game loop driving a number of simulated benders that cast a scripted rotation of abilities in a single
+ * superflat world. Each call to {@link #tick()} feeds the script inputs and then runs exactly one server tick.
+ * <p>Only one simulation can be created per JVM.
+ */
+public final class Simulation implements AutoCloseable {
+  private static final int CYCLE = 100;
+  private static final int SPACING = 8;
+  private static final int ROW = 16;
+  private static final List<String> ROTATION = List.of("AirBlast", "FireBlast", "EarthBlast", "Torrent", "Lightning");
+
+  private final Path dir;
+  private final HeadlessScheduler scheduler;
+  private final HeadlessBending bending;
+  private final Game game;
+  private final HeadlessWorld world;
+  private final AbilityDescription[] rotation;
+  private final List<Bender> benders;
+
+  public Simulation() throws IOException {
+    this(Key.key("bending", "simulation"));
+  }
+
+  Simulation(Key worldKey) throws IOException {
+    this.dir = Files.createTempDirectory("bending-simulation");
+    this.scheduler = new HeadlessScheduler();
+    this.bending = new HeadlessBending(scheduler, dir);
+    this.game = bending.start();
+    this.world = new HeadlessWorld(worldKey);
+    this.rotation = ROTATION.stream().map(Registries.ABILITIES::fromString).map(Objects::requireNonNull)
+      .toArray(AbilityDescription[]::new);
+    this.benders = new ArrayList<>();
+  }
+
+  public Game game() {
+    return game;
+  }
+
+  HeadlessWorld world() {
+    return world;
+  }
+
+  public int benders() {
+    return benders.size();
+  }
+
+  public int activeAbilities() {
+    return game.abilityManager(world.key()).size();
+  }
+
+  public int entities() {
+    return world.entityCount();
+  }
+
+  public void spawnBenders(int amount) {
+    for (int i = 0; i < amount; i++) {
+      spawnBender(benders.size());
+    }
+  }
+
+  private void spawnBender(int index) {
+    float yaw = 90 * (index % 4);
+    double x = (index % ROW) * SPACING + 0.5;
+    double z = (index / ROW) * SPACING + 0.5;
+    HeadlessEntity entity = world.spawnLiving(Vector3d.of(x, HeadlessWorld.GROUND, z));
+    entity.look(yaw, 0);
+    User user = User.create(game, entity, BenderProfile.of(entity.uuid())).orElseThrow();
+    for (Element element : Element.values()) {
+      user.addElement(element);
+    }
+    for (int slot = 0; slot < rotation.length; slot++) {
+      user.bindAbility(slot + 1, rotation[slot]);
+    }
+    // Water patch in front of the bender so Torrent has a source to select
+    Vector3d front = entity.location().add(entity.direction().multiply(3));
+    for (int dx = 0; dx < 2; dx++) {
+      for (int dz = 0; dz < 2; dz++) {
+        world.setBlockState(FastMath.floor(front.x()) + dx, HeadlessWorld.GROUND - 1,
+          FastMath.floor(front.z()) + dz, BlockType.WATER.defaultState());
+      }
+    }
+    benders.add(new Bender(user, entity, (index * 13) % CYCLE));
+  }
+
+  public void tick() {
+    long tick = scheduler.currentTick();
+    for (Bender bender : benders) {
+      bender.step((int) ((tick + bender.offset) % CYCLE));
+    }
+    scheduler.tick();
+  }
+
+  @Override
+  public void close() throws IOException {
+    bending.stop();
+    try (Stream<Path> paths = Files.walk(dir)) {
+      for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+        Files.deleteIfExists(path);
+      }
+    }
+  }
+
+  private void swing(Bender bender, int slot, float pitch) {
+    bender.select(slot, pitch);
+    game.activationController().onUserSwing(bender.user);
+  }
+
+  private void sneak(Bender bender, int slot, float pitch, boolean sneaking) {
+    bender.select(slot, pitch);
+    bender.entity.setProperty(EntityProperties.SNEAKING, sneaking);
+    game.activationController().onUserSneak(bender.user, sneaking);
+  }
+
+  private final class Bender {
+    private final User user;
+    private final HeadlessEntity entity;
+    private final int offset;
+
+    private Bender(User user, HeadlessEntity entity, int offset) {
+      this.user = user;
+      this.entity = entity;
+      this.offset = offset;
+    }
+
+    private void select(int slot, float pitch) {
+      user.currentSlot(slot);
+      entity.look(entity.propertyValue(EntityProperties.YAW), pitch);
+    }
+
+    private void step(int phase) {
+      switch (phase) {
+        case 0 -> swing(this, 1, 0); // AirBlast
+        case 10 -> swing(this, 2, 0); // FireBlast
+        case 20 -> sneak(this, 3, 45, true); // EarthBlast source
+        case 22 -> sneak(this, 3, 45, false);
+        case 25 -> swing(this, 3, 0);
+        case 35 -> swing(this, 4, 30); // Torrent source
+        case 40 -> swing(this, 4, 0);
+        case 55 -> sneak(this, 5, 0, true); // Lightning charge
+        case 95 -> sneak(this, 5, 0, false);
+        default -> {
+        }
+      }
+    }
+  }
+
+  /**
+   * Runs the simulation outside JMH with a growing number of benders and reports the average time and
+   * allocation per tick for each step.
+   * @param args optional tick count per step followed by the bender counts
+   */
+  public static void main(String[] args) throws IOException {
+    int ticks = args.length > 0 ? Integer.parseInt(args[0]) : 600;
+    int[] steps = args.length > 1 ? Stream.of(args).skip(1).mapToInt(Integer::parseInt).toArray()
+      : new int[]{1, 10, 50, 100};
+    var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    try (Simulation simulation = new Simulation()) {
+      for (int target : steps) {
+        simulation.spawnBenders(target - simulation.benders());
+        for (int i = 0; i < CYCLE; i++) {
+          simulation.tick(); // Warmup a full rotation
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < ticks; i++) {
+          simulation.tick();
+        }
+        double millis = (System.nanoTime() - start) / 1e6 / ticks;
+        double bytes = (threads.getCurrentThreadAllocatedBytes() - allocated) / (double) ticks;
+        System.out.printf("benders=%d ms/tick=%.3f B/tick=%.0f abilities=%d entities=%d%n", simulation.benders(),
+          millis, bytes, simulation.activeAbilities(), simulation.entities());
+      }
+    }
+  }
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright 2020-2024 Moros
+ *
+ * This file is part of Bending.
+ *
+ * Bending is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Bending is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bending. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.simulation;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+
+import me.moros.bending.api.ability.AbilityDescription;
+import me.moros.bending.api.ability.preset.Preset;
+import me.moros.bending.api.game.ActivationController;
+import me.moros.bending.api.platform.block.Block;
+import me.moros.bending.api.platform.block.BlockType;
+import me.moros.bending.api.platform.entity.EntityProperties;
+import me.moros.bending.api.platform.entity.EntityType;
+import me.moros.bending.api.registry.Registries;
+import me.moros.bending.api.user.User;
+import me.moros.bending.api.user.profile.BenderProfile;
+import me.moros.bending.common.trace.Trace;
+import me.moros.bending.common.trace.TraceReader;
+import me.moros.bending.common.trace.TraceRecorder;
+import me.moros.math.Vector3d;
+import me.moros.math.Vector3i;
+import net.kyori.adventure.key.Key;
+
+/**
+ * Replays a trace recorded with {@code /bending trace} on a headless world. The recorded region is restored on top
+ * of the superflat terrain, entities are spawned with their recorded profiles and every pose and input is fed back
+ * through the activation controller on the same tick it was recorded. The replay itself is recorded as well so
+ * ability casts can be compared against the original trace.
+ */
+public final class TraceReplay {
+  private final Trace trace;
+  private final Simulation simulation;
+  private final HeadlessWorld world;
+  private final ActivationController controller;
+  private final Map<Integer, HeadlessEntity> entities;
+  private final Map<Integer, User> users;
+
+  private TraceReplay(Trace trace, Simulation simulation) {
+    this.trace = trace;
+    this.simulation = simulation;
+    this.world = simulation.world();
+    this.controller = simulation.game().activationController();
+    this.entities = new HashMap<>();
+    this.users = new HashMap<>();
+  }
+
+  private void restoreRegion() {
+    Vector3i min = trace.min();
+    Vector3i max = trace.max();
+    BlockType[] palette = trace.palette().stream().map(k -> BlockType.registry().get(k)).toArray(BlockType[]::new);
+    int index = 0;
+    for (int y = min.blockY(); y <= max.blockY(); y++) {
+      for (int z = min.blockZ(); z <= max.blockZ(); z++) {
+        for (int x = min.blockX(); x <= max.blockX(); x++) {
+          BlockType type = palette[trace.blocks()[index++]];
+          if (type != null && world.getBlockType(x, y, z) != type) {
+            world.setBlockState(x, y, z, type.defaultState());
+          }
+        }
+      }
+    }
+  }
+
+  private long[] run() {
+    List<Trace.Event> events = trace.events();
+    long[] nanos = new long[trace.ticks()];
+    int cursor = 0;
+    for (int tick = 0; tick <= nanos.length; tick++) {
+      if (tick > 0) {
+        // Poses captured at the start of the recorded tick must be applied before the game updates
+        while (cursor < events.size() && events.get(cursor).tick() == tick && events.get(cursor) instanceof Trace.Pose) {
+          apply(events.get(cursor++));
+        }
+        long start = System.nanoTime();
+        simulation.tick();
+        nanos[tick - 1] = System.nanoTime() - start;
+      }
+      while (cursor < events.size() && events.get(cursor).tick() == tick) {
+        apply(events.get(cursor++));
+      }
+    }
+    return nanos;
+  }
+
+  private void apply(Trace.Event event) {
+    switch (event) {
+      case Trace.Spawn spawn -> spawn(spawn);
+      case Trace.Pose pose -> pose(pose);
+      case Trace.Input input -> input(input);
+      case Trace.Cast ignore -> {
+      }
+      case Trace.End ignore -> {
+      }
+    }
+  }
+
+  private void spawn(Trace.Spawn spawn) {
+    EntityType type = Objects.requireNonNullElse(EntityType.registry().get(spawn.type()), EntityType.ZOMBIE);
+    HeadlessEntity entity = world.spawnLiving(spawn.uuid(), type, spawn.position());
+    entity.look(spawn.yaw(), spawn.pitch());
+    entities.put(spawn.id(), entity);
+    Trace.Bender bender = spawn.bender();
+    if (bender != null) {
+      AbilityDescription[] slots = bender.slots().stream().map(k -> k == null ? null : Registries.ABILITIES.get(k))
+        .toArray(AbilityDescription[]::new);
+      BenderProfile profile = BenderProfile.of(spawn.uuid(), false, bender.elements(), Preset.from(slots), List.of());
+      User.create(simulation.game(), entity, profile).ifPresent(user -> users.put(spawn.id(), user));
+    }
+  }
+
+  private void pose(Trace.Pose pose) {
+    HeadlessEntity entity = entities.get(pose.id());
+    if (entity != null) {
+      entity.setProperty(EntityProperties.POSITION, pose.position());
+      entity.setProperty(EntityProperties.SNEAKING, pose.sneaking());
+      entity.look(pose.yaw(), pose.pitch());
+    }
+    User user = users.get(pose.id());
+    if (user != null) {
+      user.currentSlot(pose.slot());
+    }
+  }
+
+  private void input(Trace.Input input) {
+    User user = users.get(input.id());
+    if (user == null) {
+      return;
+    }
+    switch (input.method()) {
+      case ATTACK -> controller.onUserSwing(user);
+      case SNEAK -> controller.onUserSneak(user, true);
+      case SNEAK_RELEASE -> controller.onUserSneak(user, false);
+      case INTERACT, INTERACT_ENTITY, INTERACT_BLOCK -> {
+        Vector3i pos = input.block();
+        Block block = pos == null ? null : new Block(world, pos.blockX(), pos.blockY(), pos.blockZ());
+        controller.onUserInteract(user, entities.get(input.target()), block);
+      }
+      default -> {
+      }
+    }
+  }
+
+  private static Map<Key, Integer> casts(Trace trace) {
+    Map<Key, Integer> result = new TreeMap<>();
+    for (Trace.Event event : trace.events()) {
+      if (event instanceof Trace.Cast cast) {
+        result.merge(cast.ability(), 1, Integer::sum);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Replays a trace and reports tick timings, allocation and cast differences compared to the recording.
+   * @param args the trace file to replay
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length < 1) {
+      System.err.println("Usage: TraceReplay <trace file>");
+      return;
+    }
+    Trace trace = TraceReader.read(Path.of(args[0]));
+    var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    Path output = Files.createTempFile("bending-replay", ".bin.gz");
+    try (Simulation simulation = new Simulation(trace.world())) {
+      TraceReplay replay = new TraceReplay(trace, simulation);
+      replay.restoreRegion();
+      Vector3i min = trace.min();
+      Vector3i max = trace.max();
+      Vector3d center = Vector3d.of(min.blockX() + max.blockX() + 1, min.blockY() + max.blockY() + 1,
+        min.blockZ() + max.blockZ() + 1).multiply(0.5);
+      TraceRecorder.start(output, replay.world, center, (max.blockX() - min.blockX()) / 2, Integer.MAX_VALUE);
+      long allocated = threads.getCurrentThreadAllocatedBytes();
+      long[] nanos = replay.run();
+      allocated = threads.getCurrentThreadAllocatedBytes() - allocated;
+      CompletableFuture<Path> future = Objects.requireNonNull(TraceRecorder.stop());
+      Map<Key, Integer> expected = casts(trace);
+      Map<Key, Integer> actual = casts(TraceReader.read(future.join()));
+      report(nanos, allocated);
+      for (Key key : expected.keySet()) {
+        int recorded = expected.get(key);
+        int replayed = actual.getOrDefault(key, 0);
+        System.out.printf("%s recorded=%d replayed=%d%s%n", key.asString(), recorded, replayed,
+          recorded == replayed ? "" : " MISMATCH");
+      }
+    } finally {
+      Files.deleteIfExists(output);
+    }
+  }
+
+  private static void report(long[] nanos, long allocated) {
+    if (nanos.length == 0) {
+      System.out.println("Trace contains no ticks");
+      return;
+    }
+    long[] sorted = nanos.clone();
+    Arrays.sort(sorted);
+    double total = Arrays.stream(nanos).sum() / 1e6;
+    System.out.printf("ticks=%d avg=%.3fms p50=%.3fms p99=%.3fms max=%.3fms B/tick=%d%n", nanos.length,
+      total / nanos.length, sorted[nanos.length / 2] / 1e6, sorted[(int) (nanos.length * 0.99)] / 1e6,
+      sorted[nanos.length - 1] / 1e6, allocated / nanos.length);
+    Integer[] ticks = new Integer[nanos.length];
+    Arrays.setAll(ticks, i -> i);
+    Arrays.sort(ticks, (a, b) -> Long.compare(nanos[b], nanos[a]));
+    for (int i = 0; i < Math.min(5, ticks.length); i++) {
+      System.out.printf("slow tick #%d: %.3fms%n", ticks[i] + 1, nanos[ticks[i]] / 1e6);
+    }
+  }
+}
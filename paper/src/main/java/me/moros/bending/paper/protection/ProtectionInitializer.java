@@ -56,8 +56,7 @@ public final class ProtectionInitializer implements Initializer {
     if (config.node("protection", name).getBoolean(true)) {
       Plugin plugin = Bukkit.getPluginManager().getPlugin(name);
       if (plugin != null && plugin.isEnabled()) {
-        Protection protection = factory.apply(plugin);
-        Registries.PROTECTIONS.register(protection);
+        Registries.PROTECTIONS.register(factory.apply(plugin));
       }
     }
   }
@@ -22,10 +22,12 @@ package me.moros.bending.paper.protection.plugin;
 import me.moros.bending.api.platform.block.Block;
 import me.moros.bending.api.platform.entity.LivingEntity;
 import me.moros.bending.api.platform.entity.player.Player;
+import me.moros.bending.api.platform.world.World;
 import me.moros.bending.api.protection.AbstractProtection;
 import me.moros.bending.paper.platform.PlatformAdapter;
 import me.ryanhamshire.GriefPrevention.Claim;
 import me.ryanhamshire.GriefPrevention.GriefPrevention;
+import net.kyori.adventure.util.TriState;
 import org.bukkit.Location;
 import org.bukkit.plugin.Plugin;
 
@@ -47,4 +49,17 @@ public final class GriefPreventionProtection extends AbstractProtection {
     }
     return true;
   }
+
+  @Override
+  public boolean supportsChunkChecks() {
+    return true;
+  }
+
+  @Override
+  public TriState canBuildInChunk(LivingEntity entity, World world, int chunkX, int chunkZ) {
+    if (entity instanceof Player) {
+      return griefPrevention.dataStore.getClaims(chunkX, chunkZ).isEmpty() ? TriState.TRUE : TriState.NOT_SET;
+    }
+    return TriState.TRUE;
+  }
 }
@@ -0,0 +1,3 @@
+plugins {
+    id("bending.base-conventions")
+}
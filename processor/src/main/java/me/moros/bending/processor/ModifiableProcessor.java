@@ -0,0 +1,148 @@
+/*
+ * Copyright 2020-2024 Moros
+ *
+ * This file is part of Bending.
+ *
+ * Bending is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Bending is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bending. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic.Kind;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Indexes fields annotated with {@code @Modifiable} at compile time so their attribute tables
+ * can be built at runtime without scanning config classes through reflection.
+ * <p>Each config type gets a {@code <binary class name>} line, even if it has no modifiable fields, followed by a
+ * {@code <binary class name> <field name> <field type> <attribute>} line for every modifiable field.
+ */
+@SupportedAnnotationTypes("*")
+public final class ModifiableProcessor extends AbstractProcessor {
+  static final String ANNOTATION = "me.moros.bending.api.config.attribute.Modifiable";
+  static final String CONFIGURABLE = "me.moros.bending.api.config.Configurable";
+  static final String INDEX = "META-INF/bending/modifiable.idx";
+
+  private final Map<String, Collection<String>> entries = new LinkedHashMap<>();
+  private final Collection<Element> originatingElements = new ArrayList<>();
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    TypeElement configurable = processingEnv.getElementUtils().getTypeElement(CONFIGURABLE);
+    if (configurable != null) {
+      TypeMirror type = processingEnv.getTypeUtils().erasure(configurable.asType());
+      for (Element element : roundEnv.getRootElements()) {
+        indexConfigs(element, type);
+      }
+    }
+    TypeElement annotation = processingEnv.getElementUtils().getTypeElement(ANNOTATION);
+    if (annotation != null) {
+      for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+        if (element.getKind() == ElementKind.FIELD) {
+          index((VariableElement) element, annotation);
+        }
+      }
+    }
+    if (roundEnv.processingOver() && !entries.isEmpty()) {
+      writeIndex();
+    }
+    return false;
+  }
+
+  // Config types are indexed even without modifiable fields, so a type missing from the index was never processed
+  private void indexConfigs(Element element, TypeMirror configurable) {
+    if (element instanceof TypeElement type) {
+      if (type.getKind().isClass() && processingEnv.getTypeUtils().isAssignable(type.asType(), configurable)) {
+        entries.computeIfAbsent(processingEnv.getElementUtils().getBinaryName(type).toString(), k -> new ArrayList<>());
+        originatingElements.add(type);
+      }
+      for (Element enclosed : type.getEnclosedElements()) {
+        indexConfigs(enclosed, configurable);
+      }
+    }
+  }
+
+  private void index(VariableElement field, TypeElement annotation) {
+    TypeElement parent = (TypeElement) field.getEnclosingElement();
+    String attribute = readAttribute(field, annotation);
+    if (attribute == null) {
+      processingEnv.getMessager().printMessage(Kind.WARNING, "Could not read attribute", field);
+      return;
+    }
+    String className = processingEnv.getElementUtils().getBinaryName(parent).toString();
+    String type = processingEnv.getTypeUtils().erasure(field.asType()).toString();
+    String line = String.join(" ", className, field.getSimpleName().toString(), type, attribute);
+    entries.computeIfAbsent(className, k -> new ArrayList<>()).add(line);
+    originatingElements.add(parent);
+  }
+
+  private String readAttribute(VariableElement field, TypeElement annotation) {
+    for (AnnotationMirror mirror : field.getAnnotationMirrors()) {
+      if (mirror.getAnnotationType().asElement().equals(annotation)) {
+        for (var entry : mirror.getElementValues().entrySet()) {
+          if (entry.getKey().getSimpleName().contentEquals("value")) {
+            Object value = entry.getValue().getValue();
+            if (value instanceof VariableElement enumConstant) {
+              return enumConstant.getSimpleName().toString();
+            }
+          }
+        }
+      }
+    }
+    return null;
+  }
+
+  private void writeIndex() {
+    try {
+      FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", INDEX,
+        originatingElements.toArray(Element[]::new));
+      try (Writer writer = file.openWriter()) {
+        for (var entry : entries.entrySet()) {
+          writer.write(entry.getKey());
+          writer.write('\n');
+          for (String line : entry.getValue()) {
+            writer.write(line);
+            writer.write('\n');
+          }
+        }
+      }
+    } catch (IOException e) {
+      processingEnv.getMessager().printMessage(Kind.ERROR, "Unable to write " + INDEX + ": " + e.getMessage());
+    }
+  }
+}
@@ -11,6 +11,7 @@ pluginManagement {
 rootProject.name = "bending"
 
 setupSubproject("bending-api", "api")
+setupSubproject("bending-processor", "processor")
 setupSubproject("bending-common", "common")
 setupSubproject("bending-nms", "nms")
 setupSubproject("bending-fabric", "fabric")